@@ -0,0 +1,76 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.benchmarks;
+
+import com.google.code.siren4j.benchmarks.model.Fixtures;
+import com.google.code.siren4j.component.Entity;
+import com.google.code.siren4j.converter.ReflectingConverter;
+import com.google.code.siren4j.converter.ResourceRegistryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the first conversion of a resource class, i.e. including the reflection and plan building the steady state
+ * benchmarks amortize away. The model classes are loaded by a new {@link FreshClassLoader} for every invocation so no
+ * cache has seen them yet, the JIT however does warm up across invocations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 50)
+@Fork(2)
+public class ColdConversionBenchmark {
+
+    @Param({Fixtures.COURSE, Fixtures.WIDE, Fixtures.DEEP})
+    public String shape;
+
+    private ReflectingConverter converter;
+    private Object resource;
+
+    @Setup(Level.Trial)
+    public void setUpConverter() throws Exception {
+        // The converter keeps no per class state of its own, so one instance serves all invocations.
+        converter = (ReflectingConverter) ReflectingConverter.newInstance(
+                ResourceRegistryImpl.newScanningInstance("com.google.code.siren4j.resource"));
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpResource() throws Exception {
+        ClassLoader loader = new FreshClassLoader(getClass().getClassLoader());
+        resource = loader.loadClass(Fixtures.class.getName()).getMethod("create", String.class).invoke(null, shape);
+    }
+
+    @Benchmark
+    public Entity firstToEntity() {
+        return converter.toEntity(resource);
+    }
+}
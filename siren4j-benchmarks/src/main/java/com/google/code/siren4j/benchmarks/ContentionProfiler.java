@@ -0,0 +1,106 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.benchmarks;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reports how often and how long the benchmark threads had to wait for each other during an iteration, read from the
+ * thread contention statistics of the JVM. Enable with <code>-prof
+ * com.google.code.siren4j.benchmarks.ContentionProfiler</code>.
+ * <ul>
+ * <li><code>contention.blocked.norm</code>: times a thread blocked on a monitor, per operation.</li>
+ * <li><code>contention.blocked.time</code>: total time threads spent blocked on monitors in the iteration.</li>
+ * <li><code>contention.waited.norm</code>: times a thread parked or waited, per operation. This includes
+ * <code>java.util.concurrent</code> locks such as the segment locks of Guava caches, but also a few waits per iteration
+ * for the harness itself.</li>
+ * </ul>
+ */
+public class ContentionProfiler implements InternalProfiler {
+
+    private static final String WORKER_THREAD_MARKER = "jmh-worker";
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private long[] before;
+
+    public ContentionProfiler() {
+        if (threads.isThreadContentionMonitoringSupported()) {
+            threads.setThreadContentionMonitoringEnabled(true);
+        }
+    }
+
+    @Override
+    public String getDescription() {
+        return "Monitor blocking and parking of the benchmark threads";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        before = snapshot();
+    }
+
+    @Override
+    public Collection<? extends Result<?>> afterIteration(BenchmarkParams benchmarkParams,
+                                                          IterationParams iterationParams, IterationResult result) {
+        long[] after = snapshot();
+        long ops = Math.max(1, result.getMetadata().getMeasuredOps());
+        List<Result<?>> results = new ArrayList<Result<?>>();
+        results.add(new ScalarResult("contention.blocked.norm", (double) (after[0] - before[0]) / ops,
+                "counts/op", AggregationPolicy.AVG));
+        if (threads.isThreadContentionMonitoringEnabled()) {
+            results.add(new ScalarResult("contention.blocked.time", after[1] - before[1], "ms",
+                    AggregationPolicy.AVG));
+        }
+        results.add(new ScalarResult("contention.waited.norm", (double) (after[2] - before[2]) / ops,
+                "counts/op", AggregationPolicy.AVG));
+        return results;
+    }
+
+    /**
+     * Sum the contention counters of all live benchmark threads. Worker threads live for the whole run so the
+     * difference of two snapshots is what happened between them.
+     *
+     * @return blocked count, blocked time in ms (<code>0</code> if not monitored) and waited count.
+     */
+    private long[] snapshot() {
+        long[] totals = new long[3];
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            if (info == null || !info.getThreadName().contains(WORKER_THREAD_MARKER)) {
+                continue;
+            }
+            totals[0] += info.getBlockedCount();
+            totals[1] += Math.max(0, info.getBlockedTime());
+            totals[2] += info.getWaitedCount();
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.benchmarks;
+
+import com.google.code.siren4j.Siren4J;
+import com.google.code.siren4j.benchmarks.model.Fixtures;
+import com.google.code.siren4j.component.Entity;
+import com.google.code.siren4j.converter.ReflectingConverter;
+import com.google.code.siren4j.converter.ResourceRegistryImpl;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady state cost of the {@link ReflectingConverter} in both directions, with all plans and caches warm. Each shape
+ * stresses a different part of the conversion: <code>course</code> is a typical resource with links, actions and
+ * collections, <code>wide</code> is a single entity with many properties, <code>deep</code> is a chain of nested sub
+ * entities and <code>page</code> is a large collection of courses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ConverterBenchmark {
+
+    @Param({Fixtures.COURSE, Fixtures.WIDE, Fixtures.DEEP, Fixtures.PAGE})
+    public String shape;
+
+    private ReflectingConverter converter;
+    private ObjectMapper mapper;
+    private Object resource;
+    private Entity entity;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        converter = (ReflectingConverter) ReflectingConverter.newInstance(
+                ResourceRegistryImpl.newInstance("com.google.code.siren4j.benchmarks.model"));
+        mapper = new ObjectMapper();
+        mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        mapper.setDateFormat(new SimpleDateFormat(Siren4J.ISO8601_DATE_FORMAT));
+        resource = Fixtures.create(shape);
+        entity = converter.toEntity(resource);
+        json = mapper.writeValueAsBytes(entity);
+        // Fail fast rather than measure a conversion that doesn't work for the shape.
+        converter.toObject(entity);
+        converter.readObject(mapper.getFactory().createParser(json));
+    }
+
+    @Benchmark
+    public Entity toEntity() {
+        return converter.toEntity(resource);
+    }
+
+    @Benchmark
+    public void writeEntity(Blackhole bh) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        JsonGenerator generator = mapper.getFactory().createGenerator(out);
+        converter.writeEntity(resource, generator);
+        generator.close();
+        bh.consume(out);
+    }
+
+    @Benchmark
+    public Object toObject() {
+        return converter.toObject(entity);
+    }
+
+    @Benchmark
+    public Object readObject() throws IOException {
+        JsonParser parser = mapper.getFactory().createParser(json);
+        try {
+            return converter.readObject(parser);
+        } finally {
+            parser.close();
+        }
+    }
+}
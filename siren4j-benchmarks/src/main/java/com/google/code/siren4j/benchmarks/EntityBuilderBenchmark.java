@@ -0,0 +1,90 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.benchmarks;
+
+import com.google.code.siren4j.component.Action;
+import com.google.code.siren4j.component.Entity;
+import com.google.code.siren4j.component.Link;
+import com.google.code.siren4j.component.builder.ActionBuilder;
+import com.google.code.siren4j.component.builder.EntityBuilder;
+import com.google.code.siren4j.component.builder.FieldBuilder;
+import com.google.code.siren4j.component.builder.LinkBuilder;
+import com.google.code.siren4j.component.impl.ActionImpl.Method;
+import com.google.code.siren4j.meta.FieldType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of assembling entities by hand with the builders, as code that doesn't use the converter does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class EntityBuilderBenchmark {
+
+    @Benchmark
+    public Link link() {
+        return LinkBuilder.newInstance().setRelationship("self").setHref("/courses/c1").build();
+    }
+
+    @Benchmark
+    public Action action() {
+        return ActionBuilder.newInstance()
+                .setName("addReview")
+                .setMethod(Method.POST)
+                .setHref("/courses/c1/reviews")
+                .addField(FieldBuilder.newInstance().setName("userid").setType(FieldType.TEXT).build())
+                .addField(FieldBuilder.newInstance().setName("body").setType(FieldType.TEXT).setRequired(true)
+                        .build())
+                .addField(FieldBuilder.newInstance().setName("rating").setType(FieldType.NUMBER).setMin(1)
+                        .setMax(5).build())
+                .build();
+    }
+
+    @Benchmark
+    public Entity entity() {
+        EntityBuilder builder = EntityBuilder.newInstance()
+                .setComponentClass("course")
+                .addProperty("courseid", "c1")
+                .addProperty("title", "Course c1")
+                .addProperty("type", "Online")
+                .addLink(LinkBuilder.newInstance().setRelationship("self").setHref("/courses/c1").build())
+                .addAction(action());
+        for (int i = 0; i < 5; i++) {
+            builder.addSubEntity(EntityBuilder.newInstance()
+                    .setComponentClass("comment")
+                    .setRelationship("comments")
+                    .addProperty("id", "c1-c" + i)
+                    .addProperty("commentText", "Comment " + i)
+                    .addLink(LinkBuilder.newInstance().setRelationship("self").setHref("/comments/c1-c" + i)
+                            .build())
+                    .build());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,136 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.benchmarks;
+
+import com.google.code.siren4j.Siren4J;
+import com.google.code.siren4j.annotations.Siren4JCondition.Is;
+import com.google.code.siren4j.benchmarks.model.Course;
+import com.google.code.siren4j.benchmarks.model.Fixtures;
+import com.google.code.siren4j.component.Entity;
+import com.google.code.siren4j.component.impl.EntityImpl;
+import com.google.code.siren4j.condition.ConditionFactory;
+import com.google.code.siren4j.converter.ReflectedInfo;
+import com.google.code.siren4j.converter.ReflectingConverter;
+import com.google.code.siren4j.converter.ResourceRegistryImpl;
+import com.google.code.siren4j.jackson.MessageBodyWriterJSON;
+import com.google.code.siren4j.util.ReflectionUtils;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.ws.rs.core.MediaType;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.text.SimpleDateFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the paths that share state between threads, meant to be run at increasing thread counts with
+ * <code>-t</code>, or all at once by {@link ScalabilityRunner}. All threads share one converter, provider and resource,
+ * as the threads of a server do, so any contention on the shared caches shows up as lost throughput per thread.
+ * <ul>
+ * <li><code>toEntity</code>, <code>writeEntity</code>, <code>readObject</code>: the converter end to end.</li>
+ * <li><code>fieldInfo</code>, <code>findMethod</code>: hits on the <code>ReflectionUtils</code> caches.</li>
+ * <li><code>condition</code>: lookup and evaluation through the shared <code>ConditionFactory</code>.</li>
+ * <li><code>providerWrite</code>: <code>MessageBodyWriterJSON.locateMapper</code> and writing with the mapper, as done
+ * for every response.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScalabilityBenchmark {
+
+    private ReflectingConverter converter;
+    private MessageBodyWriterJSON provider;
+    private ObjectMapper mapper;
+    private Course course;
+    private Entity entity;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        converter = (ReflectingConverter) ReflectingConverter.newInstance(
+                ResourceRegistryImpl.newInstance("com.google.code.siren4j.benchmarks.model"));
+        provider = new MessageBodyWriterJSON(new ObjectMapper());
+        mapper = new ObjectMapper();
+        mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        mapper.setDateFormat(new SimpleDateFormat(Siren4J.ISO8601_DATE_FORMAT));
+        course = Fixtures.course("c1", 3, 5);
+        entity = converter.toEntity(course);
+        json = mapper.writeValueAsBytes(entity);
+    }
+
+    @Benchmark
+    public Entity toEntity() {
+        return converter.toEntity(course);
+    }
+
+    @Benchmark
+    public void writeEntity(Blackhole bh) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        JsonGenerator generator = mapper.getFactory().createGenerator(out);
+        converter.writeEntity(course, generator);
+        generator.close();
+        bh.consume(out);
+    }
+
+    @Benchmark
+    public Object readObject() throws IOException {
+        return converter.readObject(mapper.getFactory().createParser(json));
+    }
+
+    @Benchmark
+    public List<ReflectedInfo> fieldInfo() {
+        return ReflectionUtils.getExposedFieldInfo(Course.class);
+    }
+
+    @Benchmark
+    public Method findMethod() throws NoSuchMethodException {
+        return ReflectionUtils.findMethod(Course.class, "getTitle", null);
+    }
+
+    @Benchmark
+    public boolean condition() {
+        return ConditionFactory.getInstance().getCondition(Is.NOTNULL).evaluate(course.getTitle());
+    }
+
+    @Benchmark
+    public void providerWrite(Blackhole bh) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        provider.locateMapper(EntityImpl.class, MediaType.APPLICATION_JSON_TYPE).writeValue(out, entity);
+        bh.consume(out);
+    }
+}
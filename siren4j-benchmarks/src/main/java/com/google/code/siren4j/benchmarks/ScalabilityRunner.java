@@ -0,0 +1,149 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Runs the selected benchmarks, {@link ScalabilityBenchmark} by default, once per thread count and prints how well the
+ * throughput scales. The scaling efficiency at <i>n</i> threads is the throughput at <i>n</i> threads divided by
+ * <i>n</i> times the throughput at one thread, 100% being perfect scaling. Allocation and contention per operation are
+ * printed next to it, from the GC profiler and the {@link ContentionProfiler} which are added unless other profilers
+ * are given.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.google.code.siren4j.benchmarks.ScalabilityRunner
+ * java -Dsiren4j.threads=1,8,32,64 -cp target/benchmarks.jar com.google.code.siren4j.benchmarks.ScalabilityRunner \
+ *     ScalabilityBenchmark.toEntity -prof jfr
+ * </pre>
+ * The thread counts default to the powers of two up to the number of available processors, and that number itself.
+ * Benchmarks need a throughput mode for the efficiency to be meaningful.
+ */
+public final class ScalabilityRunner {
+
+    /**
+     * System property with the comma separated thread counts to run at.
+     */
+    public static final String THREADS_PROPERTY = "siren4j.threads";
+
+    private ScalabilityRunner() {
+
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmdOptions = new CommandLineOptions(args);
+        TreeSet<Integer> threadCounts = getThreadCounts();
+        // Results by benchmark and parameters, then by thread count.
+        Map<String, Map<Integer, RunResult>> results = new TreeMap<String, Map<Integer, RunResult>>();
+        for (int threads : threadCounts) {
+            ChainedOptionsBuilder options = new OptionsBuilder().parent(cmdOptions).threads(threads);
+            if (cmdOptions.getIncludes().isEmpty()) {
+                options.include(ScalabilityBenchmark.class.getSimpleName());
+            }
+            if (cmdOptions.getProfilers().isEmpty()) {
+                options.addProfiler(GCProfiler.class).addProfiler(ContentionProfiler.class);
+            }
+            for (RunResult result : new Runner(options.build()).run()) {
+                String key = getLabel(result);
+                if (!results.containsKey(key)) {
+                    results.put(key, new TreeMap<Integer, RunResult>());
+                }
+                results.get(key).put(threads, result);
+            }
+        }
+        printSummary(results);
+    }
+
+    private static TreeSet<Integer> getThreadCounts() {
+        TreeSet<Integer> counts = new TreeSet<Integer>();
+        String property = System.getProperty(THREADS_PROPERTY);
+        if (property != null && property.trim().length() > 0) {
+            for (String count : property.split(",")) {
+                counts.add(Integer.parseInt(count.trim()));
+            }
+            return counts;
+        }
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int i = 1; i <= processors; i *= 2) {
+            counts.add(i);
+        }
+        counts.add(processors);
+        return counts;
+    }
+
+    private static String getLabel(RunResult result) {
+        String benchmark = result.getParams().getBenchmark();
+        String packagePrefix = ScalabilityRunner.class.getPackage().getName() + ".";
+        StringBuilder label = new StringBuilder(benchmark.startsWith(packagePrefix)
+                ? benchmark.substring(packagePrefix.length()) : benchmark);
+        Collection<String> keys = result.getParams().getParamsKeys();
+        for (String key : keys) {
+            label.append(' ').append(key).append('=').append(result.getParams().getParam(key));
+        }
+        return label.toString();
+    }
+
+    private static void printSummary(Map<String, Map<Integer, RunResult>> results) {
+        System.out.println();
+        System.out.println("Scalability summary:");
+        System.out.println(String.format("%-44s %7s %14s %9s %10s %12s %12s %12s", "Benchmark", "Threads",
+                "Score", "Speedup", "Efficiency", "Alloc B/op", "Blocked/op", "Waited/op"));
+        for (Map.Entry<String, Map<Integer, RunResult>> entry : results.entrySet()) {
+            Map<Integer, RunResult> byThreads = entry.getValue();
+            RunResult single = byThreads.get(1);
+            double baseline = single != null ? single.getPrimaryResult().getScore() : Double.NaN;
+            for (Map.Entry<Integer, RunResult> run : byThreads.entrySet()) {
+                int threads = run.getKey();
+                Result<?> primary = run.getValue().getPrimaryResult();
+                double speedup = primary.getScore() / baseline;
+                System.out.println(String.format("%-44s %7d %14.3f %9.2f %9.1f%% %12s %12s %12s", entry.getKey(),
+                        threads, primary.getScore(), speedup, 100 * speedup / threads,
+                        getSecondary(run.getValue(), "gc.alloc.rate.norm"),
+                        getSecondary(run.getValue(), "contention.blocked.norm"),
+                        getSecondary(run.getValue(), "contention.waited.norm")));
+            }
+        }
+        List<String> units = new ArrayList<String>();
+        for (Map<Integer, RunResult> byThreads : results.values()) {
+            String unit = byThreads.values().iterator().next().getPrimaryResult().getScoreUnit();
+            if (!units.contains(unit)) {
+                units.add(unit);
+            }
+        }
+        System.out.println("Score unit: " + units + ", efficiency is only meaningful for throughput modes.");
+    }
+
+    private static String getSecondary(RunResult result, String name) {
+        Result<?> secondary = result.getSecondaryResults().get(name);
+        return secondary != null ? String.format("%.4f", secondary.getScore()) : "-";
+    }
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.benchmarks.model;
+
+import com.google.code.siren4j.annotations.Siren4JAction;
+import com.google.code.siren4j.annotations.Siren4JEntity;
+import com.google.code.siren4j.annotations.Siren4JInclude;
+import com.google.code.siren4j.annotations.Siren4JInclude.Include;
+import com.google.code.siren4j.annotations.Siren4JLink;
+import com.google.code.siren4j.annotations.Siren4JProperty;
+import com.google.code.siren4j.annotations.Siren4JSubEntity;
+import com.google.code.siren4j.component.impl.ActionImpl.Method;
+import com.google.code.siren4j.resource.BaseResource;
+import com.google.code.siren4j.resource.CollectionResource;
+
+import java.util.Date;
+
+@Siren4JInclude(Include.NON_NULL)
+@Siren4JEntity(name = "courseComment", uri = "/comments/{id}",
+        links = {
+                @Siren4JLink(rel = "course", href = "/courses/{courseid}"),
+                @Siren4JLink(rel = "replies", href = "/replies/comment/{id}")
+        },
+        actions = {
+                @Siren4JAction(name = "delete", method = Method.DELETE, href = "/comments/{id}"),
+                @Siren4JAction(name = "approve", method = Method.PUT, href = "/comments/{id}/approve")
+        })
+public class Comment extends BaseResource {
+
+    public enum Status {
+        PENDING, APPROVED, REJECTED
+    }
+
+    private String id;
+    private String courseid;
+    @Siren4JProperty(name = "user")
+    private String userid;
+    private String commentText;
+    private Date createdate;
+    private Status status;
+    @Siren4JSubEntity(rel = "author")
+    private Author author;
+    @Siren4JSubEntity(rel = "replies")
+    private CollectionResource<Comment> replies;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getCourseid() {
+        return courseid;
+    }
+
+    public void setCourseid(String courseid) {
+        this.courseid = courseid;
+    }
+
+    public String getUserid() {
+        return userid;
+    }
+
+    public void setUserid(String userid) {
+        this.userid = userid;
+    }
+
+    public String getCommentText() {
+        return commentText;
+    }
+
+    public void setCommentText(String commentText) {
+        this.commentText = commentText;
+    }
+
+    public Date getCreatedate() {
+        return createdate;
+    }
+
+    public void setCreatedate(Date createdate) {
+        this.createdate = createdate;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Author getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(Author author) {
+        this.author = author;
+    }
+
+    public CollectionResource<Comment> getReplies() {
+        return replies;
+    }
+
+    public void setReplies(CollectionResource<Comment> replies) {
+        this.replies = replies;
+    }
+}
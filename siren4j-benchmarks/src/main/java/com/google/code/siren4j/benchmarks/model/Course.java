@@ -0,0 +1,156 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.benchmarks.model;
+
+import com.google.code.siren4j.annotations.Siren4JAction;
+import com.google.code.siren4j.annotations.Siren4JActionField;
+import com.google.code.siren4j.annotations.Siren4JCondition;
+import com.google.code.siren4j.annotations.Siren4JCondition.Type;
+import com.google.code.siren4j.annotations.Siren4JEntity;
+import com.google.code.siren4j.annotations.Siren4JInclude;
+import com.google.code.siren4j.annotations.Siren4JInclude.Include;
+import com.google.code.siren4j.annotations.Siren4JLink;
+import com.google.code.siren4j.annotations.Siren4JSubEntity;
+import com.google.code.siren4j.component.impl.ActionImpl.Method;
+import com.google.code.siren4j.annotations.Siren4JCondition.Is;
+import com.google.code.siren4j.resource.BaseResource;
+import com.google.code.siren4j.resource.CollectionResource;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+
+@Siren4JInclude(Include.NON_NULL)
+@Siren4JEntity(name = "course", uri = "/courses/{courseid}",
+        links = {@Siren4JLink(rel = "reviews", href = "/courseReviews/course/{courseid}")},
+        actions = {@Siren4JAction(name = "addReview", method = Method.POST, href = "/courseReviews/course/{courseid}",
+                condition = @Siren4JCondition(name = "getDescription", logic = Is.NOTEMPTY, type = Type.METHOD),
+                fields = {
+                        @Siren4JActionField(name = "userid", type = "text", required = true),
+                        @Siren4JActionField(name = "body", type = "text", required = true, maxLength = 250)
+                })})
+public class Course extends BaseResource {
+
+    public enum Level {
+        BEGINNER, INTERMEDIATE, ADVANCED
+    }
+
+    private String courseid;
+    private String title;
+    private String description;
+    private String type;
+    private BigDecimal cost;
+    private Level level;
+    private Date createdate;
+    private List<String> tags;
+    @Siren4JSubEntity(rel = "authors", uri = "/courses/{parent.courseid}/authors")
+    private CollectionResource<Author> authors;
+    @Siren4JSubEntity(rel = "lastComment")
+    private Comment lastComment;
+    @Siren4JSubEntity(rel = "comments", uri = "/courses/{parent.courseid}/comments")
+    private CollectionResource<Comment> comments;
+
+    public String getCourseid() {
+        return courseid;
+    }
+
+    public void setCourseid(String courseid) {
+        this.courseid = courseid;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public BigDecimal getCost() {
+        return cost;
+    }
+
+    public void setCost(BigDecimal cost) {
+        this.cost = cost;
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public void setLevel(Level level) {
+        this.level = level;
+    }
+
+    public Date getCreatedate() {
+        return createdate;
+    }
+
+    public void setCreatedate(Date createdate) {
+        this.createdate = createdate;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public CollectionResource<Author> getAuthors() {
+        return authors;
+    }
+
+    public void setAuthors(CollectionResource<Author> authors) {
+        this.authors = authors;
+    }
+
+    public Comment getLastComment() {
+        return lastComment;
+    }
+
+    public void setLastComment(Comment lastComment) {
+        this.lastComment = lastComment;
+    }
+
+    public CollectionResource<Comment> getComments() {
+        return comments;
+    }
+
+    public void setComments(CollectionResource<Comment> comments) {
+        this.comments = comments;
+    }
+}
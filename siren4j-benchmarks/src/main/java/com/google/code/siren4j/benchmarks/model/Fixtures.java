@@ -0,0 +1,191 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.benchmarks.model;
+
+import com.google.code.siren4j.resource.CollectionResource;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Builds the resource shapes the benchmarks convert. The values are fixed so every run converts the same data.
+ */
+public final class Fixtures {
+
+    /**
+     * The shapes by name, as used by the <code>shape</code> benchmark parameter.
+     */
+    public static final String COURSE = "course";
+    public static final String WIDE = "wide";
+    public static final String DEEP = "deep";
+    public static final String PAGE = "page";
+
+    private static final Date DATE = new Date(1380000000000L);
+
+    private Fixtures() {
+
+    }
+
+    /**
+     * @param shape one of the shape names.
+     * @return new resource of the shape, never <code>null</code>.
+     */
+    public static Object create(String shape) {
+        if (COURSE.equals(shape)) {
+            return course("c1", 3, 5);
+        }
+        if (WIDE.equals(shape)) {
+            return wide(1);
+        }
+        if (DEEP.equals(shape)) {
+            Course course = course("c1", 1, 0);
+            course.setLastComment(thread("c1", 10));
+            return course;
+        }
+        if (PAGE.equals(shape)) {
+            return page(100);
+        }
+        throw new IllegalArgumentException("Unknown shape: " + shape);
+    }
+
+    /**
+     * A typical course with its authors and a page of comments.
+     */
+    public static Course course(String id, int authorCount, int commentCount) {
+        Course course = new Course();
+        course.setCourseid(id);
+        course.setTitle("Course " + id);
+        course.setDescription("Description of course " + id + ", long enough to look like real text.");
+        course.setType("Online");
+        course.setCost(new BigDecimal("149.99"));
+        course.setLevel(Course.Level.INTERMEDIATE);
+        course.setCreatedate(DATE);
+        course.setTags(Arrays.asList("java", "rest", "hypermedia"));
+        CollectionResource<Author> authors = new CollectionResource<Author>();
+        for (int i = 0; i < authorCount; i++) {
+            authors.add(author(id + "-a" + i));
+        }
+        course.setAuthors(authors);
+        CollectionResource<Comment> comments = new CollectionResource<Comment>();
+        comments.setLimit(commentCount);
+        comments.setTotal((long) commentCount);
+        for (int i = 0; i < commentCount; i++) {
+            comments.add(comment(id, id + "-c" + i));
+        }
+        course.setComments(comments);
+        if (commentCount > 0) {
+            course.setLastComment(comment(id, id + "-last"));
+        }
+        return course;
+    }
+
+    public static Author author(String id) {
+        Author author = new Author();
+        author.setId(id);
+        author.setFirstname("First " + id);
+        author.setLastname("Last " + id);
+        author.setEmail(id + "@example.com");
+        return author;
+    }
+
+    public static Comment comment(String courseid, String id) {
+        Comment comment = new Comment();
+        comment.setId(id);
+        comment.setCourseid(courseid);
+        comment.setUserid("user-" + id);
+        comment.setCommentText("Comment " + id + " on course " + courseid);
+        comment.setCreatedate(DATE);
+        comment.setStatus(Comment.Status.APPROVED);
+        comment.setAuthor(author("author-" + id));
+        return comment;
+    }
+
+    /**
+     * A comment with a chain of replies, each reply nested in the previous one.
+     */
+    public static Comment thread(String courseid, int depth) {
+        Comment root = comment(courseid, courseid + "-r0");
+        Comment current = root;
+        for (int i = 1; i < depth; i++) {
+            Comment reply = comment(courseid, courseid + "-r" + i);
+            CollectionResource<Comment> replies = new CollectionResource<Comment>();
+            replies.add(reply);
+            current.setReplies(replies);
+            current = reply;
+        }
+        return root;
+    }
+
+    /**
+     * A page of courses as returned by a search.
+     */
+    public static CollectionResource<Course> page(int size) {
+        CollectionResource<Course> page = new CollectionResource<Course>();
+        page.setLimit(size);
+        page.setTotal(10L * size);
+        for (int i = 0; i < size; i++) {
+            page.add(course("c" + i, 2, 2));
+        }
+        return page;
+    }
+
+    public static WideResource wide(long id) {
+        WideResource wide = new WideResource();
+        wide.setText1("alpha");
+        wide.setText2("beta");
+        wide.setText3("gamma");
+        wide.setText4("delta");
+        wide.setText5("epsilon");
+        wide.setText6("zeta");
+        wide.setText7("eta");
+        wide.setText8("theta");
+        wide.setText9("iota");
+        wide.setText10("kappa");
+        wide.setText11("lambda");
+        wide.setText12("mu");
+        wide.setCount1(1);
+        wide.setCount2(2);
+        wide.setCount3(3);
+        wide.setCount4(4);
+        wide.setCount5(5);
+        wide.setCount6(6);
+        wide.setId1(id);
+        wide.setId2(id + 1);
+        wide.setId3(id + 2);
+        wide.setId4(id + 3);
+        wide.setId5(id + 4);
+        wide.setId6(id + 5);
+        wide.setRatio1(0.1);
+        wide.setRatio2(0.2);
+        wide.setRatio3(0.3);
+        wide.setRatio4(0.4);
+        wide.setRatio5(0.5);
+        wide.setRatio6(0.6);
+        wide.setFlag1(true);
+        wide.setFlag3(true);
+        wide.setDate1(DATE);
+        wide.setDate2(DATE);
+        wide.setDate3(DATE);
+        wide.setDate4(DATE);
+        wide.setAmount1(new BigDecimal("1234.56"));
+        wide.setAmount2(new BigDecimal("0.01"));
+        return wide;
+    }
+}
@@ -0,0 +1,393 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.benchmarks.model;
+
+import com.google.code.siren4j.annotations.Siren4JEntity;
+import com.google.code.siren4j.resource.BaseResource;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * A resource with many properties of mixed types and no sub entities, like a flat record from a reporting query.
+ */
+@Siren4JEntity(name = "wide", uri = "/wide/{id1}")
+public class WideResource extends BaseResource {
+
+    private String text1;
+    private String text2;
+    private String text3;
+    private String text4;
+    private String text5;
+    private String text6;
+    private String text7;
+    private String text8;
+    private String text9;
+    private String text10;
+    private String text11;
+    private String text12;
+    private int count1;
+    private int count2;
+    private int count3;
+    private int count4;
+    private int count5;
+    private int count6;
+    private long id1;
+    private long id2;
+    private long id3;
+    private long id4;
+    private long id5;
+    private long id6;
+    private double ratio1;
+    private double ratio2;
+    private double ratio3;
+    private double ratio4;
+    private double ratio5;
+    private double ratio6;
+    private boolean flag1;
+    private boolean flag2;
+    private boolean flag3;
+    private boolean flag4;
+    private Date date1;
+    private Date date2;
+    private Date date3;
+    private Date date4;
+    private BigDecimal amount1;
+    private BigDecimal amount2;
+
+    public String getText1() {
+        return text1;
+    }
+
+    public void setText1(String text1) {
+        this.text1 = text1;
+    }
+
+    public String getText2() {
+        return text2;
+    }
+
+    public void setText2(String text2) {
+        this.text2 = text2;
+    }
+
+    public String getText3() {
+        return text3;
+    }
+
+    public void setText3(String text3) {
+        this.text3 = text3;
+    }
+
+    public String getText4() {
+        return text4;
+    }
+
+    public void setText4(String text4) {
+        this.text4 = text4;
+    }
+
+    public String getText5() {
+        return text5;
+    }
+
+    public void setText5(String text5) {
+        this.text5 = text5;
+    }
+
+    public String getText6() {
+        return text6;
+    }
+
+    public void setText6(String text6) {
+        this.text6 = text6;
+    }
+
+    public String getText7() {
+        return text7;
+    }
+
+    public void setText7(String text7) {
+        this.text7 = text7;
+    }
+
+    public String getText8() {
+        return text8;
+    }
+
+    public void setText8(String text8) {
+        this.text8 = text8;
+    }
+
+    public String getText9() {
+        return text9;
+    }
+
+    public void setText9(String text9) {
+        this.text9 = text9;
+    }
+
+    public String getText10() {
+        return text10;
+    }
+
+    public void setText10(String text10) {
+        this.text10 = text10;
+    }
+
+    public String getText11() {
+        return text11;
+    }
+
+    public void setText11(String text11) {
+        this.text11 = text11;
+    }
+
+    public String getText12() {
+        return text12;
+    }
+
+    public void setText12(String text12) {
+        this.text12 = text12;
+    }
+
+    public int getCount1() {
+        return count1;
+    }
+
+    public void setCount1(int count1) {
+        this.count1 = count1;
+    }
+
+    public int getCount2() {
+        return count2;
+    }
+
+    public void setCount2(int count2) {
+        this.count2 = count2;
+    }
+
+    public int getCount3() {
+        return count3;
+    }
+
+    public void setCount3(int count3) {
+        this.count3 = count3;
+    }
+
+    public int getCount4() {
+        return count4;
+    }
+
+    public void setCount4(int count4) {
+        this.count4 = count4;
+    }
+
+    public int getCount5() {
+        return count5;
+    }
+
+    public void setCount5(int count5) {
+        this.count5 = count5;
+    }
+
+    public int getCount6() {
+        return count6;
+    }
+
+    public void setCount6(int count6) {
+        this.count6 = count6;
+    }
+
+    public long getId1() {
+        return id1;
+    }
+
+    public void setId1(long id1) {
+        this.id1 = id1;
+    }
+
+    public long getId2() {
+        return id2;
+    }
+
+    public void setId2(long id2) {
+        this.id2 = id2;
+    }
+
+    public long getId3() {
+        return id3;
+    }
+
+    public void setId3(long id3) {
+        this.id3 = id3;
+    }
+
+    public long getId4() {
+        return id4;
+    }
+
+    public void setId4(long id4) {
+        this.id4 = id4;
+    }
+
+    public long getId5() {
+        return id5;
+    }
+
+    public void setId5(long id5) {
+        this.id5 = id5;
+    }
+
+    public long getId6() {
+        return id6;
+    }
+
+    public void setId6(long id6) {
+        this.id6 = id6;
+    }
+
+    public double getRatio1() {
+        return ratio1;
+    }
+
+    public void setRatio1(double ratio1) {
+        this.ratio1 = ratio1;
+    }
+
+    public double getRatio2() {
+        return ratio2;
+    }
+
+    public void setRatio2(double ratio2) {
+        this.ratio2 = ratio2;
+    }
+
+    public double getRatio3() {
+        return ratio3;
+    }
+
+    public void setRatio3(double ratio3) {
+        this.ratio3 = ratio3;
+    }
+
+    public double getRatio4() {
+        return ratio4;
+    }
+
+    public void setRatio4(double ratio4) {
+        this.ratio4 = ratio4;
+    }
+
+    public double getRatio5() {
+        return ratio5;
+    }
+
+    public void setRatio5(double ratio5) {
+        this.ratio5 = ratio5;
+    }
+
+    public double getRatio6() {
+        return ratio6;
+    }
+
+    public void setRatio6(double ratio6) {
+        this.ratio6 = ratio6;
+    }
+
+    public boolean isFlag1() {
+        return flag1;
+    }
+
+    public void setFlag1(boolean flag1) {
+        this.flag1 = flag1;
+    }
+
+    public boolean isFlag2() {
+        return flag2;
+    }
+
+    public void setFlag2(boolean flag2) {
+        this.flag2 = flag2;
+    }
+
+    public boolean isFlag3() {
+        return flag3;
+    }
+
+    public void setFlag3(boolean flag3) {
+        this.flag3 = flag3;
+    }
+
+    public boolean isFlag4() {
+        return flag4;
+    }
+
+    public void setFlag4(boolean flag4) {
+        this.flag4 = flag4;
+    }
+
+    public Date getDate1() {
+        return date1;
+    }
+
+    public void setDate1(Date date1) {
+        this.date1 = date1;
+    }
+
+    public Date getDate2() {
+        return date2;
+    }
+
+    public void setDate2(Date date2) {
+        this.date2 = date2;
+    }
+
+    public Date getDate3() {
+        return date3;
+    }
+
+    public void setDate3(Date date3) {
+        this.date3 = date3;
+    }
+
+    public Date getDate4() {
+        return date4;
+    }
+
+    public void setDate4(Date date4) {
+        this.date4 = date4;
+    }
+
+    public BigDecimal getAmount1() {
+        return amount1;
+    }
+
+    public void setAmount1(BigDecimal amount1) {
+        this.amount1 = amount1;
+    }
+
+    public BigDecimal getAmount2() {
+        return amount2;
+    }
+
+    public void setAmount2(BigDecimal amount2) {
+        this.amount2 = amount2;
+    }
+}
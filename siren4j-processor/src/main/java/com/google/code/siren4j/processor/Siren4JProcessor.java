@@ -0,0 +1,443 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.processor;
+
+import com.google.code.siren4j.annotations.Siren4JAction;
+import com.google.code.siren4j.annotations.Siren4JEntity;
+import com.google.code.siren4j.annotations.Siren4JLink;
+import com.google.code.siren4j.annotations.Siren4JSubEntity;
+import com.google.code.siren4j.converter.GeneratedAccessorsLocator;
+import com.google.code.siren4j.converter.ResourceRegistryImpl;
+import com.google.code.siren4j.util.ReflectionUtils;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Annotation processor for Siren4J resources. For each <code>Siren4JEntity</code> type it generates
+ * <code>GeneratedAccessors</code> giving the <code>ReflectingConverter</code> direct access to the type's getters
+ * and setters, and it reports an error for any <code>{token}</code> in an uri or href that names a field that
+ * does not exist or can not be used as a token. All <code>Siren4JEntity</code> types are listed in the
+ * {@link ResourceRegistryImpl#INDEX_LOCATION} index so the resource registry doesn't have to scan the classpath.
+ * <p/>
+ * Token validation can be switched off with the <code>-Asiren4j.validateTokens=false</code> compiler option, e.g. when
+ * tokens refer to fields only declared by subclasses.
+ */
+public class Siren4JProcessor extends AbstractProcessor {
+
+    public static final String VALIDATE_TOKENS_OPTION = "siren4j.validateTokens";
+
+    private static final String PARENT_PREFIX = "parent.";
+
+    private final Set<String> tokenTypes = new HashSet<String>();
+
+    private final Set<String> indexedTypes = new TreeSet<String>();
+
+    public Siren4JProcessor() {
+        for (Class<?> type : ReflectionUtils.propertyTypes) {
+            tokenTypes.add(type.getCanonicalName());
+        }
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return new HashSet<String>(Arrays.asList(Siren4JEntity.class.getName(), Siren4JSubEntity.class.getName()));
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        return new HashSet<String>(Arrays.asList(VALIDATE_TOKENS_OPTION));
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        boolean validate = !"false".equalsIgnoreCase(processingEnv.getOptions().get(VALIDATE_TOKENS_OPTION));
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(Siren4JEntity.class))) {
+            if (validate) {
+                validateEntity(type);
+            }
+            if (isAccessible(type)) {
+                generateAccessors(type);
+            }
+            indexedTypes.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+        }
+        if (roundEnv.processingOver() && !indexedTypes.isEmpty()) {
+            writeIndex();
+        }
+        if (validate) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(Siren4JSubEntity.class)) {
+                validateSubEntity(element);
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Token validation
+     */
+
+    private void validateEntity(TypeElement type) {
+        Siren4JEntity anno = type.getAnnotation(Siren4JEntity.class);
+        Map<String, TypeMirror> fields = getFields(type);
+        // Parent tokens can't be checked here as the parent is only known when converting.
+        validateTokens(type, "uri", anno.uri(), fields, null);
+        for (Siren4JLink link : anno.links()) {
+            validateTokens(type, "link href", link.href(), fields, null);
+        }
+        for (Siren4JAction action : anno.actions()) {
+            validateTokens(type, "action href", action.href(), fields, null);
+        }
+    }
+
+    private void validateSubEntity(Element element) {
+        Siren4JSubEntity anno = element.getAnnotation(Siren4JSubEntity.class);
+        TypeMirror type = element.getKind() == ElementKind.METHOD
+                ? ((ExecutableElement) element).getReturnType() : element.asType();
+        Map<String, TypeMirror> fields = null;
+        if (type.getKind() == TypeKind.DECLARED && !isCollection(type)) {
+            Element typeElement = ((DeclaredType) type).asElement();
+            if (typeElement.getKind() == ElementKind.CLASS) {
+                fields = getFields((TypeElement) typeElement);
+            }
+        }
+        Map<String, TypeMirror> parentFields = getFields((TypeElement) element.getEnclosingElement());
+        validateTokens(element, "uri", anno.uri(), fields, parentFields);
+        for (Siren4JLink link : anno.links()) {
+            validateTokens(element, "link href", link.href(), fields, parentFields);
+        }
+        for (Siren4JAction action : anno.actions()) {
+            validateTokens(element, "action href", action.href(), fields, parentFields);
+        }
+    }
+
+    /**
+     * Check each token in the string, a <code>null</code> field map means the tokens of that kind are not checked.
+     */
+    private void validateTokens(Element element, String what, String str, Map<String, TypeMirror> fields,
+                                Map<String, TypeMirror> parentFields) {
+        for (String key : getTokenKeys(str)) {
+            boolean parent = key.startsWith(PARENT_PREFIX);
+            Map<String, TypeMirror> candidates = parent ? parentFields : fields;
+            if (candidates == null) {
+                continue;
+            }
+            String name = parent ? key.substring(PARENT_PREFIX.length()) : key;
+            TypeMirror fieldType = candidates.get(name);
+            if (fieldType == null) {
+                error(element, "Token {" + key + "} in " + what + " '" + str + "' does not name a field.");
+            } else if (!isTokenType(fieldType)) {
+                error(element, "Token {" + key + "} in " + what + " '" + str + "' names field of type " + fieldType
+                        + " which can not be used as a token.");
+            }
+        }
+    }
+
+    /**
+     * Token keys the converter resolves, reserved tokens (<code>{[name]}</code>) are skipped.
+     */
+    private List<String> getTokenKeys(String str) {
+        List<String> keys = new ArrayList<String>();
+        int pos = 0;
+        while (true) {
+            int start = str.indexOf('{', pos);
+            int end = start == -1 ? -1 : str.indexOf('}', start);
+            if (end == -1) {
+                return keys;
+            }
+            String key = str.substring(start + 1, end);
+            if (!key.startsWith("[")) {
+                keys.add(key);
+            }
+            pos = end + 1;
+        }
+    }
+
+    private Map<String, TypeMirror> getFields(TypeElement type) {
+        Map<String, TypeMirror> fields = new HashMap<String, TypeMirror>();
+        TypeElement current = type;
+        while (current != null) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (!field.getModifiers().contains(Modifier.STATIC) && !fields.containsKey(field.getSimpleName()
+                        .toString())) {
+                    fields.put(field.getSimpleName().toString(), field.asType());
+                }
+            }
+            TypeMirror superType = current.getSuperclass();
+            current = superType.getKind() == TypeKind.DECLARED
+                    ? (TypeElement) ((DeclaredType) superType).asElement() : null;
+        }
+        return fields;
+    }
+
+    private boolean isTokenType(TypeMirror type) {
+        if (type.getKind() == TypeKind.DECLARED
+                && ((DeclaredType) type).asElement().getKind() == ElementKind.ENUM) {
+            return true;
+        }
+        return tokenTypes.contains(processingEnv.getTypeUtils().erasure(type).toString());
+    }
+
+    private boolean isCollection(TypeMirror type) {
+        TypeElement collection = processingEnv.getElementUtils().getTypeElement("java.util.Collection");
+        return processingEnv.getTypeUtils().isAssignable(processingEnv.getTypeUtils().erasure(type),
+                processingEnv.getTypeUtils().erasure(collection.asType()));
+    }
+
+    private void error(Element element, String msg) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, msg, element);
+    }
+
+    /*
+     * Accessor generation
+     */
+
+    /**
+     * The generated accessors class lives in the type's package so the type and its enclosing types must not be
+     * private.
+     */
+    private boolean isAccessible(TypeElement type) {
+        Element current = type;
+        while (current instanceof TypeElement) {
+            TypeElement currentType = (TypeElement) current;
+            if (currentType.getModifiers().contains(Modifier.PRIVATE)
+                    || (currentType.getNestingKind() != NestingKind.TOP_LEVEL
+                    && currentType.getNestingKind() != NestingKind.MEMBER)) {
+                return false;
+            }
+            current = current.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private void generateAccessors(TypeElement type) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        StringBuilder simpleName = new StringBuilder(type.getSimpleName());
+        for (Element outer = type.getEnclosingElement(); outer instanceof TypeElement;
+             outer = outer.getEnclosingElement()) {
+            simpleName.insert(0, outer.getSimpleName() + "_");
+        }
+        String className = simpleName.append(GeneratedAccessorsLocator.SUFFIX).toString();
+        String typeName = processingEnv.getTypeUtils().erasure(type.asType()).toString();
+
+        Map<String, ExecutableElement> methods = new HashMap<String, ExecutableElement>();
+        Set<ExecutableElement> getters = new LinkedHashSet<ExecutableElement>();
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            String name = method.getSimpleName().toString();
+            if (isGetter(method)) {
+                getters.add(method);
+            } else if (name.startsWith("set") && method.getParameters().size() == 1) {
+                methods.put(name + "/" + processingEnv.getTypeUtils().erasure(method.getParameters().get(0)
+                        .asType()), method);
+            }
+        }
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(
+                    packageName.isEmpty() ? className : packageName + "." + className, type);
+            PrintWriter out = new PrintWriter(file.openWriter());
+            try {
+                if (!packageName.isEmpty()) {
+                    out.println("package " + packageName + ";");
+                    out.println();
+                }
+                out.println("/**");
+                out.println(" * Generated by " + getClass().getName() + " for {@link " + typeName + "}.");
+                out.println(" */");
+                out.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+                out.println("public final class " + className
+                        + " implements com.google.code.siren4j.converter.GeneratedAccessors {");
+                out.println();
+                out.println("    private final java.util.Map<String, com.google.code.siren4j.converter"
+                        + ".PropertyAccessor> accessors = new java.util.HashMap<String, com.google.code.siren4j"
+                        + ".converter.PropertyAccessor>();");
+                out.println();
+                out.println("    public " + className + "() {");
+                for (ExecutableElement getter : getters) {
+                    writeAccessor(out, typeName, getter, methods);
+                }
+                out.println("    }");
+                out.println();
+                out.println("    public Class<?> getResourceClass() {");
+                out.println("        return " + typeName + ".class;");
+                out.println("    }");
+                out.println();
+                out.println("    public java.util.Map<String, com.google.code.siren4j.converter.PropertyAccessor> "
+                        + "getAccessors() {");
+                out.println("        return java.util.Collections.unmodifiableMap(accessors);");
+                out.println("    }");
+                out.println("}");
+            } finally {
+                out.close();
+            }
+        } catch (IOException e) {
+            error(type, "Unable to generate accessors " + className + ": " + e.getMessage());
+        }
+    }
+
+    private void writeAccessor(PrintWriter out, String typeName, ExecutableElement getter,
+                               Map<String, ExecutableElement> methods) {
+        String getterName = getter.getSimpleName().toString();
+        String property = getterName.substring(getterName.startsWith("is") ? 2 : 3);
+        TypeMirror valueType = processingEnv.getTypeUtils().erasure(getter.getReturnType());
+        ExecutableElement setter = methods.get("set" + property + "/" + valueType);
+
+        String accessorType = setter != null ? "WritablePropertyAccessor" : "PropertyAccessor";
+        out.println("        accessors.put(\"" + getterName
+                + "\", new com.google.code.siren4j.converter." + accessorType + "() {");
+        out.println("            public Object getValue(Object obj) {");
+        out.println("                return ((" + typeName + ") obj)." + getterName + "();");
+        out.println("            }");
+        if (setter != null) {
+            out.println("            public void setValue(Object obj, Object value) {");
+            out.println("                ((" + typeName + ") obj)." + setter.getSimpleName() + "("
+                    + castValue(valueType) + ");");
+            out.println("            }");
+        }
+        out.println("        });");
+    }
+
+    /**
+     * Primitive numbers are converted through <code>Number</code> so a boxed value of another numeric type, e.g. an
+     * <code>Integer</code> for a <code>long</code>, is accepted.
+     */
+    private String castValue(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "(Boolean) value";
+            case CHAR:
+                return "(Character) value";
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+                return "((Number) value)." + type + "Value()";
+            default:
+                return "(" + type + ") value";
+        }
+    }
+
+    /*
+     * Resource index
+     */
+
+    /**
+     * Writes the index, entries of an earlier compilation are kept if their type still exists, so an incremental
+     * compile of some of the sources doesn't drop the others.
+     */
+    private void writeIndex() {
+        Set<String> types = new TreeSet<String>(indexedTypes);
+        for (String existing : readExistingIndex()) {
+            TypeElement type = processingEnv.getElementUtils().getTypeElement(existing.replace('$', '.'));
+            if (type != null && type.getAnnotation(Siren4JEntity.class) != null) {
+                types.add(existing);
+            }
+        }
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    ResourceRegistryImpl.INDEX_LOCATION);
+            PrintWriter out = new PrintWriter(file.openWriter());
+            try {
+                out.println("# Generated by " + getClass().getName());
+                for (String type : types) {
+                    out.println(type);
+                }
+            } finally {
+                out.close();
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write resource index " + ResourceRegistryImpl.INDEX_LOCATION + ": " + e.getMessage());
+        }
+    }
+
+    private List<String> readExistingIndex() {
+        List<String> types = new ArrayList<String>();
+        try {
+            FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+                    ResourceRegistryImpl.INDEX_LOCATION);
+            Reader reader = file.openReader(true);
+            try {
+                BufferedReader lines = new BufferedReader(reader);
+                String line;
+                while ((line = lines.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty() && !line.startsWith("#")) {
+                        types.add(line);
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            // No index from an earlier compilation.
+        } catch (IllegalArgumentException e) {
+            // No index from an earlier compilation.
+        }
+        return types;
+    }
+
+    private boolean isGetter(ExecutableElement method) {
+        String name = method.getSimpleName().toString();
+        return method.getParameters().isEmpty() && method.getReturnType().getKind() != TypeKind.VOID
+                && method.getTypeParameters().isEmpty()
+                && ((name.startsWith("get") && name.length() > 3) || (name.startsWith("is") && name.length() > 2));
+    }
+
+}
@@ -0,0 +1,204 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.processor;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.code.siren4j.component.Entity;
+import com.google.code.siren4j.converter.GeneratedAccessors;
+import com.google.code.siren4j.converter.GeneratedAccessorsLocator;
+import com.google.code.siren4j.converter.ReflectingConverter;
+import com.google.code.siren4j.converter.ResourceRegistry;
+import com.google.code.siren4j.converter.ResourceRegistryImpl;
+import com.google.code.siren4j.converter.WritablePropertyAccessor;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class Siren4JProcessorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File out;
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+
+    @Before
+    public void setUp() throws Exception {
+        out = folder.newFolder();
+        diagnostics = new DiagnosticCollector<JavaFileObject>();
+    }
+
+    @Test
+    public void testGeneratesAccessors() throws Exception {
+        assertTrue(compile("test.Course",
+                "package test;\n"
+                        + "@com.google.code.siren4j.annotations.Siren4JEntity(uri = \"/courses/{courseid}\")\n"
+                        + "public class Course {\n"
+                        + "    private String courseid;\n"
+                        + "    private long count;\n"
+                        + "    public String getCourseid() { return courseid; }\n"
+                        + "    public void setCourseid(String courseid) { this.courseid = courseid; }\n"
+                        + "    public long getCount() { return count; }\n"
+                        + "    public void setCount(long count) { this.count = count; }\n"
+                        + "    @com.google.code.siren4j.annotations.Siren4JProperty\n"
+                        + "    public String getSummary() { return courseid + \":\" + count; }\n"
+                        + "    @com.google.code.siren4j.annotations.Siren4JEntity\n"
+                        + "    public static class Nested {}\n"
+                        + "    @com.google.code.siren4j.annotations.Siren4JEntity\n"
+                        + "    private static class Hidden {}\n"
+                        + "}\n"));
+        assertTrue(new File(out, "test/Course_Siren4JAccessors.class").exists());
+        assertTrue(new File(out, "test/Course_Nested_Siren4JAccessors.class").exists());
+        assertFalse(new File(out, "test/Course_Hidden_Siren4JAccessors.class").exists());
+
+        URLClassLoader loader = new URLClassLoader(new URL[]{out.toURI().toURL()}, getClass().getClassLoader());
+        Class<?> courseClass = loader.loadClass("test.Course");
+        GeneratedAccessors accessors = GeneratedAccessorsLocator.forClass(courseClass);
+        assertNotNull(accessors);
+        assertEquals(courseClass, accessors.getResourceClass());
+        assertTrue(accessors.getAccessors().get("getCount") instanceof WritablePropertyAccessor);
+        assertFalse(accessors.getAccessors().get("getSummary") instanceof WritablePropertyAccessor);
+
+        Object course = courseClass.getDeclaredConstructor().newInstance();
+        ((WritablePropertyAccessor) accessors.getAccessors().get("getCourseid")).setValue(course, "c1");
+        ((WritablePropertyAccessor) accessors.getAccessors().get("getCount")).setValue(course, Integer.valueOf(3));
+        assertEquals(3L, accessors.getAccessors().get("getCount").getValue(course));
+
+        Entity entity = ReflectingConverter.newInstance().toEntity(course);
+        assertEquals("c1:3", entity.getProperties().get("summary"));
+        assertEquals("/courses/c1", entity.getLinks().get(0).getHref());
+    }
+
+    @Test
+    public void testWritesResourceIndex() throws Exception {
+        assertTrue(compile("test.Order",
+                "package test;\n"
+                        + "@com.google.code.siren4j.annotations.Siren4JEntity(name = \"order\")\n"
+                        + "public class Order {\n"
+                        + "    @com.google.code.siren4j.annotations.Siren4JEntity\n"
+                        + "    public static class Line {}\n"
+                        + "}\n"));
+        // A later compile of other sources into the same output keeps the earlier entries.
+        assertTrue(compile("test.Invoice",
+                "package test;\n"
+                        + "@com.google.code.siren4j.annotations.Siren4JEntity(name = \"invoice\")\n"
+                        + "public class Invoice {}\n", "-classpath", classPath() + File.pathSeparator + out));
+        File index = new File(out, ResourceRegistryImpl.INDEX_LOCATION);
+        List<String> lines = Files.readAllLines(index.toPath());
+        assertEquals(Arrays.asList("test.Invoice", "test.Order", "test.Order$Line"), lines.subList(1, lines.size()));
+
+        URLClassLoader loader = new URLClassLoader(new URL[]{out.toURI().toURL()}, getClass().getClassLoader());
+        ResourceRegistry registry = ResourceRegistryImpl.newInstance(loader, "test");
+        assertEquals(loader.loadClass("test.Order"), registry.getClassByEntityName("order"));
+        assertEquals(loader.loadClass("test.Invoice"), registry.getClassByEntityName("invoice"));
+        assertEquals(loader.loadClass("test.Order$Line"), registry.getClassByEntityName("test.Order$Line"));
+    }
+
+    @Test
+    public void testRejectsUnknownTokens() throws Exception {
+        assertFalse(compile("test.Bad",
+                "package test;\n"
+                        + "import com.google.code.siren4j.annotations.*;\n"
+                        + "@Siren4JEntity(uri = \"/bad/{id}/{[offset]}/{missing}\",\n"
+                        + "    links = @Siren4JLink(rel = \"next\", href = \"/bad/{nope}\"))\n"
+                        + "public class Bad {\n"
+                        + "    private String id;\n"
+                        + "    private Object other;\n"
+                        + "    @Siren4JSubEntity(uri = \"/bad/{parent.id}/child/{name}/{parent.other}/{parent.gone}\")\n"
+                        + "    private Child child;\n"
+                        + "    @Siren4JSubEntity(uri = \"/bad/{parent.id}/children/{offset}\")\n"
+                        + "    private java.util.List<Child> children;\n"
+                        + "    public static class Child { private String name; }\n"
+                        + "}\n"));
+        List<String> errors = errors();
+        assertEquals(errors.toString(), 4, errors.size());
+        assertTrue(errors.get(0).contains("{missing}"));
+        assertTrue(errors.get(1).contains("{nope}"));
+        assertTrue(errors.get(2).contains("{parent.other}") && errors.get(2).contains("can not be used"));
+        assertTrue(errors.get(3).contains("{parent.gone}"));
+    }
+
+    @Test
+    public void testValidationOption() throws Exception {
+        assertTrue(compile("test.Lenient",
+                "package test;\n"
+                        + "@com.google.code.siren4j.annotations.Siren4JEntity(uri = \"/lenient/{missing}\")\n"
+                        + "public class Lenient {}\n", "-A" + Siren4JProcessor.VALIDATE_TOKENS_OPTION + "=false"));
+    }
+
+    private boolean compile(String className, final String source, String... options) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+        JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/')
+                + JavaFileObject.Kind.SOURCE.extension), JavaFileObject.Kind.SOURCE) {
+
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        List<String> args = new ArrayList<String>(Arrays.asList("-d", out.getPath(), "-Xlint:none"));
+        if (!Arrays.asList(options).contains("-classpath")) {
+            args.addAll(Arrays.asList("-classpath", classPath()));
+        }
+        args.addAll(Arrays.asList(options));
+        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, args, null,
+                Arrays.asList(file));
+        task.setProcessors(Arrays.asList(new Siren4JProcessor()));
+        try {
+            return task.call();
+        } finally {
+            fileManager.close();
+        }
+    }
+
+    private String classPath() {
+        return System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+    }
+
+    private List<String> errors() {
+        List<String> errors = new ArrayList<String>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                errors.add(diagnostic.getMessage(null));
+            }
+        }
+        return errors;
+    }
+
+}
@@ -33,12 +33,18 @@ import com.google.code.siren4j.component.Action;
 import com.google.code.siren4j.component.Field;
 import com.google.code.siren4j.component.impl.ActionImpl;
 import com.google.code.siren4j.component.impl.ActionImpl.Method;
-import com.google.code.siren4j.component.impl.FieldImpl;
 import com.google.code.siren4j.error.Siren4JBuilderValidationException;
 import org.apache.commons.lang3.StringUtils;
 
 public class ActionBuilder extends BaseBuilder<Action> {
 
+    private String[] componentClass;
+    private String name;
+    private Method method;
+    private String href;
+    private String title;
+    private String type;
+    private Map<String, String> metaData;
     private List<Field> fields = new ArrayList<Field>();
     private List<Field> urlParams = new ArrayList<Field>();
     private List<Field> headers = new ArrayList<Field>();
@@ -72,7 +78,7 @@ public class ActionBuilder extends BaseBuilder<Action> {
      * @return <code>this</code> builder, never <code>null</code>.
      */
     public ActionBuilder setComponentClass(String... componentClass) {
-        addStep("setComponentClass", new Object[] { componentClass }, new Class<?>[] {String[].class});
+        this.componentClass = componentClass;
         return this;
     }
 
@@ -85,12 +91,12 @@ public class ActionBuilder extends BaseBuilder<Action> {
         if(StringUtils.isBlank(name)) {
             throw new IllegalArgumentException("name cannot be null or empty.");
         }
-        addStep("setName", new Object[] { name });
+        this.name = name;
         return this;
     }
 
     public ActionBuilder setMethod(Method method) {
-        addStep("setMethod", new Object[] { method }, new Class<?>[] {Method.class});
+        this.method = method;
         return this;
     }
 
@@ -98,22 +104,22 @@ public class ActionBuilder extends BaseBuilder<Action> {
         if(StringUtils.isBlank(href)) {
             throw new IllegalArgumentException("href cannot be null or empty.");
         }
-        addStep("setHref", new Object[] { href });
+        this.href = href;
         return this;
     }
 
     public ActionBuilder setTitle(String title) {
-        addStep("setTitle", new Object[] { title }, new Class<?>[] {String.class});
+        this.title = title;
         return this;
     }
 
     public ActionBuilder setType(String type) {
-        addStep("setType", new Object[] { type }, new Class<?>[] {String.class});
+        this.type = type;
         return this;
     }
 
     public ActionBuilder addField(Field field) {
-        addStep("_addField", new Object[] { field }, true);
+        fields.add(field);
         return this;
     }
 
@@ -124,12 +130,8 @@ public class ActionBuilder extends BaseBuilder<Action> {
         return this;
     }
 
-    protected void _addField(FieldImpl field) {
-        fields.add(field);
-    }
-
     public ActionBuilder addUrlParam(Field param) {
-        addStep("_addUrlParam", new Object[] { param }, true);
+        urlParams.add(param);
         return this;
     }
 
@@ -140,12 +142,8 @@ public class ActionBuilder extends BaseBuilder<Action> {
         return this;
     }
 
-    protected void _addUrlParam(FieldImpl param) {
-        urlParams.add(param);
-    }
-
     public ActionBuilder addHeader(Field header) {
-        addStep("_addHeader", new Object[] { header }, true);
+        headers.add(header);
         return this;
     }
 
@@ -156,18 +154,25 @@ public class ActionBuilder extends BaseBuilder<Action> {
         return this;
     }
 
-    protected void _addHeader(FieldImpl header) {
-        headers.add(header);
-    }
-
     public ActionBuilder setMetaData(Map<String, String> metaData) {
-        addStep("setMetaData", new Object[] {metaData}, new Class[] {Map.class});
+        this.metaData = metaData;
         return this;
     }
 
     @Override
     protected void postProcess(Action obj) {
         ActionImpl action = (ActionImpl) obj;
+        action.setComponentClass(componentClass);
+        action.setName(name);
+        if (method != null) {
+            action.setMethod(method);
+        }
+        action.setHref(href);
+        action.setTitle(title);
+        if (type != null) {
+            action.setType(type);
+        }
+        action.setMetaData(metaData);
         if (!CollectionUtils.isEmpty(fields)) {
             action.setFields(fields);
         }
@@ -37,6 +37,10 @@ import org.apache.commons.lang3.StringUtils;
  * All Siren4J components should be derived from the <code>BaseBuilder</code> class. This
  * class contains the functionality needed for builders to easily add steps, validation and then
  * to actually build the desired component.
+ * <p>
+ * The Siren4J builders keep the values passed to them in fields and set them on the component in
+ * {@link #postProcess(Object)}, so no reflection is involved when building. The reflective steps are
+ * only kept for builders written against older versions.
  *
  * @param <T>
  */
@@ -53,16 +57,18 @@ public abstract class BaseBuilder<T> {
      */
     public T build() {
         T obj = createInstance();
-        try {
-            for (Step step : steps) {
-                if (step.isBuilderMethodCall()) {
-                    callMethod(this, step);
-                } else {
-                    callMethod(obj, step);
+        if (!steps.isEmpty()) {
+            try {
+                for (Step step : steps) {
+                    if (step.isBuilderMethodCall()) {
+                        callMethod(this, step);
+                    } else {
+                        callMethod(obj, step);
+                    }
                 }
+            } catch (Exception e) {
+                throw new Siren4JRuntimeException(e);
             }
-        } catch (Exception e) {
-            throw new Siren4JRuntimeException(e);
         }
         postProcess(obj);
         validate(obj);
@@ -104,7 +110,10 @@ public abstract class BaseBuilder<T> {
      * 
      * @param methodName cannot be <code>null</code> or empty.
      * @param args may be <code>null</code> or empty.
+     * @deprecated set the value on a builder field and apply it in {@link #postProcess(Object)} instead, steps are
+     * replayed through reflection on every build.
      */
+    @Deprecated
     protected void addStep(String methodName, Object[] args, Class<?>[] argTypes) {
         if(StringUtils.isBlank(methodName)) {
         	throw new IllegalArgumentException("methodName cannot be null or empty.");
@@ -122,7 +131,10 @@ public abstract class BaseBuilder<T> {
      * autoboxing issues. May be <code>null</code> or empty.
      * @param builderMethod if <code>true</code> then call the specified method on the builder and not
      * the component object instance.
+     * @deprecated set the value on a builder field and apply it in {@link #postProcess(Object)} instead, steps are
+     * replayed through reflection on every build.
      */
+    @Deprecated
     protected void addStep(String methodName, Object[] args, Class<?>[] argTypes, boolean builderMethod) {
     	if(StringUtils.isBlank(methodName)) {
         	throw new IllegalArgumentException("methodName cannot be null or empty.");
@@ -135,7 +147,10 @@ public abstract class BaseBuilder<T> {
      * 
      * @param methodName cannot be <code>null</code> or empty.
      * @param args may be <code>null</code> or empty.
+     * @deprecated set the value on a builder field and apply it in {@link #postProcess(Object)} instead, steps are
+     * replayed through reflection on every build.
      */
+    @Deprecated
     protected void addStep(String methodName, Object[] args) {
     	if(StringUtils.isBlank(methodName)) {
         	throw new IllegalArgumentException("methodName cannot be null or empty.");
@@ -150,7 +165,10 @@ public abstract class BaseBuilder<T> {
      * @param args may be <code>null</code> or empty.
      * @param builderMethod if <code>true</code> then call the specified method on the builder and not
      * the component object instance.
+     * @deprecated set the value on a builder field and apply it in {@link #postProcess(Object)} instead, steps are
+     * replayed through reflection on every build.
      */
+    @Deprecated
     protected void addStep(String methodName, Object[] args, boolean builderMethod) {
     	if(StringUtils.isBlank(methodName)) {
         	throw new IllegalArgumentException("methodName cannot be null or empty.");
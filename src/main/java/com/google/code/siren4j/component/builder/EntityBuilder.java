@@ -34,10 +34,8 @@ import org.apache.commons.collections4.MapUtils;
 import com.google.code.siren4j.component.Action;
 import com.google.code.siren4j.component.Entity;
 import com.google.code.siren4j.component.Link;
-import com.google.code.siren4j.component.impl.ActionImpl;
 import com.google.code.siren4j.component.impl.EmbeddedEntityImpl;
 import com.google.code.siren4j.component.impl.EntityImpl;
-import com.google.code.siren4j.component.impl.LinkImpl;
 import com.google.code.siren4j.error.Siren4JBuilderValidationException;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -63,6 +61,16 @@ import org.apache.commons.lang3.StringUtils;
  */
 public class EntityBuilder extends BaseBuilder<Entity> {
 
+    private String[] componentClass;
+
+    private String[] rel;
+
+    private String title;
+
+    private String type;
+
+    private String href;
+
     private List<Entity> subEntities = new ArrayList<Entity>();
 
     private List<Link> links = new ArrayList<Link>();
@@ -102,7 +110,7 @@ public class EntityBuilder extends BaseBuilder<Entity> {
      * @return <code>this</code> builder, never <code>null</code>.
      */
     public EntityBuilder setComponentClass(String... componentClass) {
-        addStep("setComponentClass", new Object[] { componentClass }, new Class<?>[] {String[].class});
+        this.componentClass = componentClass;
         return this;
     }
     
@@ -114,7 +122,7 @@ public class EntityBuilder extends BaseBuilder<Entity> {
      * @return <code>this</code> builder, never <code>null</code>.
      */
     public EntityBuilder setRelationship(String... rel) {
-    	addStep("setRel", new Object[] { rel }, new Class<?>[] {String[].class});
+        this.rel = rel;
         return this;
     }
     
@@ -126,12 +134,12 @@ public class EntityBuilder extends BaseBuilder<Entity> {
      * @return <code>this</code> builder, never <code>null</code>.
      */
     public EntityBuilder setTitle(String title) {
-        addStep("setTitle", new Object[] { title }, new Class<?>[] {String.class});
+        this.title = title;
         return this;
     }
 
     public EntityBuilder setType(String type) {
-        addStep("setType", new Object[] { type }, new Class<?>[] {String.class});
+        this.type = type;
         return this;
     }
     
@@ -146,7 +154,7 @@ public class EntityBuilder extends BaseBuilder<Entity> {
     	if(StringUtils.isBlank(href)) {
     		throw new IllegalArgumentException("href cannot be null or empty.");
     	}
-        addStep("setHref", new Object[] { href });
+        this.href = href;
         isEmbedded = true;
         return this;
     }
@@ -162,7 +170,7 @@ public class EntityBuilder extends BaseBuilder<Entity> {
     	if(StringUtils.isBlank(name)) {
     		throw new IllegalArgumentException("name cannot be null or empty.");
     	}
-        addStep("_addProperty", new Object[] { name, value }, new Class<?>[]{String.class, Object.class}, true);
+        properties.put(name, value);
         return this;
     }
     
@@ -192,7 +200,7 @@ public class EntityBuilder extends BaseBuilder<Entity> {
     	if(subEntity == null) {
     		throw new IllegalArgumentException("subEntity cannot be null.");
     	}
-        addStep("_addEntity", new Object[] { subEntity }, true);
+        subEntities.add(subEntity);
         return this;
     }
     
@@ -222,7 +230,7 @@ public class EntityBuilder extends BaseBuilder<Entity> {
     	if(link == null) {
     		throw new IllegalArgumentException("link cannot be null.");
     	}
-    	addStep("_addLink", new Object[] { link }, true);
+        links.add(link);
         return this;
     }
 
@@ -251,7 +259,7 @@ public class EntityBuilder extends BaseBuilder<Entity> {
     	if(action == null) {
     		throw new IllegalArgumentException("action cannot be null.");
     	}
-    	addStep("_addAction", new Object[] { action }, true);
+        actions.add(action);
         return this;
     }
     
@@ -270,30 +278,14 @@ public class EntityBuilder extends BaseBuilder<Entity> {
         return this;
     }
     
-    void _addEntity(EmbeddedEntityImpl entity) {
-        subEntities.add(entity);
-    }
-
-    void _addEntity(EntityImpl entity) {
-        subEntities.add(entity);
-    }
-
-    void _addLink(LinkImpl link) {
-        links.add(link);
-    }
-
-    void _addAction(ActionImpl action) {
-        actions.add(action);
-    }
-
-    void _addProperty(String name, Object value) {
-        properties.put(name, value);
-    }
-    
-
     @Override
     protected void postProcess(Entity obj) {
         EntityImpl entity = (EntityImpl) obj;
+        entity.setComponentClass(componentClass);
+        entity.setRel(rel);
+        entity.setTitle(title);
+        entity.setType(type);
+        entity.setHref(href);
         if (!CollectionUtils.isEmpty(subEntities)) {
             entity.setEntities(subEntities);
         }
@@ -23,6 +23,8 @@
  *********************************************************************************************/
 package com.google.code.siren4j.component.builder;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import com.google.code.siren4j.component.Field;
@@ -34,6 +36,22 @@ import org.apache.commons.lang3.StringUtils;
 
 public class FieldBuilder extends BaseBuilder<Field> {
 
+    private String[] componentClass;
+    private String name;
+    private FieldType type;
+    private List<FieldOption> options = new ArrayList<FieldOption>();
+    private String optionsURL;
+    private String title;
+    private String value;
+    private String pattern;
+    private boolean required;
+    private Integer max;
+    private Integer min;
+    private Integer maxLength;
+    private String step;
+    private String placeholder;
+    private Map<String, String> metaData;
+
     private FieldBuilder() {
 
     }
@@ -64,7 +82,7 @@ public class FieldBuilder extends BaseBuilder<Field> {
      * @return <code>this</code> builder, never <code>null</code>.
      */
     public FieldBuilder setComponentClass(String... componentClass) {
-        addStep("setComponentClass", new Object[] { componentClass }, new Class<?>[] {String[].class});
+        this.componentClass = componentClass;
         return this;
     }
 
@@ -72,18 +90,20 @@ public class FieldBuilder extends BaseBuilder<Field> {
         if(StringUtils.isBlank(name)) {
             throw new IllegalArgumentException("name cannot be null or empty.");
         }
-        addStep("setName", new Object[] { name });
+        this.name = name;
         return this;
     }
 
     public FieldBuilder setType(FieldType type) {
-        addStep("setType", new Object[] { type }, new Class<?>[] {FieldType.class});
+        this.type = type;
         return this;
     }
     
 
     public FieldBuilder addOption(FieldOption option) {
-        addStep("addOption", new Object[] { option }, new Class<?>[] {FieldOption.class});
+        if (option != null) {
+            options.add(option);
+        }
         return this;
     }
 
@@ -96,60 +116,84 @@ public class FieldBuilder extends BaseBuilder<Field> {
     }
 
     public FieldBuilder setOptionsURL(String url) {
-        addStep("setOptionsURL", new Object[] { url }, new Class<?>[] {String.class});
+        this.optionsURL = url;
         return this;
     }
 	
     public FieldBuilder setTitle(String title) {
-        addStep("setTitle", new Object[] { title }, new Class<?>[] {String.class});
+        this.title = title;
         return this;
     }
 
     public FieldBuilder setValue(String value) {
-        addStep("setValue", new Object[] { value }, new Class<?>[] {String.class});
+        this.value = value;
         return this;
     }
 
     public FieldBuilder setPattern(String pattern) {
-        addStep("setPattern", new Object[] { pattern }, new Class<?>[] {String.class});
+        this.pattern = pattern;
         return this;
     }
 
     public FieldBuilder setRequired(boolean required) {
-        addStep("setRequired", new Object[] { required }, new Class[] { boolean.class });
+        this.required = required;
         return this;
     }
 
     public FieldBuilder setMax(int max) {
-        addStep("setMax", new Object[] { max }, new Class[] { Integer.class });
+        this.max = max;
         return this;
     }
 
     public FieldBuilder setMin(int min) {
-        addStep("setMin", new Object[] { min }, new Class[] { Integer.class });
+        this.min = min;
         return this;
     }
 
     public FieldBuilder setMaxLength(int maxLength) {
-        addStep("setMaxLength", new Object[] { maxLength }, new Class[] { Integer.class });
+        this.maxLength = maxLength;
         return this;
     }
 
     public FieldBuilder setStep(String step) {
-        addStep("setStep", new Object[] { step }, new Class[] { String.class });
+        this.step = step;
         return this;
     }
     
     public FieldBuilder setPlaceholder(String placeholder) {
-        addStep("setPlaceholder", new Object[] { placeholder }, new Class<?>[] {String.class});
+        this.placeholder = placeholder;
         return this;
     }
 
     public FieldBuilder setMetaData(Map<String, String> metaData) {
-        addStep("setMetaData", new Object[] {metaData}, new Class[] {Map.class});
+        this.metaData = metaData;
         return this;
     }
 
+    @Override
+    protected void postProcess(Field obj) {
+        FieldImpl field = (FieldImpl) obj;
+        field.setComponentClass(componentClass);
+        field.setName(name);
+        if (type != null) {
+            field.setType(type);
+        }
+        if (!options.isEmpty()) {
+            field.setOptions(new ArrayList<FieldOption>(options));
+        }
+        field.setOptionsURL(optionsURL);
+        field.setTitle(title);
+        field.setValue(value);
+        field.setPattern(pattern);
+        field.setRequired(required);
+        field.setMax(max);
+        field.setMin(min);
+        field.setMaxLength(maxLength);
+        field.setStep(step);
+        field.setPlaceholder(placeholder);
+        field.setMetaData(metaData);
+    }
+
     @Override
     protected void validate(Field obj) {
         String requiredMsg = "Required property.";
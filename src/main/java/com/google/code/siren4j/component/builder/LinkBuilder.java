@@ -33,6 +33,16 @@ import org.apache.commons.lang3.StringUtils;
 
 public class LinkBuilder extends BaseBuilder<Link> {
 
+    private String[] componentClass;
+
+    private String[] rel;
+
+    private String href;
+
+    private String title;
+
+    private String type;
+
     private LinkBuilder() {
 
     }
@@ -63,7 +73,7 @@ public class LinkBuilder extends BaseBuilder<Link> {
      * @return <code>this</code> builder, never <code>null</code>.
      */
     public LinkBuilder setComponentClass(String... componentClass) {
-        addStep("setComponentClass", new Object[] { componentClass }, new Class<?>[] {String[].class});
+        this.componentClass = componentClass;
         return this;
     }
 
@@ -71,7 +81,7 @@ public class LinkBuilder extends BaseBuilder<Link> {
         if(ComponentUtils.isStringArrayEmpty(rel)) {
             throw new IllegalArgumentException("rel cannot be null or empty. Required property.");
         }
-        addStep("setRel", new Object[] { rel }, new Class[] { String[].class });
+        this.rel = rel;
         return this;
     }
 
@@ -79,17 +89,17 @@ public class LinkBuilder extends BaseBuilder<Link> {
         if(StringUtils.isBlank(href)) {
             throw new IllegalArgumentException("href cannot be null or empty. Required property.");
         }
-        addStep("setHref", new Object[] { href });
+        this.href = href;
         return this;
     }
     
     public LinkBuilder setTitle(String title) {
-        addStep("setTitle", new Object[] { title }, new Class<?>[] {String.class});
+        this.title = title;
         return this;
     }
 
     public LinkBuilder setType(String type) {
-        addStep("setType", new Object[] { type }, new Class<?>[] {String.class});
+        this.type = type;
         return this;
     }
 
@@ -98,6 +108,18 @@ public class LinkBuilder extends BaseBuilder<Link> {
         return new LinkImpl();
     }
 
+    @Override
+    protected void postProcess(Link obj) {
+        LinkImpl link = (LinkImpl) obj;
+        link.setComponentClass(componentClass);
+        link.setRel(rel);
+        if (href != null) {
+            link.setHref(href);
+        }
+        link.setTitle(title);
+        link.setType(type);
+    }
+
     @Override
     protected void validate(Link obj) {
         String requiredMsg = "Required property.";
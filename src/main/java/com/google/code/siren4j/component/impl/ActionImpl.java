@@ -23,6 +23,9 @@
  *********************************************************************************************/
 package com.google.code.siren4j.component.impl;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -31,6 +34,7 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.google.code.siren4j.component.Action;
 import com.google.code.siren4j.component.Field;
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
@@ -65,6 +69,7 @@ public class ActionImpl extends Siren4JBaseComponent implements Action {
     }
 
     public void setName(String name) {
+        checkNotFrozen();
         this.name = name;
     }
 
@@ -78,6 +83,7 @@ public class ActionImpl extends Siren4JBaseComponent implements Action {
     }
 
     public void setMethod(Method method) {
+        checkNotFrozen();
         this.method = method;
     }
 
@@ -91,6 +97,7 @@ public class ActionImpl extends Siren4JBaseComponent implements Action {
     }
 
     public void setHref(String href) {
+        checkNotFrozen();
         this.href = href;
     }
 
@@ -104,6 +111,7 @@ public class ActionImpl extends Siren4JBaseComponent implements Action {
     }
 
     public void setTitle(String title) {
+        checkNotFrozen();
         this.title = title;
     }
 
@@ -117,6 +125,7 @@ public class ActionImpl extends Siren4JBaseComponent implements Action {
     }
 
     public void setType(String type) {
+        checkNotFrozen();
         this.type = type;
     }
 
@@ -130,6 +139,7 @@ public class ActionImpl extends Siren4JBaseComponent implements Action {
     }
 
     public void setFields(List<Field> fields) {
+        checkNotFrozen();
         this.fields = fields;
     }
 
@@ -138,6 +148,7 @@ public class ActionImpl extends Siren4JBaseComponent implements Action {
     }
 
     public void setUrlParams(List<Field> urlParams) {
+        checkNotFrozen();
         this.urlParams = urlParams;
     }
 
@@ -146,6 +157,7 @@ public class ActionImpl extends Siren4JBaseComponent implements Action {
     }
 
     public void setHeaders(List<Field> headers) {
+        checkNotFrozen();
         this.headers = headers;
     }
 
@@ -154,9 +166,68 @@ public class ActionImpl extends Siren4JBaseComponent implements Action {
     }
 
     public void setMetaData(Map<String, String> metaData) {
+        checkNotFrozen();
         this.metaData = metaData;
     }
 
+    /**
+     * @return a new modifiable action with copies of the fields, url params, headers and meta data, never
+     * <code>null</code>.
+     */
+    public ActionImpl copy() {
+        ActionImpl copy = new ActionImpl();
+        copy.componentClass = ArrayUtils.clone(componentClass);
+        copy.name = name;
+        copy.method = method;
+        copy.href = href;
+        copy.title = title;
+        copy.type = type;
+        copy.fields = copyFields(fields);
+        copy.urlParams = copyFields(urlParams);
+        copy.headers = copyFields(headers);
+        if (metaData != null) {
+            copy.metaData = new LinkedHashMap<String, String>(metaData);
+        }
+        return copy;
+    }
+
+    private static List<Field> copyFields(List<Field> fields) {
+        if (fields == null) {
+            return null;
+        }
+        List<Field> result = new ArrayList<Field>(fields.size());
+        for (Field f : fields) {
+            result.add(f instanceof FieldImpl ? ((FieldImpl) f).copy() : f);
+        }
+        return result;
+    }
+
+    /**
+     * Also freezes the fields, url params and headers and makes the lists unmodifiable.
+     */
+    @Override
+    public void freeze() {
+        fields = freezeFields(fields);
+        urlParams = freezeFields(urlParams);
+        headers = freezeFields(headers);
+        if (metaData != null) {
+            metaData = Collections.unmodifiableMap(metaData);
+        }
+        super.freeze();
+    }
+
+    private static List<Field> freezeFields(List<Field> fields) {
+        if (fields == null) {
+            return null;
+        }
+        for (Field f : fields) {
+            if (f instanceof Siren4JBaseComponent) {
+                ((Siren4JBaseComponent) f).freeze();
+            }
+        }
+        return Collections.unmodifiableList(fields);
+    }
+
     public enum Method {
         GET, PUT, POST, DELETE, PATCH
     }
@@ -23,6 +23,7 @@
  *********************************************************************************************/
 package com.google.code.siren4j.component.impl;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -66,6 +67,7 @@ public class EntityImpl extends Siren4JBaseComponent implements Entity {
     }
 
     public void setProperties(Map<String, Object> properties) {
+        checkNotFrozen();
         this.properties = properties;
     }
 
@@ -79,6 +81,7 @@ public class EntityImpl extends Siren4JBaseComponent implements Entity {
     }
 
     public void setEntities(List<Entity> entities) {
+        checkNotFrozen();
         this.entities = entities;
     }
 
@@ -92,6 +95,7 @@ public class EntityImpl extends Siren4JBaseComponent implements Entity {
     }
 
     public void setLinks(List<Link> links) {
+        checkNotFrozen();
         this.links = links;
     }
 
@@ -105,6 +109,7 @@ public class EntityImpl extends Siren4JBaseComponent implements Entity {
     }
 
     public void setActions(List<Action> actions) {
+        checkNotFrozen();
         this.actions = actions;
     }
 
@@ -118,6 +123,7 @@ public class EntityImpl extends Siren4JBaseComponent implements Entity {
     }
 
     public void setRel(String... rel) {
+        checkNotFrozen();
         this.rel = rel;
     }
     
@@ -127,6 +133,7 @@ public class EntityImpl extends Siren4JBaseComponent implements Entity {
     }
 
     public void setHref(String href) {
+        checkNotFrozen();
         this.href = href;
     }   
     
@@ -136,6 +143,7 @@ public class EntityImpl extends Siren4JBaseComponent implements Entity {
     }
 
     public void setTitle(String title) {
+        checkNotFrozen();
         this.title = title;
     }
 
@@ -144,9 +152,37 @@ public class EntityImpl extends Siren4JBaseComponent implements Entity {
     }
 
     public void setType(String type) {
+        checkNotFrozen();
         this.type = type;
     }
 
+    /**
+     * Also freezes the sub entities, links and actions and makes the properties and lists unmodifiable. Property
+     * values themselves are not copied.
+     */
+    @Override
+    public void freeze() {
+        if (properties != null) {
+            properties = Collections.unmodifiableMap(properties);
+        }
+        entities = freezeAll(entities);
+        links = freezeAll(links);
+        actions = freezeAll(actions);
+        super.freeze();
+    }
+
+    private static <T> List<T> freezeAll(List<T> components) {
+        if (components == null) {
+            return null;
+        }
+        for (T c : components) {
+            if (c instanceof Siren4JBaseComponent) {
+                ((Siren4JBaseComponent) c).freeze();
+            }
+        }
+        return Collections.unmodifiableList(components);
+    }
+
     @Override
     public int hashCode() {
         HashCodeBuilder hashCodeBuilder = new HashCodeBuilder();
@@ -25,6 +25,8 @@ package com.google.code.siren4j.component.impl;
 
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -32,6 +34,7 @@ import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.google.code.siren4j.component.Field;
 import com.google.code.siren4j.meta.FieldOption;
 import com.google.code.siren4j.meta.FieldType;
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
@@ -76,6 +79,7 @@ public class FieldImpl extends Siren4JBaseComponent implements Field {
     }
 
     public void setName(String name) {
+        checkNotFrozen();
         this.name = name;
     }
 
@@ -89,6 +93,7 @@ public class FieldImpl extends Siren4JBaseComponent implements Field {
     }
 
     public void setType(FieldType type) {
+        checkNotFrozen();
         this.type = type;
     }
 
@@ -102,6 +107,7 @@ public class FieldImpl extends Siren4JBaseComponent implements Field {
     }
 
     public void setValue(String value) {
+        checkNotFrozen();
         this.value = value;
     }
 
@@ -110,6 +116,7 @@ public class FieldImpl extends Siren4JBaseComponent implements Field {
     }
 
     public void setRequired(boolean required) {
+        checkNotFrozen();
         this.required = required;
     }
 
@@ -118,6 +125,7 @@ public class FieldImpl extends Siren4JBaseComponent implements Field {
     }
 
     public void setPattern(String pattern) {
+        checkNotFrozen();
         this.pattern = pattern;
     }
 
@@ -126,6 +134,7 @@ public class FieldImpl extends Siren4JBaseComponent implements Field {
     }
 
     public void setMax(Integer max) {
+        checkNotFrozen();
         this.max = max;
     }
 
@@ -134,6 +143,7 @@ public class FieldImpl extends Siren4JBaseComponent implements Field {
     }
 
     public void setMin(Integer min) {
+        checkNotFrozen();
         this.min = min;
     }
 
@@ -142,6 +152,7 @@ public class FieldImpl extends Siren4JBaseComponent implements Field {
     }
 
     public void setMaxLength(Integer maxLength) {
+        checkNotFrozen();
         this.maxLength = maxLength;
     }
 
@@ -150,6 +161,7 @@ public class FieldImpl extends Siren4JBaseComponent implements Field {
     }
 
     public void setStep(String step) {
+        checkNotFrozen();
         if(step == null || "any".equalsIgnoreCase(step) || step.matches("^-?\\d+$")) {
             this.step = step;
         } else {
@@ -162,6 +174,7 @@ public class FieldImpl extends Siren4JBaseComponent implements Field {
     }
 
     public void setPlaceholder(String placeholder) {
+        checkNotFrozen();
         this.placeholder = placeholder;
     }    
 
@@ -170,6 +183,7 @@ public class FieldImpl extends Siren4JBaseComponent implements Field {
     }
 
     public void setTitle(String title) {
+        checkNotFrozen();
         this.title = title;
     }
 
@@ -178,10 +192,12 @@ public class FieldImpl extends Siren4JBaseComponent implements Field {
     }
 
     public void setOptions(List<FieldOption> options) {
+        checkNotFrozen();
         this.options = options;
     }
 
     public void addOption(FieldOption option) {
+        checkNotFrozen();
         if(option != null) {
             if(options == null) {
                 options = new ArrayList<FieldOption>();
@@ -195,6 +211,7 @@ public class FieldImpl extends Siren4JBaseComponent implements Field {
     }
 
     public void setOptionsURL(String optionsURL) {
+        checkNotFrozen();
         this.optionsURL = optionsURL;
     }
 
@@ -203,11 +220,59 @@ public class FieldImpl extends Siren4JBaseComponent implements Field {
     }
 
     public void setMetaData(Map<String, String> metaData) {
+        checkNotFrozen();
         this.metaData = metaData;
     }
 
 
 
+    /**
+     * @return a new modifiable field with copies of the options and meta data, never <code>null</code>.
+     */
+    public FieldImpl copy() {
+        FieldImpl copy = new FieldImpl();
+        copy.componentClass = ArrayUtils.clone(componentClass);
+        copy.name = name;
+        copy.title = title;
+        copy.type = type;
+        copy.value = value;
+        copy.required = required;
+        copy.pattern = pattern;
+        if (options != null) {
+            copy.options = new ArrayList<FieldOption>(options.size());
+            for (FieldOption opt : options) {
+                copy.options.add(opt.copy());
+            }
+        }
+        copy.optionsURL = optionsURL;
+        copy.max = max;
+        copy.min = min;
+        copy.maxLength = maxLength;
+        copy.step = step;
+        copy.placeholder = placeholder;
+        if (metaData != null) {
+            copy.metaData = new LinkedHashMap<String, String>(metaData);
+        }
+        return copy;
+    }
+
+    /**
+     * Also freezes the options and makes the options and meta data unmodifiable.
+     */
+    @Override
+    public void freeze() {
+        if (options != null) {
+            for (FieldOption opt : options) {
+                opt.freeze();
+            }
+            options = Collections.unmodifiableList(options);
+        }
+        if (metaData != null) {
+            metaData = Collections.unmodifiableMap(metaData);
+        }
+        super.freeze();
+    }
+
     @Override
     public int hashCode() {
         HashCodeBuilder hashCodeBuilder = new HashCodeBuilder();
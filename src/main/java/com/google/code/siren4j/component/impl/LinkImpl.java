@@ -27,6 +27,7 @@ package com.google.code.siren4j.component.impl;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.google.code.siren4j.component.Link;
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -52,6 +53,7 @@ public class LinkImpl extends Siren4JBaseComponent implements Link {
     }
 
     public void setRel(String... rel) {
+        checkNotFrozen();
         this.rel = rel;
     }
 
@@ -65,6 +67,7 @@ public class LinkImpl extends Siren4JBaseComponent implements Link {
     }
 
     public void setHref(String href) {
+        checkNotFrozen();
         if (StringUtils.isBlank(href)) {
             throw new IllegalArgumentException("href cannot be null or empty.");
         }
@@ -76,6 +79,7 @@ public class LinkImpl extends Siren4JBaseComponent implements Link {
     }
 
     public void setTitle(String title) {
+        checkNotFrozen();
         this.title = title;
     }
 
@@ -84,9 +88,23 @@ public class LinkImpl extends Siren4JBaseComponent implements Link {
     }
 
     public void setType(String type) {
+        checkNotFrozen();
         this.type = type;
     }
 
+    /**
+     * @return a new modifiable link with the same values, never <code>null</code>.
+     */
+    public LinkImpl copy() {
+        LinkImpl copy = new LinkImpl();
+        copy.componentClass = ArrayUtils.clone(componentClass);
+        copy.rel = ArrayUtils.clone(rel);
+        copy.href = href;
+        copy.title = title;
+        copy.type = type;
+        return copy;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder()
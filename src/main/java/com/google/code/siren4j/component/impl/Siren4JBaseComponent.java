@@ -2,6 +2,7 @@ package com.google.code.siren4j.component.impl;
 
 import java.text.SimpleDateFormat;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -15,14 +16,45 @@ public abstract class Siren4JBaseComponent {
     @JsonProperty(value = "class")
     protected String[] componentClass;
 
+    @JsonIgnore
+    private boolean frozen;
+
     public String[] getComponentClass() {
         return componentClass;
     }
 
     public void setComponentClass(String[] componentClass) {
+        checkNotFrozen();
         this.componentClass = componentClass;
     }
 
+    /**
+     * Makes the component unmodifiable, any later call to a setter throws an
+     * <code>UnsupportedOperationException</code>. Used for components the library caches, such as the link and
+     * action templates the converter copies for every entity. Arrays are not copied so their elements must not be
+     * changed either.
+     */
+    public void freeze() {
+        frozen = true;
+    }
+
+    /**
+     * @return <code>true</code> if the component was frozen and can not be modified.
+     */
+    @JsonIgnore
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Called by setters before modifying the component.
+     */
+    protected void checkNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException(getClass().getSimpleName() + " is frozen and cannot be modified.");
+        }
+    }
+
     /**
      * Uses Jackson to serialize into a json string.
      */
@@ -18,31 +18,40 @@
  *********************************************************************************************/
 package com.google.code.siren4j.condition;
 
-import java.util.LinkedHashMap;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Map;
 
 import com.google.code.siren4j.annotations.Siren4JCondition;
 import com.google.code.siren4j.annotations.Siren4JCondition.Is;
 
+/**
+ * Provides the stateless <code>Condition</code> instances. The factory is immutable and safe to share between threads.
+ */
 public class ConditionFactory {
     
-    private static ConditionFactory instance;
-    private Map<Is, Condition> conditionMap = new LinkedHashMap<Siren4JCondition.Is, Condition>();
+    private final Map<Is, Condition> conditionMap;
     
     private ConditionFactory() {
-        conditionMap.put(Is.EMPTY, new EmptyCondition());
-        conditionMap.put(Is.FALSE, new FalseCondition());
-        conditionMap.put(Is.NOTEMPTY, new NotEmptyCondition());
-        conditionMap.put(Is.NOTNULL, new NotNullCondition());
-        conditionMap.put(Is.NULL, new NullCondition());
-        conditionMap.put(Is.TRUE, new TrueCondition());
+        Map<Is, Condition> map = new EnumMap<Siren4JCondition.Is, Condition>(Is.class);
+        map.put(Is.EMPTY, new EmptyCondition());
+        map.put(Is.FALSE, new FalseCondition());
+        map.put(Is.NOTEMPTY, new NotEmptyCondition());
+        map.put(Is.NOTNULL, new NotNullCondition());
+        map.put(Is.NULL, new NullCondition());
+        map.put(Is.TRUE, new TrueCondition());
+        conditionMap = Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Lazily initialized by the class loader on first access, which also publishes the instance safely.
+     */
+    private static class Holder {
+        private static final ConditionFactory INSTANCE = new ConditionFactory();
     }
     
     public static ConditionFactory getInstance() {
-        if(instance == null) {
-            instance = new ConditionFactory();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
     
     public Condition getCondition(final Is type) {
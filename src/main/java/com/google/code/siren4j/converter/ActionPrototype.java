@@ -0,0 +1,245 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import com.google.code.siren4j.annotations.Siren4JAction;
+import com.google.code.siren4j.annotations.Siren4JActionField;
+import com.google.code.siren4j.annotations.Siren4JFieldOption;
+import com.google.code.siren4j.annotations.Siren4JMetaData;
+import com.google.code.siren4j.annotations.Siren4JOptionData;
+import com.google.code.siren4j.component.Action;
+import com.google.code.siren4j.component.Field;
+import com.google.code.siren4j.component.builder.ActionBuilder;
+import com.google.code.siren4j.component.builder.FieldBuilder;
+import com.google.code.siren4j.component.impl.ActionImpl;
+import com.google.code.siren4j.meta.FieldOption;
+import com.google.code.siren4j.meta.FieldType;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An action annotation prepared once per class. The action is built from the raw annotation values once and kept
+ * frozen as a template. The template is never shared, every entity gets its own deep copy of it as returned entities
+ * must stay modifiable, so this saves reading the annotation but not the allocation. Copies only contain raw values,
+ * resolving the tokens is left to the {@link ReflectingConverter}.
+ */
+final class ActionPrototype {
+
+    private final Siren4JAction annotation;
+    private final CompiledCondition condition;
+    private final TokenTemplate hrefTemplate;
+    private final boolean constant;
+    private final ActionImpl template;
+
+    /**
+     * @param currentClass class of the entity the annotation applies to if known, may be <code>null</code>.
+     * @param parentClass class of the parent of that entity if known, may be <code>null</code>.
+     */
+    ActionPrototype(Siren4JAction annotation, Class<?> currentClass, Class<?> parentClass) {
+        this.annotation = annotation;
+        this.condition = CompiledCondition.compile(annotation.condition(), currentClass, parentClass);
+        this.hrefTemplate = TokenTemplate.parse(annotation.href());
+        this.constant = isConstant(annotation.fields()) && isConstant(annotation.urlParams())
+                && isConstant(annotation.headers()) && isConstant(annotation.metaData());
+        ActionImpl action = null;
+        try {
+            action = (ActionImpl) buildAction();
+            action.freeze();
+        } catch (RuntimeException e) {
+            // Invalid annotation, leave it to fail the same way when actually converting.
+            action = null;
+        }
+        this.template = action;
+    }
+
+    Siren4JAction getAnnotation() {
+        return annotation;
+    }
+
+    /**
+     * @return the compiled condition of the annotation, never <code>null</code>.
+     */
+    CompiledCondition getCondition() {
+        return condition;
+    }
+
+    /**
+     * @return the parsed href, never <code>null</code>.
+     */
+    TokenTemplate getHrefTemplate() {
+        return hrefTemplate;
+    }
+
+    /**
+     * @return <code>true</code> if the fields and meta data have no tokens, only the href needs resolving then. The
+     * action is still copied.
+     */
+    boolean isConstant() {
+        return constant;
+    }
+
+    /**
+     * @return a new modifiable action with the raw values, never <code>null</code>.
+     */
+    Action newAction() {
+        return template != null ? template.copy() : buildAction();
+    }
+
+    private Action buildAction() {
+        ActionBuilder builder = ActionBuilder.newInstance();
+        builder.setName(annotation.name()).setHref(annotation.href()).setMethod(annotation.method());
+        if (ArrayUtils.isNotEmpty(annotation.actionClass())) {
+            builder.setComponentClass(annotation.actionClass());
+        }
+        if (StringUtils.isNotBlank(annotation.title())) {
+            builder.setTitle(annotation.title());
+        }
+        if (StringUtils.isNotBlank(annotation.type())) {
+            builder.setType(annotation.type());
+        }
+        for (Siren4JActionField fieldAnno : annotation.fields()) {
+            builder.addField(newField(fieldAnno));
+        }
+        for (Siren4JActionField fieldAnno : annotation.urlParams()) {
+            builder.addUrlParam(newField(fieldAnno));
+        }
+        for (Siren4JActionField fieldAnno : annotation.headers()) {
+            builder.addHeader(newField(fieldAnno));
+        }
+        if (ArrayUtils.isNotEmpty(annotation.metaData())) {
+            builder.setMetaData(toMap(annotation.metaData()));
+        }
+        return builder.build();
+    }
+
+    private static Field newField(Siren4JActionField fieldAnno) {
+        FieldBuilder builder = FieldBuilder.newInstance();
+        builder.setName(fieldAnno.name());
+        if (ArrayUtils.isNotEmpty(fieldAnno.fieldClass())) {
+            builder.setComponentClass(fieldAnno.fieldClass());
+        }
+        if (StringUtils.isNotBlank(fieldAnno.title())) {
+            builder.setTitle(fieldAnno.title());
+        }
+        if (fieldAnno.max() > -1) {
+            builder.setMax(fieldAnno.max());
+        }
+        if (fieldAnno.min() > -1) {
+            builder.setMin(fieldAnno.min());
+        }
+        if (fieldAnno.maxLength() > -1) {
+            builder.setMaxLength(fieldAnno.maxLength());
+        }
+        if (StringUtils.isNotBlank(fieldAnno.step())) {
+            builder.setStep(fieldAnno.step());
+        }
+        if (fieldAnno.required()) {
+            builder.setRequired(true);
+        }
+        if (StringUtils.isNotBlank(fieldAnno.pattern())) {
+            builder.setPattern(fieldAnno.pattern());
+        }
+        if (StringUtils.isNotBlank(fieldAnno.type())) {
+            builder.setType(FieldType.valueOf(fieldAnno.type().toUpperCase()));
+        }
+        if (StringUtils.isNotBlank(fieldAnno.value())) {
+            builder.setValue(fieldAnno.value());
+        }
+        for (Siren4JFieldOption optAnno : fieldAnno.options()) {
+            FieldOption opt = new FieldOption();
+            if (StringUtils.isNotBlank(optAnno.title())) {
+                opt.setTitle(optAnno.title());
+            }
+            if (StringUtils.isNotBlank(optAnno.value())) {
+                opt.setValue(optAnno.value());
+            }
+            opt.setOptionDefault(optAnno.optionDefault());
+            for (Siren4JOptionData data : optAnno.data()) {
+                opt.putData(data.key(), data.value());
+            }
+            builder.addOption(opt);
+        }
+        if (StringUtils.isNotBlank(fieldAnno.optionsURL())) {
+            builder.setOptionsURL(fieldAnno.optionsURL());
+        }
+        if (StringUtils.isNotBlank(fieldAnno.placeHolder())) {
+            builder.setPlaceholder(fieldAnno.placeHolder());
+        }
+        if (ArrayUtils.isNotEmpty(fieldAnno.metaData())) {
+            builder.setMetaData(toMap(fieldAnno.metaData()));
+        }
+        return builder.build();
+    }
+
+    private static Map<String, String> toMap(Siren4JMetaData[] metaData) {
+        Map<String, String> result = new HashMap<String, String>();
+        for (Siren4JMetaData mdAnno : metaData) {
+            result.put(mdAnno.key(), mdAnno.value());
+        }
+        return result;
+    }
+
+    /**
+     * A field is constant if none of its values have tokens. The options URL is never constant as it may be made
+     * fully qualified.
+     */
+    private static boolean isConstant(Siren4JActionField fieldAnno) {
+        if (!isConstant(fieldAnno.value()) || StringUtils.isNotBlank(fieldAnno.optionsURL())
+                || !isConstant(fieldAnno.metaData())) {
+            return false;
+        }
+        for (Siren4JFieldOption optAnno : fieldAnno.options()) {
+            if (!isConstant(optAnno.value())) {
+                return false;
+            }
+            for (Siren4JOptionData data : optAnno.data()) {
+                if (!isConstant(data.value())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isConstant(Siren4JActionField[] fieldAnnos) {
+        for (Siren4JActionField fieldAnno : fieldAnnos) {
+            if (!isConstant(fieldAnno)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isConstant(Siren4JMetaData[] metaData) {
+        for (Siren4JMetaData mdAnno : metaData) {
+            if (!isConstant(mdAnno.value())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isConstant(String str) {
+        return StringUtils.isBlank(str) || TokenTemplate.parse(str).isConstant();
+    }
+
+}
@@ -0,0 +1,138 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import com.google.code.siren4j.annotations.Siren4JCondition;
+import com.google.code.siren4j.condition.Condition;
+import com.google.code.siren4j.condition.ConditionFactory;
+import com.google.code.siren4j.error.Siren4JRuntimeException;
+import com.google.code.siren4j.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A <code>Siren4JCondition</code> compiled once into a <code>Condition</code> and a pre-resolved accessor. Whether
+ * the value is read from the current or the parent object is decided when compiling. If the class of that object is
+ * known when the plan is built, e.g. the resource class for its own links, the member is resolved right away so an
+ * invalid name fails when building the plan. Otherwise accessors are resolved on first use per class.
+ */
+final class CompiledCondition {
+
+    private static final String PARENT_PREFIX = "parent.";
+
+    private static final CompiledCondition ALWAYS = new CompiledCondition();
+
+    private final boolean always;
+    private final boolean parent;
+    private final boolean method;
+    private final String name;
+    private final String rawName;
+    private final Condition condition;
+    private final Class<?> boundClass;
+    private final ReflectedAccessor boundAccessor;
+    private final ConcurrentMap<Class<?>, ReflectedAccessor> accessors =
+            new ConcurrentHashMap<Class<?>, ReflectedAccessor>();
+
+    private CompiledCondition() {
+        this.always = true;
+        this.parent = false;
+        this.method = false;
+        this.name = null;
+        this.rawName = null;
+        this.condition = null;
+        this.boundClass = null;
+        this.boundAccessor = null;
+    }
+
+    private CompiledCondition(Siren4JCondition anno, Class<?> currentClass, Class<?> parentClass) {
+        this.always = false;
+        this.rawName = anno.name();
+        this.parent = rawName.startsWith(PARENT_PREFIX);
+        this.name = parent ? rawName.substring(PARENT_PREFIX.length()) : rawName;
+        this.method = anno.type() == Siren4JCondition.Type.METHOD;
+        this.condition = ConditionFactory.getInstance().getCondition(anno.logic());
+        this.boundClass = parent ? parentClass : currentClass;
+        this.boundAccessor = boundClass != null ? resolve(boundClass) : null;
+    }
+
+    /**
+     * Compile the condition.
+     *
+     * @param anno the condition, may be <code>null</code>.
+     * @param currentClass the class of the current object if known when building the plan, may be <code>null</code>.
+     * @param parentClass the class of the parent object if known when building the plan, may be <code>null</code>.
+     * @return the compiled condition, never <code>null</code>. Always <code>true</code> if there is no condition.
+     * @throws Siren4JRuntimeException if the referenced member does not exist in the known class.
+     */
+    static CompiledCondition compile(Siren4JCondition anno, Class<?> currentClass, Class<?> parentClass) {
+        if (anno == null || "null".equals(anno.name())) {
+            return ALWAYS;
+        }
+        return new CompiledCondition(anno, currentClass, parentClass);
+    }
+
+    /**
+     * Evaluates the condition against the current or parent object of the context.
+     *
+     * @param context assumed not <code>null</code>.
+     * @return <code>true</code> if the condition is met.
+     */
+    boolean evaluate(EntityContext context) {
+        if (always) {
+            return true;
+        }
+        Object obj = parent ? context.getParentObject() : context.getCurrentObject();
+        if (obj == null) {
+            throw new Siren4JRuntimeException(
+                    "No object found. Conditional probably references a parent but does not have a parent: "
+                            + rawName);
+        }
+        Class<?> clazz = obj.getClass();
+        ReflectedAccessor accessor = clazz == boundClass ? boundAccessor : accessors.get(clazz);
+        if (accessor == null) {
+            accessor = resolve(clazz);
+            accessors.putIfAbsent(clazz, accessor);
+        }
+        return condition.evaluate(method ? accessor.getGetterValue(obj) : accessor.getFieldValue(obj));
+    }
+
+    private ReflectedAccessor resolve(Class<?> clazz) {
+        if (method) {
+            Method m;
+            try {
+                m = ReflectionUtils.findMethod(clazz, name, null);
+            } catch (NoSuchMethodException | Siren4JRuntimeException e) {
+                // findMethod wraps the NoSuchMethodException as it caches lookups.
+                throw new Siren4JRuntimeException("Method referenced in condition does not exist: " + rawName, e);
+            }
+            return new ReflectedInfo(null, m, null, name).getAccessor();
+        }
+        Field f;
+        try {
+            f = ReflectionUtils.findField(clazz, name);
+        } catch (NoSuchFieldException e) {
+            throw new Siren4JRuntimeException("Field referenced in condition does not exist: " + rawName, e);
+        }
+        return new ReflectedInfo(f, null, null, name).getAccessor();
+    }
+
+}
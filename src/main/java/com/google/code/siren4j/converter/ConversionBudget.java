@@ -0,0 +1,148 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Limits how much of a resource graph is converted in full. A sub entity beyond the budget is converted to an embedded
+ * link to its resolved uri, the same as <code>@Siren4JSubEntity(embeddedLink = true)</code>. A sub entity without uri
+ * can't be linked to, what happens to it is set by its {@link Overflow}. Budgets are immutable, the <code>with</code>
+ * methods return a new budget.
+ *
+ * @since 2.2.0
+ */
+public final class ConversionBudget {
+
+    /**
+     * What happens to a sub entity without uri beyond the budget.
+     */
+    public enum Overflow {
+        /**
+         * The sub entity is left out of its parent, the default.
+         */
+        OMIT,
+        /**
+         * The conversion fails with a <code>Siren4JConversionException</code>.
+         */
+        FAIL
+    }
+
+    /**
+     * The default budget, everything is converted in full.
+     */
+    public static final ConversionBudget UNLIMITED =
+            new ConversionBudget(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Overflow.OMIT);
+
+    private final int maxDepth;
+    private final int maxCollectionEntities;
+    private final int maxEntities;
+    private final Overflow overflow;
+
+    private ConversionBudget(int maxDepth, int maxCollectionEntities, int maxEntities, Overflow overflow) {
+        this.maxDepth = maxDepth;
+        this.maxCollectionEntities = maxCollectionEntities;
+        this.maxEntities = maxEntities;
+        this.overflow = overflow;
+    }
+
+    /**
+     * @return the maximum nesting depth of sub entities converted in full, the sub entities of the top level entity are
+     * at depth one.
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @return the maximum number of sub entities of a single collection converted in full.
+     */
+    public int getMaxCollectionEntities() {
+        return maxCollectionEntities;
+    }
+
+    /**
+     * @return the maximum number of entities, including the top level entity, converted in full per conversion. Sub
+     * entities are converted sequentially when this is set, so the same entities are counted on every conversion.
+     */
+    public int getMaxEntities() {
+        return maxEntities;
+    }
+
+    /**
+     * @return what happens to a sub entity without uri beyond the budget, never <code>null</code>.
+     */
+    public Overflow getOverflow() {
+        return overflow;
+    }
+
+    /**
+     * @param maxDepth zero or more, zero converts all sub entities to embedded links.
+     * @return new budget, never <code>null</code>.
+     */
+    public ConversionBudget withMaxDepth(int maxDepth) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth cannot be negative.");
+        }
+        return new ConversionBudget(maxDepth, maxCollectionEntities, maxEntities, overflow);
+    }
+
+    /**
+     * @param maxCollectionEntities zero or more.
+     * @return new budget, never <code>null</code>.
+     */
+    public ConversionBudget withMaxCollectionEntities(int maxCollectionEntities) {
+        if (maxCollectionEntities < 0) {
+            throw new IllegalArgumentException("maxCollectionEntities cannot be negative.");
+        }
+        return new ConversionBudget(maxDepth, maxCollectionEntities, maxEntities, overflow);
+    }
+
+    /**
+     * @param maxEntities one or more.
+     * @return new budget, never <code>null</code>.
+     */
+    public ConversionBudget withMaxEntities(int maxEntities) {
+        if (maxEntities < 1) {
+            throw new IllegalArgumentException("maxEntities must be greater than zero.");
+        }
+        return new ConversionBudget(maxDepth, maxCollectionEntities, maxEntities, overflow);
+    }
+
+    /**
+     * @param overflow cannot be <code>null</code>.
+     * @return new budget, never <code>null</code>.
+     */
+    public ConversionBudget withOverflow(Overflow overflow) {
+        if (overflow == null) {
+            throw new IllegalArgumentException("overflow cannot be null.");
+        }
+        return new ConversionBudget(maxDepth, maxCollectionEntities, maxEntities, overflow);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("maxDepth", maxDepth)
+                .append("maxCollectionEntities", maxCollectionEntities)
+                .append("maxEntities", maxEntities)
+                .append("overflow", overflow)
+                .toString();
+    }
+}
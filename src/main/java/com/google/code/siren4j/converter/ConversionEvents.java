@@ -0,0 +1,146 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+/**
+ * Emits the Siren4J events of the JDK Flight Recorder. The events are only defined on runtimes that have the flight
+ * recorder, elsewhere, e.g. on older Java 8 runtimes, {@link #INSTANCE} does nothing. The <code>begin</code> methods
+ * return <code>null</code> unless the event is enabled in a running recording, so the cost while not recording is a
+ * check of that flag. The returned event has to be passed to the matching <code>end</code> method, which commits it
+ * if it lasted longer than the threshold of the recording.
+ * <p>
+ * Events, all in the <code>Siren4J</code> category:
+ * <ul>
+ * <li><code>siren4j.Conversion</code>: a top level conversion with the resource class, the operation and the number of
+ * entities converted in full, zero when converting to a resource.</li>
+ * <li><code>siren4j.SubEntity</code>: the conversion of a sub entity including its own sub entities, with the resource
+ * class, the parent class and field, the depth and the number of entities. Only recorded above a threshold of 10 ms by
+ * default. With parallel conversion the entity count includes siblings converted at the same time.</li>
+ * <li><code>siren4j.RegistryScan</code>: filling a resource registry, by scanning or from the index.</li>
+ * <li><code>siren4j.PlanBuild</code>: building the conversion plan of a resource class, including the reflection on the
+ * class.</li>
+ * </ul>
+ *
+ * @since 2.2.0
+ */
+abstract class ConversionEvents {
+
+    static final String TO_ENTITY = "toEntity";
+    static final String WRITE_ENTITY = "writeEntity";
+    static final String TO_OBJECT = "toObject";
+    static final String READ_OBJECT = "readObject";
+
+    private static final String JFR_EVENTS = "com.google.code.siren4j.converter.JfrConversionEvents";
+
+    static final ConversionEvents INSTANCE = load();
+
+    private static ConversionEvents load() {
+        try {
+            Class.forName("jdk.jfr.Event", false, ConversionEvents.class.getClassLoader());
+            return (ConversionEvents) Class.forName(JFR_EVENTS).getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            return new Disabled();
+        } catch (LinkageError e) {
+            return new Disabled();
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the conversion or sub entity events are recorded, so entities have to be counted.
+     */
+    abstract boolean isConversionEnabled();
+
+    /**
+     * @param operation one of the operation constants, e.g. {@link #TO_ENTITY}.
+     * @return the started event, <code>null</code> if not recorded.
+     */
+    abstract Object beginConversion(String operation);
+
+    /**
+     * @param event the event returned by {@link #beginConversion(String)}, may be <code>null</code>.
+     */
+    abstract void endConversion(Object event, Class<?> resourceClass, int entityCount);
+
+    /**
+     * @return the started event, <code>null</code> if not recorded.
+     */
+    abstract Object beginSubEntity();
+
+    /**
+     * @param event the event returned by {@link #beginSubEntity()}, may be <code>null</code>.
+     */
+    abstract void endSubEntity(Object event, Class<?> resourceClass, Class<?> parentClass, String fieldName,
+                               int depth, int entityCount);
+
+    /**
+     * @return the started event, <code>null</code> if not recorded.
+     */
+    abstract Object beginRegistryScan();
+
+    /**
+     * @param event the event returned by {@link #beginRegistryScan()}, may be <code>null</code>.
+     */
+    abstract void endRegistryScan(Object event, String packages, boolean fromIndex, int resourceCount);
+
+    /**
+     * @return the started event, <code>null</code> if not recorded.
+     */
+    abstract Object beginPlanBuild();
+
+    /**
+     * @param event the event returned by {@link #beginPlanBuild()}, may be <code>null</code>.
+     */
+    abstract void endPlanBuild(Object event, Class<?> resourceClass, int fieldCount);
+
+    private static final class Disabled extends ConversionEvents {
+
+        boolean isConversionEnabled() {
+            return false;
+        }
+
+        Object beginConversion(String operation) {
+            return null;
+        }
+
+        void endConversion(Object event, Class<?> resourceClass, int entityCount) {
+        }
+
+        Object beginSubEntity() {
+            return null;
+        }
+
+        void endSubEntity(Object event, Class<?> resourceClass, Class<?> parentClass, String fieldName, int depth,
+                          int entityCount) {
+        }
+
+        Object beginRegistryScan() {
+            return null;
+        }
+
+        void endRegistryScan(Object event, String packages, boolean fromIndex, int resourceCount) {
+        }
+
+        Object beginPlanBuild() {
+            return null;
+        }
+
+        void endPlanBuild(Object event, Class<?> resourceClass, int fieldCount) {
+        }
+    }
+}
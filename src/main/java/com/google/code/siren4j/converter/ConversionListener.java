@@ -0,0 +1,68 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+/**
+ * Receives timings and counts from a {@link ReflectingConverter} as it converts, see
+ * {@link ReflectingConverter#setListener(ConversionListener)}. Methods are called on the converting thread, which for
+ * parallel conversion may be a thread of the parallel executor, so implementations must be thread safe and should
+ * return quickly. Exceptions thrown by a listener fail the conversion.
+ * <p>
+ * {@link ConversionStatistics} is a simple implementation that aggregates everything in memory.
+ *
+ * @since 2.2.0
+ */
+public interface ConversionListener {
+
+    /**
+     * Called after a top level resource was converted to an entity or written as Siren JSON. Not called when the
+     * entity was taken from the entity cache.
+     *
+     * @param resourceClass the class of the resource, never <code>null</code>.
+     * @param elapsedNanos the time the conversion took, including all sub entities.
+     * @param entityCount the number of entities converted in full, including the top level entity. Embedded links and
+     * reused entities are not counted.
+     */
+    void entityConverted(Class<?> resourceClass, long elapsedNanos, int entityCount);
+
+    /**
+     * Called after an entity was converted to a top level resource, or Siren JSON read into one.
+     *
+     * @param resourceClass the class of the resource, never <code>null</code>.
+     * @param elapsedNanos the time the conversion took, including all sub entities.
+     */
+    void objectConverted(Class<?> resourceClass, long elapsedNanos);
+
+    /**
+     * Called for each sub entity field of a resource with a value, after the value was converted.
+     *
+     * @param resourceClass the class of the resource holding the field, never <code>null</code>.
+     * @param fieldName the name of the field, never <code>null</code>.
+     * @param count the number of sub entities of the field, the size of a collection or one.
+     */
+    void subEntitiesConverted(Class<?> resourceClass, String fieldName, int count);
+
+    /**
+     * Called each time the tokens of an uri, href or other templated value were resolved.
+     *
+     * @param resourceClass the class of the resource the tokens were resolved against, never <code>null</code>.
+     * @param elapsedNanos the time parsing and rendering the template took.
+     */
+    void templateResolved(Class<?> resourceClass, long elapsedNanos);
+}
@@ -0,0 +1,249 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import com.google.code.siren4j.component.Entity;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The chain of objects from the top level resource down to an object being converted, used to detect cycles. All
+ * paths of one conversion share the objects already converted, used for
+ * {@link ReflectingConverter.Deduplication deduplication} of objects that appear more than once, and the
+ * {@link ConversionBudget} spent so far. Each object on the path has its {@link Projection}. Paths are immutable, the
+ * shared state is thread safe so a path can be used by parallel sub entity conversion.
+ */
+final class ConversionPath {
+
+    private final Object obj;
+    private final ConversionPath parent;
+    private final int depth;
+    private final ReflectingConverter.Deduplication deduplication;
+    private final Map<Object, Converted> converted;
+    private final ConversionBudget budget;
+    private final AtomicInteger entities;
+    private final AtomicInteger entityCount;
+    private final Projection projection;
+
+    private ConversionPath(Object obj, ConversionPath parent, Projection projection,
+                           ReflectingConverter.Deduplication deduplication, Map<Object, Converted> converted,
+                           ConversionBudget budget, AtomicInteger entities, AtomicInteger entityCount) {
+        this.obj = obj;
+        this.parent = parent;
+        this.depth = parent != null ? parent.depth + 1 : 0;
+        this.projection = projection;
+        this.deduplication = deduplication;
+        this.converted = converted;
+        this.budget = budget;
+        this.entities = entities;
+        this.entityCount = entityCount;
+    }
+
+    /**
+     * Start the path of a new conversion.
+     *
+     * @param obj the parent of the object to convert, <code>null</code> when converting a top level resource.
+     * @param projection the projection of the object to convert, cannot be <code>null</code>.
+     * @param deduplication cannot be <code>null</code>.
+     * @param budget cannot be <code>null</code>.
+     * @param countEntities <code>true</code> to count the entities converted in full, see {@link #getEntityCount()}.
+     * @return the path, never <code>null</code>.
+     */
+    static ConversionPath start(Object obj, Projection projection, ReflectingConverter.Deduplication deduplication,
+                                ConversionBudget budget, boolean countEntities) {
+        Map<Object, Converted> converted = deduplication == ReflectingConverter.Deduplication.NONE
+                ? null : Collections.synchronizedMap(new IdentityHashMap<Object, Converted>());
+        AtomicInteger entities = budget.getMaxEntities() != Integer.MAX_VALUE ? new AtomicInteger() : null;
+        return new ConversionPath(obj, null, projection, deduplication, converted, budget, entities,
+                countEntities ? new AtomicInteger() : null);
+    }
+
+    /**
+     * @param child assumed not <code>null</code>.
+     * @param fieldPlan the field of the last object holding the child, <code>null</code> for the top level object.
+     * @return the path extended by the child, never <code>null</code>.
+     */
+    ConversionPath child(Object child, FieldPlan fieldPlan) {
+        Projection p = fieldPlan != null ? projection.select(fieldPlan) : projection;
+        return new ConversionPath(child, this, p != null ? p : Projection.ALL, deduplication, converted, budget,
+                entities, entityCount);
+    }
+
+    /**
+     * @return the projection of the last object, never <code>null</code>.
+     */
+    Projection getProjection() {
+        return projection;
+    }
+
+    /**
+     * @return the number of objects on the path before the last object, zero for the top level object.
+     */
+    int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return the last object of the path, <code>null</code> at the start of a top level conversion.
+     */
+    Object getObject() {
+        return obj;
+    }
+
+    ConversionBudget getBudget() {
+        return budget;
+    }
+
+    ReflectingConverter.Deduplication getDeduplication() {
+        return deduplication;
+    }
+
+    /**
+     * @return <code>true</code> if the result does not depend on the order sub entities are converted in, i.e. no
+     * deduplication and no limit on the number of entities. Only then may sub entities be converted in parallel.
+     */
+    boolean isOrderIndependent() {
+        return converted == null && entities == null;
+    }
+
+    /**
+     * Check if a sub entity of the last object of the path may be converted in full and if so count it.
+     *
+     * @param index the index of the sub entity in its collection, zero if not in a collection.
+     * @return <code>false</code> if the sub entity exceeds the budget.
+     */
+    boolean spendBudget(int index) {
+        if (depth > budget.getMaxDepth() || index >= budget.getMaxCollectionEntities()) {
+            return false;
+        }
+        return entities == null || entities.incrementAndGet() <= budget.getMaxEntities();
+    }
+
+    /**
+     * Counts an entity converted in full without checking the budget, e.g. the top level entity.
+     */
+    void countEntity() {
+        if (entities != null) {
+            entities.incrementAndGet();
+        }
+    }
+
+    /**
+     * Counts an entity converted in full. Does nothing unless the path was started counting entities.
+     */
+    void recordEntity() {
+        if (entityCount != null) {
+            entityCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return the number of entities converted in full so far by the conversion, zero if not counting entities.
+     */
+    int getEntityCount() {
+        return entityCount != null ? entityCount.get() : 0;
+    }
+
+    /**
+     * @return <code>true</code> if the object is on this path, compared by identity.
+     */
+    boolean contains(Object o) {
+        for (ConversionPath p = this; p != null; p = p.parent) {
+            if (p.obj == o) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Describes the path followed by the object for error messages, e.g. <code>Course -> Author -> Course</code>.
+     */
+    String describe(Object o) {
+        StringBuilder sb = new StringBuilder(o.getClass().getSimpleName());
+        for (ConversionPath p = this; p != null && p.obj != null; p = p.parent) {
+            sb.insert(0, " -> ").insert(0, p.obj.getClass().getSimpleName());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Records the object as being converted, used for {@link ReflectingConverter.Deduplication#EMBEDDED_LINK}.
+     *
+     * @return <code>true</code> if this is the first time the object is seen in this conversion, always
+     * <code>true</code> if deduplication is disabled.
+     */
+    boolean markSeen(Object o) {
+        if (converted == null) {
+            return true;
+        }
+        synchronized (converted) {
+            if (converted.containsKey(o)) {
+                return false;
+            }
+            converted.put(o, Converted.SEEN);
+            return true;
+        }
+    }
+
+    /**
+     * @return the entity previously converted from the object as sub entity of the same field with the same
+     * projection, <code>null</code> if
+     * none or not using {@link ReflectingConverter.Deduplication#REUSE_ENTITY}.
+     */
+    Entity getConverted(Object o, FieldPlan fieldPlan, Projection projection) {
+        if (deduplication != ReflectingConverter.Deduplication.REUSE_ENTITY) {
+            return null;
+        }
+        Converted c = converted.get(o);
+        return c != null && c.fieldPlan == fieldPlan && c.projection == projection ? c.entity : null;
+    }
+
+    /**
+     * Remembers the entity converted from the object with the projection, only the first entity of an object is kept.
+     */
+    void putConverted(Object o, FieldPlan fieldPlan, Projection projection, Entity entity) {
+        if (deduplication == ReflectingConverter.Deduplication.REUSE_ENTITY) {
+            synchronized (converted) {
+                Converted c = converted.get(o);
+                if (c == null || c == Converted.SEEN) {
+                    converted.put(o, new Converted(fieldPlan, projection, entity));
+                }
+            }
+        }
+    }
+
+    private static final class Converted {
+
+        private static final Converted SEEN = new Converted(null, null, null);
+
+        private final FieldPlan fieldPlan;
+        private final Projection projection;
+        private final Entity entity;
+
+        private Converted(FieldPlan fieldPlan, Projection projection, Entity entity) {
+            this.fieldPlan = fieldPlan;
+            this.projection = projection;
+            this.entity = entity;
+        }
+    }
+}
@@ -0,0 +1,372 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import com.google.code.siren4j.Siren4J;
+import com.google.code.siren4j.annotations.Siren4JAction;
+import com.google.code.siren4j.annotations.Siren4JEntity;
+import com.google.code.siren4j.annotations.Siren4JLink;
+import com.google.code.siren4j.error.Siren4JRuntimeException;
+import com.google.code.siren4j.util.ReflectionUtils;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * An immutable, cached plan describing how instances of a single resource class are converted. The plan is built once
+ * per class from {@link ReflectionUtils#getExposedFieldInfo(Class)} and the class annotations, after that the
+ * {@link ReflectingConverter} only has to execute it for each object.
+ */
+public class ConversionPlan {
+
+    /**
+     * Plans are cached as they are expensive to build but don't change until code is changed and recompiled.
+     */
+    private static final Cache<Class<?>, ConversionPlan> planCache =
+            CacheBuilder.newBuilder().maximumSize(2000).recordStats().build();
+
+    private static final Comparator<ReflectedInfo> EFFECTIVE_NAME_ORDER = new Comparator<ReflectedInfo>() {
+
+        @Override
+        public int compare(ReflectedInfo o1, ReflectedInfo o2) {
+            return o1.getEffectiveName().compareTo(o2.getEffectiveName());
+        }
+    };
+
+    private final Class<?> resourceClass;
+    private final Siren4JEntity entityAnnotation;
+    private final String entityName;
+    private final String uri;
+    private final TokenTemplate uriTemplate;
+    private final boolean suppressClassProperty;
+    private final List<ReflectedInfo> fieldInfo;
+    private final List<FieldPlan> fields;
+    private final Map<String, ReflectedInfo> tokenIndex;
+    private final Map<String, FieldPlan> propertySetters;
+    private final Map<String, FieldPlan> subEntitySetters;
+    private final boolean propertyNamesUnique;
+    private final List<LinkPrototype> linkPrototypes;
+    private final List<ActionPrototype> actionPrototypes;
+
+    @SuppressWarnings("deprecation")
+    private ConversionPlan(Class<?> clazz) {
+        this.resourceClass = clazz;
+        this.entityAnnotation = clazz.getAnnotation(Siren4JEntity.class);
+        if (entityAnnotation != null && (StringUtils.isNotBlank(entityAnnotation.name()) && ArrayUtils
+                .isNotEmpty(entityAnnotation.entityClass()))) {
+            throw new Siren4JRuntimeException("Must only use one of 'name' or 'entityClass', not both.");
+        }
+        this.entityName = entityAnnotation != null ? StringUtils.defaultIfEmpty(entityAnnotation.name(), null) : null;
+        this.uri = entityAnnotation != null ? entityAnnotation.uri() : "";
+        this.uriTemplate = TokenTemplate.parse(uri);
+        this.suppressClassProperty = entityAnnotation != null && entityAnnotation.suppressClassProperty();
+
+        List<ReflectedInfo> sorted = new ArrayList<ReflectedInfo>(ReflectionUtils.getExposedFieldInfo(clazz));
+        Collections.sort(sorted, EFFECTIVE_NAME_ORDER);
+        this.fieldInfo = Collections.unmodifiableList(sorted);
+
+        List<FieldPlan> plans = new ArrayList<FieldPlan>(sorted.size());
+        for (ReflectedInfo info : sorted) {
+            plans.add(new FieldPlan(clazz, info));
+        }
+        this.fields = Collections.unmodifiableList(plans);
+
+        Map<String, ReflectedInfo> tokens = new HashMap<String, ReflectedInfo>();
+        for (ReflectedInfo info : sorted) {
+            Field f = info.getField();
+            if (f != null && (f.getType().isEnum() || ReflectionUtils.isPropertyType(f.getType()))) {
+                tokens.put(f.getName(), info);
+            }
+        }
+        this.tokenIndex = Collections.unmodifiableMap(tokens);
+
+        // The sort is stable so the first plan for a name wins, same as a scan of the exposed field info.
+        Map<String, FieldPlan> byEffectiveName = new HashMap<String, FieldPlan>();
+        for (FieldPlan plan : plans) {
+            if (!byEffectiveName.containsKey(plan.getInfo().getEffectiveName())) {
+                byEffectiveName.put(plan.getInfo().getEffectiveName(), plan);
+            }
+        }
+        Map<String, FieldPlan> setters = new HashMap<String, FieldPlan>(byEffectiveName);
+        for (FieldPlan plan : plans) {
+            if (plan.getField() != null && !setters.containsKey(plan.getField().getName())) {
+                setters.put(plan.getField().getName(), plan);
+            }
+        }
+        this.propertySetters = Collections.unmodifiableMap(setters);
+        // Sub entities are written with the rel of their field, match that first and the effective name otherwise.
+        Map<String, FieldPlan> byRel = new HashMap<String, FieldPlan>();
+        for (FieldPlan plan : plans) {
+            if (plan.getSubEntityAnnotation() != null) {
+                String key = toRelKey(plan.getRel());
+                if (!byRel.containsKey(key)) {
+                    byRel.put(key, plan);
+                }
+            }
+        }
+        for (Map.Entry<String, FieldPlan> entry : byEffectiveName.entrySet()) {
+            if (!byRel.containsKey(entry.getKey())) {
+                byRel.put(entry.getKey(), entry.getValue());
+            }
+        }
+        this.subEntitySetters = Collections.unmodifiableMap(byRel);
+
+        Set<String> names = new HashSet<String>();
+        boolean unique = suppressClassProperty || names.add(Siren4J.CLASS_RESERVED_PROPERTY);
+        for (FieldPlan plan : plans) {
+            if (plan.getKind() != FieldPlan.Kind.SUB_ENTITY) {
+                unique &= names.add(plan.getPropertyName());
+            }
+        }
+        if (Collection.class.isAssignableFrom(clazz)) {
+            unique &= names.add("size");
+        }
+        this.propertyNamesUnique = unique;
+
+        this.linkPrototypes = entityAnnotation != null
+                ? toLinkPrototypes(entityAnnotation.links(), clazz, null) : Collections.<LinkPrototype>emptyList();
+        this.actionPrototypes = entityAnnotation != null
+                ? toActionPrototypes(entityAnnotation.actions(), clazz, null)
+                : Collections.<ActionPrototype>emptyList();
+    }
+
+    static List<LinkPrototype> toLinkPrototypes(Siren4JLink[] links, Class<?> currentClass, Class<?> parentClass) {
+        if (links.length == 0) {
+            return Collections.emptyList();
+        }
+        List<LinkPrototype> result = new ArrayList<LinkPrototype>(links.length);
+        for (Siren4JLink link : links) {
+            result.add(new LinkPrototype(link, currentClass, parentClass));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    static List<ActionPrototype> toActionPrototypes(Siren4JAction[] actions, Class<?> currentClass,
+                                                    Class<?> parentClass) {
+        if (actions.length == 0) {
+            return Collections.emptyList();
+        }
+        List<ActionPrototype> result = new ArrayList<ActionPrototype>(actions.length);
+        for (Siren4JAction action : actions) {
+            result.add(new ActionPrototype(action, currentClass, parentClass));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Retrieve the plan for the specified class, building and caching it on first use.
+     *
+     * @param clazz cannot be <code>null</code>.
+     * @return the plan, never <code>null</code>.
+     */
+    public static ConversionPlan forClass(final Class<?> clazz) {
+        if (clazz == null) {
+            throw new IllegalArgumentException("clazz cannot be null.");
+        }
+        ConversionPlan plan = planCache.getIfPresent(clazz);
+        if (plan != null) {
+            return plan;
+        }
+        try {
+            return planCache.get(clazz, new Callable<ConversionPlan>() {
+
+                public ConversionPlan call() throws Exception {
+                    Object event = ConversionEvents.INSTANCE.beginPlanBuild();
+                    ConversionPlan built = new ConversionPlan(clazz);
+                    ConversionEvents.INSTANCE.endPlanBuild(event, clazz, built.fields.size());
+                    return built;
+                }
+            });
+        } catch (UncheckedExecutionException e) {
+            if (e.getCause() instanceof Siren4JRuntimeException) {
+                throw (Siren4JRuntimeException) e.getCause();
+            }
+            throw new Siren4JRuntimeException(e.getCause());
+        } catch (ExecutionException e) {
+            throw new Siren4JRuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * @return the hit, miss and eviction statistics of the plan cache, never <code>null</code>.
+     */
+    static CacheStats getCacheStats() {
+        return planCache.stats();
+    }
+
+    /**
+     * @return the plan cache itself, only meant for tests that need to start cold.
+     */
+    static Cache<Class<?>, ConversionPlan> getCache() {
+        return planCache;
+    }
+
+    public Class<?> getResourceClass() {
+        return resourceClass;
+    }
+
+    /**
+     * @return the entity annotation of the class, may be <code>null</code>.
+     */
+    public Siren4JEntity getEntityAnnotation() {
+        return entityAnnotation;
+    }
+
+    /**
+     * @return the deprecated entity name from the entity annotation, <code>null</code> if not set.
+     */
+    public String getEntityName() {
+        return entityName;
+    }
+
+    /**
+     * @return the raw, unresolved uri from the entity annotation, never <code>null</code>, may be empty.
+     */
+    public String getUri() {
+        return uri;
+    }
+
+    /**
+     * @return the parsed uri from the entity annotation, never <code>null</code>.
+     */
+    TokenTemplate getUriTemplate() {
+        return uriTemplate;
+    }
+
+    public boolean isSuppressClassProperty() {
+        return suppressClassProperty;
+    }
+
+    /**
+     * @return unmodifiable list of all exposed field info sorted by effective name, never <code>null</code>.
+     */
+    public List<ReflectedInfo> getFieldInfo() {
+        return fieldInfo;
+    }
+
+    /**
+     * @return unmodifiable list of field plans in conversion order, never <code>null</code>.
+     */
+    public List<FieldPlan> getFields() {
+        return fields;
+    }
+
+    /**
+     * @return unmodifiable index of the fields usable as uri tokens, i.e. enum or simple property types, keyed by field
+     * name. Never <code>null</code>.
+     */
+    public Map<String, ReflectedInfo> getTokenIndex() {
+        return tokenIndex;
+    }
+
+    /**
+     * @return <code>true</code> if no two properties of an entity of this class can ever have the same name, so
+     * properties can be written out without collecting them in a map first.
+     */
+    public boolean isPropertyNamesUnique() {
+        return propertyNamesUnique;
+    }
+
+    /**
+     * @return prototypes for the links of the entity annotation in declaration order, never <code>null</code>.
+     */
+    List<LinkPrototype> getLinkPrototypes() {
+        return linkPrototypes;
+    }
+
+    /**
+     * @return prototypes for the actions of the entity annotation in declaration order, never <code>null</code>.
+     */
+    List<ActionPrototype> getActionPrototypes() {
+        return actionPrototypes;
+    }
+
+    /**
+     * Find the plan of the field an inbound entity property is set on, matched by effective name and then by field
+     * name.
+     *
+     * @param name assumed not <code>null</code>.
+     * @return the field plan or <code>null</code> if not found.
+     */
+    FieldPlan getPropertySetter(String name) {
+        return propertySetters.get(name);
+    }
+
+    /**
+     * Find the plan of the field an inbound sub entity is set on, matched by the rel of the field's sub entity or else
+     * by effective name.
+     *
+     * @param rel the rel of the sub entity, see {@link #toRelKey(String[])}. Assumed not <code>null</code>.
+     * @return the field plan or <code>null</code> if not found.
+     */
+    FieldPlan getSubEntitySetter(String rel) {
+        return subEntitySetters.get(rel);
+    }
+
+    /**
+     * @param rel assumed not empty.
+     * @return the single rel or multiple rels formatted as by <code>ArrayUtils.toString</code>.
+     */
+    static String toRelKey(String[] rel) {
+        return rel.length == 1 ? rel[0] : ArrayUtils.toString(rel);
+    }
+
+    /**
+     * Find the plan for the specified field.
+     *
+     * @param field may be <code>null</code>.
+     * @return the field plan or <code>null</code> if not found.
+     */
+    public FieldPlan getFieldPlan(Field field) {
+        if (field == null) {
+            return null;
+        }
+        for (FieldPlan plan : fields) {
+            if (field.equals(plan.getField())) {
+                return plan;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append(resourceClass.getName())
+                .append(fields)
+                .toString();
+    }
+}
@@ -0,0 +1,234 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import com.google.code.siren4j.util.ReflectionUtils;
+import com.google.common.cache.CacheStats;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link ConversionListener} that aggregates count, total, maximum and mean of everything reported, by resource
+ * class, in memory. Meant to be polled, e.g. by a metrics reporter or a management endpoint, to find the resource types
+ * worth optimizing. Recording is lock free, the getters return snapshots.
+ * <p>
+ * The hit, miss and eviction statistics of the reflection and conversion plan caches are global and available through
+ * {@link #getCacheStats()} whether or not a listener is set.
+ *
+ * @since 2.2.0
+ */
+public class ConversionStatistics implements ConversionListener {
+
+    /**
+     * Keys of {@link #getCacheStats()}.
+     */
+    public static final String FIELD_INFO_CACHE = "fieldInfo";
+    public static final String FIND_METHOD_CACHE = "findMethod";
+    public static final String CONVERSION_PLAN_CACHE = "conversionPlan";
+
+    private final ConcurrentMap<Class<?>, Recorder> entityConversions = new ConcurrentHashMap<Class<?>, Recorder>();
+    private final ConcurrentMap<Class<?>, Recorder> entityCounts = new ConcurrentHashMap<Class<?>, Recorder>();
+    private final ConcurrentMap<Class<?>, Recorder> objectConversions = new ConcurrentHashMap<Class<?>, Recorder>();
+    private final ConcurrentMap<String, Recorder> fanOut = new ConcurrentHashMap<String, Recorder>();
+    private final ConcurrentMap<Class<?>, Recorder> templateResolutions = new ConcurrentHashMap<Class<?>, Recorder>();
+
+    public void entityConverted(Class<?> resourceClass, long elapsedNanos, int entityCount) {
+        recorder(entityConversions, resourceClass).record(elapsedNanos);
+        recorder(entityCounts, resourceClass).record(entityCount);
+    }
+
+    public void objectConverted(Class<?> resourceClass, long elapsedNanos) {
+        recorder(objectConversions, resourceClass).record(elapsedNanos);
+    }
+
+    public void subEntitiesConverted(Class<?> resourceClass, String fieldName, int count) {
+        recorder(fanOut, resourceClass.getName() + "." + fieldName).record(count);
+    }
+
+    public void templateResolved(Class<?> resourceClass, long elapsedNanos) {
+        recorder(templateResolutions, resourceClass).record(elapsedNanos);
+    }
+
+    /**
+     * @return the time in nanoseconds to convert top level resources to entities or JSON, by resource class. Never
+     * <code>null</code>.
+     */
+    public Map<Class<?>, Summary> getEntityConversions() {
+        return snapshot(entityConversions);
+    }
+
+    /**
+     * @return the number of entities per top level conversion, by resource class. Never <code>null</code>.
+     */
+    public Map<Class<?>, Summary> getEntityCounts() {
+        return snapshot(entityCounts);
+    }
+
+    /**
+     * @return the time in nanoseconds to convert entities or JSON to top level resources, by resource class. Never
+     * <code>null</code>.
+     */
+    public Map<Class<?>, Summary> getObjectConversions() {
+        return snapshot(objectConversions);
+    }
+
+    /**
+     * @return the number of sub entities per field value, keyed by the resource class name and field name, e.g.
+     * <code>com.example.Course.authors</code>. Never <code>null</code>.
+     */
+    public Map<String, Summary> getFanOut() {
+        return snapshot(fanOut);
+    }
+
+    /**
+     * @return the time in nanoseconds to resolve the tokens of a template, by resource class. Never
+     * <code>null</code>.
+     */
+    public Map<Class<?>, Summary> getTemplateResolutions() {
+        return snapshot(templateResolutions);
+    }
+
+    /**
+     * Discards everything recorded so far. The cache statistics are not affected.
+     */
+    public void reset() {
+        entityConversions.clear();
+        entityCounts.clear();
+        objectConversions.clear();
+        fanOut.clear();
+        templateResolutions.clear();
+    }
+
+    /**
+     * @return the statistics of the global caches since class loading, keyed by {@link #FIELD_INFO_CACHE},
+     * {@link #FIND_METHOD_CACHE} and {@link #CONVERSION_PLAN_CACHE}. Never <code>null</code>.
+     */
+    public static Map<String, CacheStats> getCacheStats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<String, CacheStats>();
+        stats.put(FIELD_INFO_CACHE, ReflectionUtils.fieldInfoCache.stats());
+        stats.put(FIND_METHOD_CACHE, ReflectionUtils.findMethodCache.stats());
+        stats.put(CONVERSION_PLAN_CACHE, ConversionPlan.getCacheStats());
+        return Collections.unmodifiableMap(stats);
+    }
+
+    private static <K> Recorder recorder(ConcurrentMap<K, Recorder> recorders, K key) {
+        Recorder recorder = recorders.get(key);
+        if (recorder == null) {
+            Recorder created = new Recorder();
+            recorder = recorders.putIfAbsent(key, created);
+            if (recorder == null) {
+                recorder = created;
+            }
+        }
+        return recorder;
+    }
+
+    private static <K> Map<K, Summary> snapshot(ConcurrentMap<K, Recorder> recorders) {
+        Map<K, Summary> result = new LinkedHashMap<K, Summary>();
+        for (Map.Entry<K, Recorder> entry : recorders.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().summarize());
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("entityConversions", getEntityConversions())
+                .append("entityCounts", getEntityCounts())
+                .append("objectConversions", getObjectConversions())
+                .append("fanOut", getFanOut())
+                .append("templateResolutions", getTemplateResolutions())
+                .append("cacheStats", getCacheStats())
+                .toString();
+    }
+
+    /**
+     * Immutable count, total and maximum of the values recorded for a key. The values of a summary are read one after
+     * the other while recording goes on, so they can be slightly inconsistent.
+     */
+    public static final class Summary {
+
+        private final long count;
+        private final long total;
+        private final long max;
+
+        Summary(long count, long total, long max) {
+            this.count = count;
+            this.total = total;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * @return the mean value, zero if nothing was recorded.
+         */
+        public double getMean() {
+            return count > 0 ? (double) total / count : 0;
+        }
+
+        @Override
+        public String toString() {
+            return new ToStringBuilder(this)
+                    .append("count", count)
+                    .append("total", total)
+                    .append("max", max)
+                    .toString();
+        }
+    }
+
+    private static final class Recorder {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+        private void record(long value) {
+            count.increment();
+            total.add(value);
+            long current = max.get();
+            while (value > current && !max.compareAndSet(current, value)) {
+                current = max.get();
+            }
+        }
+
+        private Summary summarize() {
+            long c = count.sum();
+            return new Summary(c, total.sum(), c > 0 ? max.get() : 0);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.code.siren4j.component.Entity;
+import com.google.code.siren4j.component.impl.Siren4JBaseComponent;
+import com.google.code.siren4j.error.Siren4JException;
+import com.google.code.siren4j.error.Siren4JRuntimeException;
+import com.google.code.siren4j.resource.CacheableResource;
+import com.google.code.siren4j.resource.Resource;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A bounded cache of the entities converted from {@link CacheableResource}s, see
+ * {@link ReflectingConverter#setEntityCache(EntityCache)}. Cached entities are frozen, any attempt to modify them
+ * throws an <code>UnsupportedOperationException</code>. The entity holds copies of the resource's dynamic links and
+ * actions so those stay modifiable, property values are not copied so they must not be changed either. Besides the
+ * entity the serialized JSON of the last <code>ObjectMapper</code> used with
+ * {@link ReflectingConverter#writeEntity(Object, ObjectMapper, java.io.OutputStream)} is kept, so repeated writes
+ * only copy bytes.
+ * <p>
+ * Only top level resources are cached as a sub entity also depends on its parent. The key of an entry is the resource
+ * class, its cache key and, for a {@link Resource}, the base uri and fully qualified links setting. Entries are not
+ * aware of converter settings, use a separate cache for converters with different settings.
+ *
+ * @since 2.2.0
+ */
+public class EntityCache {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 2000;
+
+    private final Cache<Key, CachedEntity> cache;
+
+    private EntityCache(long maximumSize) {
+        this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+
+    /**
+     * Gets a new cache holding at most {@link #DEFAULT_MAXIMUM_SIZE} entities.
+     *
+     * @return the cache, never <code>null</code>.
+     */
+    public static EntityCache newInstance() {
+        return new EntityCache(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Gets a new cache, the least recently used entities are evicted once the maximum size is reached.
+     *
+     * @param maximumSize the maximum number of entities, must be greater than zero.
+     * @return the cache, never <code>null</code>.
+     */
+    public static EntityCache newInstance(long maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be greater than zero.");
+        }
+        return new EntityCache(maximumSize);
+    }
+
+    /**
+     * @return hit, miss, load and eviction statistics since the cache was created, never <code>null</code>.
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     * @return the approximate number of cached entities.
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Discards all entries, e.g. after reference data was reloaded.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Build the cache key for the resource.
+     *
+     * @param obj may be <code>null</code>.
+     * @return the key or <code>null</code> if the object should not be cached.
+     */
+    static Key keyFor(Object obj) {
+        if (!(obj instanceof CacheableResource)) {
+            return null;
+        }
+        Object cacheKey = ((CacheableResource) obj).getCacheKey();
+        if (cacheKey == null) {
+            return null;
+        }
+        if (obj instanceof Resource) {
+            Resource res = (Resource) obj;
+            return new Key(obj.getClass(), cacheKey, res.getBaseUri(), res.isFullyQualifiedLinks());
+        }
+        return new Key(obj.getClass(), cacheKey, null, null);
+    }
+
+    /**
+     * Retrieve the cached entry, converting and freezing the entity on a miss.
+     *
+     * @param key cannot be <code>null</code>.
+     * @param loader converts the resource.
+     * @return the entry, never <code>null</code>.
+     */
+    CachedEntity get(Key key, final Callable<Entity> loader) throws Siren4JException {
+        try {
+            return cache.get(key, new Callable<CachedEntity>() {
+
+                public CachedEntity call() throws Exception {
+                    Entity entity = loader.call();
+                    if (entity instanceof Siren4JBaseComponent) {
+                        ((Siren4JBaseComponent) entity).freeze();
+                    }
+                    return new CachedEntity(entity);
+                }
+            });
+        } catch (UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new Siren4JRuntimeException(e.getCause());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Siren4JException) {
+                throw (Siren4JException) e.getCause();
+            }
+            throw new Siren4JRuntimeException(e.getCause());
+        }
+    }
+
+    static final class Key {
+
+        private final Class<?> resourceClass;
+        private final Object cacheKey;
+        private final String baseUri;
+        private final Boolean fullyQualifiedLinks;
+        private final int hash;
+
+        Key(Class<?> resourceClass, Object cacheKey, String baseUri, Boolean fullyQualifiedLinks) {
+            this.resourceClass = resourceClass;
+            this.cacheKey = cacheKey;
+            this.baseUri = baseUri;
+            this.fullyQualifiedLinks = fullyQualifiedLinks;
+            this.hash = Arrays.hashCode(new Object[] {resourceClass, cacheKey, baseUri, fullyQualifiedLinks});
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return resourceClass == other.resourceClass && cacheKey.equals(other.cacheKey)
+                    && (baseUri == null ? other.baseUri == null : baseUri.equals(other.baseUri))
+                    && (fullyQualifiedLinks == null ? other.fullyQualifiedLinks == null
+                    : fullyQualifiedLinks.equals(other.fullyQualifiedLinks));
+        }
+    }
+
+    /**
+     * A cached entity and its JSON as written by the last mapper used.
+     */
+    static final class CachedEntity {
+
+        private final Entity entity;
+        private volatile Serialized serialized;
+
+        private CachedEntity(Entity entity) {
+            this.entity = entity;
+        }
+
+        Entity getEntity() {
+            return entity;
+        }
+
+        /**
+         * @param mapper cannot be <code>null</code>.
+         * @return the JSON of the entity as written by the mapper, never <code>null</code>.
+         */
+        byte[] getBytes(ObjectMapper mapper) throws IOException {
+            Serialized s = serialized;
+            if (s == null || s.mapper != mapper) {
+                s = new Serialized(mapper, mapper.writeValueAsBytes(entity));
+                serialized = s;
+            }
+            return s.bytes;
+        }
+    }
+
+    private static final class Serialized {
+
+        private final ObjectMapper mapper;
+        private final byte[] bytes;
+
+        private Serialized(ObjectMapper mapper, byte[] bytes) {
+            this.mapper = mapper;
+            this.bytes = bytes;
+        }
+    }
+}
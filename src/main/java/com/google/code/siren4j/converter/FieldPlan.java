@@ -0,0 +1,252 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import com.google.code.siren4j.annotations.Siren4JInclude;
+import com.google.code.siren4j.annotations.Siren4JInclude.Include;
+import com.google.code.siren4j.annotations.Siren4JProperty;
+import com.google.code.siren4j.annotations.Siren4JSubEntity;
+import com.google.code.siren4j.resource.CollectionResource;
+import com.google.code.siren4j.util.ComponentUtils;
+import com.google.code.siren4j.util.ReflectionUtils;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, precomputed conversion instructions for a single exposed field or property method of a resource class.
+ * Everything that can be determined from the class and its annotations alone is resolved once when the owning
+ * {@link ConversionPlan} is built, so that converting an instance only has to read values.
+ */
+public class FieldPlan {
+
+    /**
+     * How the value of the field will be represented in the entity.
+     */
+    public enum Kind {
+        /**
+         * A property method not backed by a field, always added as a property.
+         */
+        METHOD_PROPERTY,
+        /**
+         * A field that is always a property, determined by its declared type or annotation.
+         */
+        PROPERTY,
+        /**
+         * A field that can only ever be a sub entity.
+         */
+        SUB_ENTITY,
+        /**
+         * A collection or map field whose element types can't be determined from the declared generic type, whether it
+         * is a property depends on the values it holds at runtime.
+         */
+        DYNAMIC
+    }
+
+    private final ReflectedInfo info;
+    private final Field field;
+    private final Kind kind;
+    private final String propertyName;
+    private final Include include;
+    private final Siren4JSubEntity subEntityAnnotation;
+    private final Siren4JSubEntity fieldSubEntityAnnotation;
+    private final boolean collection;
+    private final String[] rel;
+    private final TokenTemplate uriTemplate;
+    private final ValueCoercer coercer;
+    private final List<LinkPrototype> linkPrototypes;
+    private final List<ActionPrototype> actionPrototypes;
+
+    FieldPlan(Class<?> clazz, ReflectedInfo info) {
+        this.info = info;
+        this.field = info.getField();
+        if (field == null) {
+            this.kind = Kind.METHOD_PROPERTY;
+            this.propertyName = info.getEffectiveName();
+            this.include = Include.ALWAYS;
+            this.subEntityAnnotation = null;
+            this.fieldSubEntityAnnotation = null;
+            this.collection = false;
+            this.rel = ArrayUtils.EMPTY_STRING_ARRAY;
+            this.uriTemplate = null;
+            this.coercer = info.getSetter() != null
+                    ? ValueCoercer.forType(info.getSetter().getParameterTypes()[0]) : ValueCoercer.IDENTITY;
+            this.linkPrototypes = Collections.emptyList();
+            this.actionPrototypes = Collections.emptyList();
+            return;
+        }
+        Siren4JProperty propAnno = field.getAnnotation(Siren4JProperty.class);
+        this.propertyName = propAnno != null && StringUtils.isNotBlank(propAnno.name())
+                ? propAnno.name() : field.getName();
+        this.kind = classify(field, propAnno);
+        this.include = resolveInclude(clazz, field);
+        this.fieldSubEntityAnnotation = field.getAnnotation(Siren4JSubEntity.class);
+        this.subEntityAnnotation = fieldSubEntityAnnotation == null && info.getGetter() != null
+                ? info.getGetter().getAnnotation(Siren4JSubEntity.class) : fieldSubEntityAnnotation;
+        Class<?> type = field.getType();
+        this.collection = !type.equals(CollectionResource.class)
+                && (Collection.class.equals(type) || ArrayUtils.contains(type.getInterfaces(), Collection.class));
+        this.rel = subEntityAnnotation != null && !ComponentUtils.isStringArrayEmpty(subEntityAnnotation.rel())
+                ? subEntityAnnotation.rel() : new String[]{field.getName()};
+        this.uriTemplate = subEntityAnnotation != null && StringUtils.isNotEmpty(subEntityAnnotation.uri())
+                ? TokenTemplate.parse(subEntityAnnotation.uri()) : null;
+        this.coercer = ValueCoercer.forType(info.getSetter() != null
+                ? info.getSetter().getParameterTypes()[0] : type);
+        this.linkPrototypes = fieldSubEntityAnnotation != null
+                ? ConversionPlan.toLinkPrototypes(fieldSubEntityAnnotation.links(), null, clazz)
+                : Collections.<LinkPrototype>emptyList();
+        this.actionPrototypes = fieldSubEntityAnnotation != null
+                ? ConversionPlan.toActionPrototypes(fieldSubEntityAnnotation.actions(), null, clazz)
+                : Collections.<ActionPrototype>emptyList();
+    }
+
+    private static Kind classify(Field field, Siren4JProperty propAnno) {
+        Class<?> type = field.getType();
+        if (propAnno != null || type.isEnum() || ReflectionUtils.isPropertyType(type)) {
+            return Kind.PROPERTY;
+        }
+        if (Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)) {
+            Boolean byType = ReflectionUtils.isSirenPropertyByGenericType(field);
+            if (byType == null) {
+                return Kind.DYNAMIC;
+            }
+            return byType ? Kind.PROPERTY : Kind.SUB_ENTITY;
+        }
+        return Kind.SUB_ENTITY;
+    }
+
+    /**
+     * The TYPE annotation is checked first and then the field annotation, the field annotation takes precedence.
+     */
+    private static Include resolveInclude(Class<?> clazz, Field field) {
+        Include inc = Include.ALWAYS;
+        Siren4JInclude typeInclude = clazz.getAnnotation(Siren4JInclude.class);
+        if (typeInclude != null) {
+            inc = typeInclude.value();
+        }
+        Siren4JInclude fieldInclude = field.getAnnotation(Siren4JInclude.class);
+        if (fieldInclude != null) {
+            inc = fieldInclude.value();
+        }
+        return inc;
+    }
+
+    public ReflectedInfo getInfo() {
+        return info;
+    }
+
+    /**
+     * @return the backing field, <code>null</code> if this is a {@link Kind#METHOD_PROPERTY}.
+     */
+    public Field getField() {
+        return field;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return the name used when the value is added as a property, never <code>null</code>.
+     */
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    /**
+     * @return the effective include policy for the field, never <code>null</code>.
+     */
+    public Include getInclude() {
+        return include;
+    }
+
+    /**
+     * @return the sub entity annotation from either the field itself or the getter, if an annotation exists on both
+     * then the field wins. May be <code>null</code>.
+     */
+    public Siren4JSubEntity getSubEntityAnnotation() {
+        return subEntityAnnotation;
+    }
+
+    /**
+     * @return the sub entity annotation found on the field only, may be <code>null</code>.
+     */
+    public Siren4JSubEntity getFieldSubEntityAnnotation() {
+        return fieldSubEntityAnnotation;
+    }
+
+    /**
+     * @return <code>true</code> if the declared field type is a Collection and not a CollectionResource. A
+     * CollectionResource value held by a collection field still needs to be checked at runtime.
+     */
+    public boolean isCollection() {
+        return collection;
+    }
+
+    /**
+     * @return the rel of a sub entity held by the field, which defaults to the field name. Empty for a
+     * {@link Kind#METHOD_PROPERTY}, never <code>null</code>. The array must not be modified.
+     */
+    String[] getRel() {
+        return rel;
+    }
+
+    /**
+     * @return the parsed uri of the sub entity annotation, <code>null</code> if the annotation has no uri.
+     */
+    TokenTemplate getUriTemplate() {
+        return uriTemplate;
+    }
+
+    /**
+     * @return the coercer for inbound property values, picked from the setter parameter type or else the field type.
+     * Never <code>null</code>.
+     */
+    ValueCoercer getCoercer() {
+        return coercer;
+    }
+
+    /**
+     * @return prototypes for the links of the field's sub entity annotation, never <code>null</code>.
+     */
+    List<LinkPrototype> getLinkPrototypes() {
+        return linkPrototypes;
+    }
+
+    /**
+     * @return prototypes for the actions of the field's sub entity annotation, never <code>null</code>.
+     */
+    List<ActionPrototype> getActionPrototypes() {
+        return actionPrototypes;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append(info.getEffectiveName())
+                .append(kind)
+                .toString();
+    }
+}
@@ -0,0 +1,42 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import java.util.Map;
+
+/**
+ * Implemented by the classes the siren4j annotation processor generates for each <code>Siren4JEntity</code> type. A
+ * generated class is found by naming convention, see {@link GeneratedAccessorsLocator}. It holds accessors for the
+ * getters and setters of the type, which the {@link ReflectingConverter} calls instead of going through method
+ * handles. Everything else, e.g. reading fields and annotations, is still done by the converter's plans.
+ */
+public interface GeneratedAccessors {
+
+    /**
+     * @return the resource class these accessors were generated for, never <code>null</code>.
+     */
+    Class<?> getResourceClass();
+
+    /**
+     * @return accessors for the getters declared by the resource class, keyed by getter method name. Never
+     * <code>null</code>.
+     */
+    Map<String, PropertyAccessor> getAccessors();
+
+}
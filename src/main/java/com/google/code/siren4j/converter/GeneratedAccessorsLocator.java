@@ -0,0 +1,115 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import com.google.code.siren4j.error.Siren4JRuntimeException;
+import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Locates the accessors generated by the siren4j annotation processor. The generated class lives in the package of
+ * the resource and is named after the resource's nested simple names joined by an underscore, followed by
+ * {@link #SUFFIX}, e.g. <code>com.example.Course_Siren4JAccessors</code>.
+ */
+public final class GeneratedAccessorsLocator {
+
+    public static final String SUFFIX = "_Siren4JAccessors";
+
+    /**
+     * Lookups are cached, including misses, as most classes won't have generated accessors.
+     */
+    private static final Cache<Class<?>, Optional<GeneratedAccessors>> accessorsCache =
+            CacheBuilder.newBuilder().maximumSize(2000).build();
+
+    private GeneratedAccessorsLocator() {
+
+    }
+
+    /**
+     * Find the generated accessors for the class.
+     *
+     * @param clazz cannot be <code>null</code>.
+     * @return the accessors or <code>null</code> if none were generated.
+     */
+    public static GeneratedAccessors forClass(final Class<?> clazz) {
+        if (clazz == null) {
+            throw new IllegalArgumentException("clazz cannot be null.");
+        }
+        try {
+            return accessorsCache.get(clazz, new Callable<Optional<GeneratedAccessors>>() {
+
+                public Optional<GeneratedAccessors> call() throws Exception {
+                    return Optional.fromNullable(load(clazz));
+                }
+            }).orNull();
+        } catch (ExecutionException e) {
+            throw new Siren4JRuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Find the generated accessor for a getter.
+     *
+     * @param clazz the class declaring the getter, cannot be <code>null</code>.
+     * @param getterName cannot be <code>null</code>.
+     * @return the accessor or <code>null</code> if none was generated.
+     */
+    public static PropertyAccessor getAccessor(Class<?> clazz, String getterName) {
+        GeneratedAccessors accessors = forClass(clazz);
+        return accessors == null ? null : accessors.getAccessors().get(getterName);
+    }
+
+    /**
+     * @param clazz cannot be <code>null</code>.
+     * @return the name of the accessors class generated for the class.
+     */
+    public static String getAccessorsName(Class<?> clazz) {
+        StringBuilder name = new StringBuilder(clazz.getSimpleName());
+        for (Class<?> outer = clazz.getEnclosingClass(); outer != null; outer = outer.getEnclosingClass()) {
+            name.insert(0, outer.getSimpleName() + "_");
+        }
+        Package pkg = clazz.getPackage();
+        if (pkg != null && pkg.getName().length() > 0) {
+            name.insert(0, pkg.getName() + ".");
+        }
+        return name.append(SUFFIX).toString();
+    }
+
+    private static GeneratedAccessors load(Class<?> clazz) throws Exception {
+        if (clazz.isPrimitive() || clazz.isArray() || clazz.getClassLoader() == null) {
+            return null;
+        }
+        Class<?> generated;
+        try {
+            generated = Class.forName(getAccessorsName(clazz), true, clazz.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+        if (!GeneratedAccessors.class.isAssignableFrom(generated)) {
+            return null;
+        }
+        GeneratedAccessors accessors = (GeneratedAccessors) generated.getDeclaredConstructor().newInstance();
+        return clazz.equals(accessors.getResourceClass()) ? accessors : null;
+    }
+
+}
@@ -0,0 +1,207 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * The flight recorder events, only loaded by {@link ConversionEvents} if the runtime has the flight recorder.
+ */
+final class JfrConversionEvents extends ConversionEvents {
+
+    private static final String CATEGORY = "Siren4J";
+
+    private final EventType conversionType = EventType.getEventType(ConversionEvent.class);
+    private final EventType subEntityType = EventType.getEventType(SubEntityEvent.class);
+
+    boolean isConversionEnabled() {
+        return conversionType.isEnabled() || subEntityType.isEnabled();
+    }
+
+    Object beginConversion(String operation) {
+        if (!conversionType.isEnabled()) {
+            return null;
+        }
+        ConversionEvent event = new ConversionEvent();
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+
+    void endConversion(Object event, Class<?> resourceClass, int entityCount) {
+        if (event == null) {
+            return;
+        }
+        ConversionEvent e = (ConversionEvent) event;
+        e.end();
+        if (e.shouldCommit()) {
+            e.resourceClass = resourceClass;
+            e.entityCount = entityCount;
+            e.commit();
+        }
+    }
+
+    Object beginSubEntity() {
+        if (!subEntityType.isEnabled()) {
+            return null;
+        }
+        SubEntityEvent event = new SubEntityEvent();
+        event.begin();
+        return event;
+    }
+
+    void endSubEntity(Object event, Class<?> resourceClass, Class<?> parentClass, String fieldName, int depth,
+                      int entityCount) {
+        if (event == null) {
+            return;
+        }
+        SubEntityEvent e = (SubEntityEvent) event;
+        e.end();
+        if (e.shouldCommit()) {
+            e.resourceClass = resourceClass;
+            e.parentClass = parentClass;
+            e.fieldName = fieldName;
+            e.depth = depth;
+            e.entityCount = entityCount;
+            e.commit();
+        }
+    }
+
+    Object beginRegistryScan() {
+        RegistryScanEvent event = new RegistryScanEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    void endRegistryScan(Object event, String packages, boolean fromIndex, int resourceCount) {
+        if (event == null) {
+            return;
+        }
+        RegistryScanEvent e = (RegistryScanEvent) event;
+        e.end();
+        if (e.shouldCommit()) {
+            e.packages = packages;
+            e.fromIndex = fromIndex;
+            e.resourceCount = resourceCount;
+            e.commit();
+        }
+    }
+
+    Object beginPlanBuild() {
+        PlanBuildEvent event = new PlanBuildEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    void endPlanBuild(Object event, Class<?> resourceClass, int fieldCount) {
+        if (event == null) {
+            return;
+        }
+        PlanBuildEvent e = (PlanBuildEvent) event;
+        e.end();
+        if (e.shouldCommit()) {
+            e.resourceClass = resourceClass;
+            e.fieldCount = fieldCount;
+            e.commit();
+        }
+    }
+
+    @Name("siren4j.Conversion")
+    @Label("Conversion")
+    @Category(CATEGORY)
+    @Description("A top level resource converted to or from an entity or Siren JSON")
+    static final class ConversionEvent extends Event {
+
+        @Label("Resource Class")
+        Class<?> resourceClass;
+
+        @Label("Operation")
+        String operation;
+
+        @Label("Entity Count")
+        @Description("Entities converted in full, including the top level entity")
+        int entityCount;
+    }
+
+    @Name("siren4j.SubEntity")
+    @Label("Sub Entity Conversion")
+    @Category(CATEGORY)
+    @Description("A sub entity converted including its own sub entities")
+    @Threshold("10 ms")
+    static final class SubEntityEvent extends Event {
+
+        @Label("Resource Class")
+        Class<?> resourceClass;
+
+        @Label("Parent Class")
+        Class<?> parentClass;
+
+        @Label("Field")
+        String fieldName;
+
+        @Label("Depth")
+        @Description("Nesting depth, the sub entities of the top level entity are at depth one")
+        int depth;
+
+        @Label("Entity Count")
+        @Description("Entities converted in full, including this sub entity")
+        int entityCount;
+    }
+
+    @Name("siren4j.RegistryScan")
+    @Label("Resource Registry Scan")
+    @Category(CATEGORY)
+    @Description("A resource registry filled by scanning the classpath or from the resource index")
+    static final class RegistryScanEvent extends Event {
+
+        @Label("Packages")
+        String packages;
+
+        @Label("From Index")
+        boolean fromIndex;
+
+        @Label("Resource Count")
+        int resourceCount;
+    }
+
+    @Name("siren4j.PlanBuild")
+    @Label("Conversion Plan Build")
+    @Category(CATEGORY)
+    @Description("The conversion plan of a resource class built, including the reflection on the class")
+    static final class PlanBuildEvent extends Event {
+
+        @Label("Resource Class")
+        Class<?> resourceClass;
+
+        @Label("Field Count")
+        int fieldCount;
+    }
+}
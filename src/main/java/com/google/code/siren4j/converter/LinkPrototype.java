@@ -0,0 +1,104 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import com.google.code.siren4j.annotations.Siren4JLink;
+import com.google.code.siren4j.component.Link;
+import com.google.code.siren4j.component.builder.LinkBuilder;
+import com.google.code.siren4j.component.impl.LinkImpl;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * A link annotation prepared once per class. The link is built from the raw annotation values once and kept frozen as
+ * a template. The template is never shared, every entity gets its own deep copy of it as returned entities must stay
+ * modifiable, so this saves reading the annotation but not the allocation.
+ */
+final class LinkPrototype {
+
+    private final Siren4JLink annotation;
+    private final CompiledCondition condition;
+    private final String key;
+    private final TokenTemplate hrefTemplate;
+    private final LinkImpl template;
+
+    /**
+     * @param currentClass class of the entity the annotation applies to if known, may be <code>null</code>.
+     * @param parentClass class of the parent of that entity if known, may be <code>null</code>.
+     */
+    LinkPrototype(Siren4JLink annotation, Class<?> currentClass, Class<?> parentClass) {
+        this.annotation = annotation;
+        this.condition = CompiledCondition.compile(annotation.condition(), currentClass, parentClass);
+        this.key = ArrayUtils.toString(annotation.rel());
+        this.hrefTemplate = TokenTemplate.parse(annotation.href());
+        LinkImpl link = null;
+        try {
+            link = (LinkImpl) buildLink();
+            link.freeze();
+        } catch (RuntimeException e) {
+            // Invalid annotation, leave it to fail the same way when actually converting.
+            link = null;
+        }
+        this.template = link;
+    }
+
+    Siren4JLink getAnnotation() {
+        return annotation;
+    }
+
+    /**
+     * @return the compiled condition of the annotation, never <code>null</code>.
+     */
+    CompiledCondition getCondition() {
+        return condition;
+    }
+
+    /**
+     * @return the key the link is merged by, never <code>null</code>.
+     */
+    String getKey() {
+        return key;
+    }
+
+    /**
+     * @return the parsed href, never <code>null</code>.
+     */
+    TokenTemplate getHrefTemplate() {
+        return hrefTemplate;
+    }
+
+    /**
+     * @return a new modifiable link with the raw href, never <code>null</code>.
+     */
+    Link newLink() {
+        return template != null ? template.copy() : buildLink();
+    }
+
+    private Link buildLink() {
+        LinkBuilder builder = LinkBuilder.newInstance().setRelationship(annotation.rel()).setHref(annotation.href());
+        if (StringUtils.isNotBlank(annotation.title())) {
+            builder.setTitle(annotation.title());
+        }
+        if (ArrayUtils.isNotEmpty(annotation.linkClass())) {
+            builder.setComponentClass(annotation.linkClass());
+        }
+        return builder.build();
+    }
+
+}
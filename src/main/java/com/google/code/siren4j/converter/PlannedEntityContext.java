@@ -0,0 +1,51 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import java.lang.reflect.Field;
+
+/**
+ * Entity context created by the {@link ReflectingConverter} that also carries the conversion plans of the current and
+ * parent objects, so token replacement does not have to look them up again.
+ */
+class PlannedEntityContext extends EntityContextImpl {
+
+    private final ConversionPlan plan;
+    private final ConversionPlan parentPlan;
+
+    PlannedEntityContext(Object currentObj, ConversionPlan plan, Field parentField, Object parentObj,
+                         ConversionPlan parentPlan) {
+        super(currentObj, plan.getFieldInfo(), parentField, parentObj,
+                parentPlan != null ? parentPlan.getFieldInfo() : null);
+        this.plan = plan;
+        this.parentPlan = parentPlan;
+    }
+
+    public ConversionPlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * @return the parent plan, may be <code>null</code>.
+     */
+    public ConversionPlan getParentPlan() {
+        return parentPlan;
+    }
+
+}
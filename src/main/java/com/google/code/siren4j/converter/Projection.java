@@ -0,0 +1,157 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A sparse fieldset selecting which properties and sub entities are converted. A projection is built from dot
+ * separated paths, each segment is a property name or a sub entity rel, e.g. <code>name</code>,
+ * <code>author</code> or <code>comments.text</code>. A path ending at a sub entity selects the whole sub entity, a
+ * longer path only the listed members of it. Fields not selected are never read and sub entities not selected are never
+ * converted. The class property, the size of collection resources, links and actions are always included.
+ * Projections are immutable.
+ *
+ * @since 2.2.0
+ */
+public final class Projection {
+
+    /**
+     * Selects everything, the same as converting without projection.
+     */
+    public static final Projection ALL = new Projection(null);
+
+    /**
+     * Selected members and their projections, <code>null</code> if all members are selected.
+     */
+    private final Map<String, Projection> members;
+
+    private Projection(Map<String, Projection> members) {
+        this.members = members;
+    }
+
+    /**
+     * @param paths the dot separated paths, cannot be <code>null</code>.
+     * @return the projection, never <code>null</code>.
+     */
+    public static Projection of(String... paths) {
+        if (paths == null) {
+            throw new IllegalArgumentException("paths cannot be null.");
+        }
+        return of(Arrays.asList(paths));
+    }
+
+    /**
+     * @param paths the dot separated paths, cannot be <code>null</code>.
+     * @return the projection, never <code>null</code>.
+     */
+    public static Projection of(Collection<String> paths) {
+        if (paths == null) {
+            throw new IllegalArgumentException("paths cannot be null.");
+        }
+        Map<String, Object> tree = new HashMap<String, Object>();
+        for (String path : paths) {
+            if (StringUtils.isBlank(path)) {
+                throw new IllegalArgumentException("path cannot be null or empty.");
+            }
+            add(tree, StringUtils.split(path.trim(), '.'), 0);
+        }
+        return build(tree);
+    }
+
+    /**
+     * Adds the path to the tree, a value of <code>null</code> marks a member that is selected as a whole.
+     */
+    @SuppressWarnings("unchecked")
+    private static void add(Map<String, Object> tree, String[] segments, int index) {
+        String name = segments[index];
+        boolean last = index == segments.length - 1;
+        if (tree.containsKey(name) && tree.get(name) == null) {
+            return;
+        }
+        if (last) {
+            tree.put(name, null);
+            return;
+        }
+        Map<String, Object> child = (Map<String, Object>) tree.get(name);
+        if (child == null) {
+            child = new HashMap<String, Object>();
+            tree.put(name, child);
+        }
+        add(child, segments, index + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Projection build(Map<String, Object> tree) {
+        Map<String, Projection> members = new HashMap<String, Projection>();
+        for (Map.Entry<String, Object> entry : tree.entrySet()) {
+            members.put(entry.getKey(),
+                    entry.getValue() == null ? ALL : build((Map<String, Object>) entry.getValue()));
+        }
+        return new Projection(Collections.unmodifiableMap(members));
+    }
+
+    /**
+     * @return <code>true</code> if everything is selected.
+     */
+    public boolean isAll() {
+        return members == null;
+    }
+
+    /**
+     * @param name a property name or sub entity rel.
+     * @return the projection for the member, {@link #ALL} if selected as a whole, <code>null</code> if not selected.
+     */
+    public Projection get(String name) {
+        return members == null ? ALL : members.get(name);
+    }
+
+    /**
+     * Select the field by its property name or any of its sub entity rels.
+     *
+     * @param fieldPlan assumed not <code>null</code>.
+     * @return the projection for the field's value, <code>null</code> if the field is not selected.
+     */
+    Projection select(FieldPlan fieldPlan) {
+        if (members == null) {
+            return ALL;
+        }
+        Projection p = members.get(fieldPlan.getPropertyName());
+        if (p == null) {
+            for (String rel : fieldPlan.getRel()) {
+                p = members.get(rel);
+                if (p != null) {
+                    break;
+                }
+            }
+        }
+        return p;
+    }
+
+    @Override
+    public String toString() {
+        return members == null ? "*" : members.toString();
+    }
+}
@@ -0,0 +1,226 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import com.google.code.siren4j.error.Siren4JException;
+import com.google.code.siren4j.error.Siren4JRuntimeException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Reads and writes the value described by a {@link ReflectedInfo}. Method handles are created once per info, adapted
+ * to a generic <code>(Object)Object</code> or <code>(Object, Object)void</code> shape, so each access is a plain
+ * <code>invokeExact</code> call site the JIT can inline instead of a trip through core reflection. If a handle can not
+ * be created for a member (e.g. restricted access) that member falls back to <code>Field</code> and
+ * <code>Method</code> reflection.
+ * <p/>
+ * If the class declaring the getter has a {@link GeneratedAccessors} its accessor is used for the getter and setter
+ * calls instead of the method handles.
+ */
+public class ReflectedAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final ReflectedInfo info;
+    private final MethodHandle fieldGetter;
+    private final MethodHandle methodGetter;
+    private final MethodHandle setter;
+    private final PropertyAccessor generated;
+    private final boolean generatedSetter;
+
+    ReflectedAccessor(ReflectedInfo info) {
+        this.info = info;
+        Field field = info.getField();
+        Method getter = info.getGetter();
+        Method set = info.getSetter();
+        this.generated = getter != null
+                ? GeneratedAccessorsLocator.getAccessor(getter.getDeclaringClass(), getter.getName()) : null;
+        this.generatedSetter = generated instanceof WritablePropertyAccessor && set != null
+                && set.getParameterTypes()[0].equals(getter.getReturnType());
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        this.fieldGetter = field != null ? unreflectGetter(lookup, field) : null;
+        this.methodGetter = getter != null ? unreflect(lookup, getter, GETTER_TYPE) : null;
+        if (set != null) {
+            this.setter = unreflect(lookup, set, SETTER_TYPE);
+        } else {
+            this.setter = field != null ? unreflectSetter(lookup, field) : null;
+        }
+    }
+
+    /**
+     * Retrieve the value of the backing field.
+     *
+     * @param obj the instance to read from, cannot be <code>null</code>.
+     * @return the value, may be <code>null</code>.
+     */
+    public Object getFieldValue(Object obj) {
+        if (info.getField() == null) {
+            throw new IllegalStateException("No field for: " + info.getEffectiveName());
+        }
+        if (fieldGetter == null) {
+            try {
+                return info.getField().get(obj);
+            } catch (IllegalAccessException e) {
+                throw new Siren4JRuntimeException(e);
+            }
+        }
+        try {
+            return fieldGetter.invokeExact(obj);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new Siren4JRuntimeException(t);
+        }
+    }
+
+    /**
+     * Retrieve the value by calling the getter method.
+     *
+     * @param obj the instance to read from, cannot be <code>null</code>.
+     * @return the value, may be <code>null</code>.
+     */
+    public Object getGetterValue(Object obj) {
+        if (info.getGetter() == null) {
+            throw new IllegalStateException("No getter for: " + info.getEffectiveName());
+        }
+        if (generated != null) {
+            try {
+                return generated.getValue(obj);
+            } catch (RuntimeException e) {
+                throw new Siren4JRuntimeException(e);
+            }
+        }
+        if (methodGetter == null) {
+            try {
+                return info.getGetter().invoke(obj);
+            } catch (IllegalAccessException e) {
+                throw new Siren4JRuntimeException(e);
+            } catch (InvocationTargetException e) {
+                throw new Siren4JRuntimeException(e);
+            }
+        }
+        try {
+            return methodGetter.invokeExact(obj);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new Siren4JRuntimeException(t);
+        }
+    }
+
+    /**
+     * Retrieve the value from the backing field if there is one, else by calling the getter.
+     *
+     * @param obj the instance to read from, cannot be <code>null</code>.
+     * @return the value, may be <code>null</code>.
+     */
+    public Object getValue(Object obj) {
+        return info.getField() != null ? getFieldValue(obj) : getGetterValue(obj);
+    }
+
+    /**
+     * Sets the value, first by calling the setter method if it exists and then falling back to setting the field
+     * directly.
+     *
+     * @param obj the instance to write to, cannot be <code>null</code>.
+     * @param value the value to set, may be <code>null</code>.
+     * @throws Siren4JException if the value could not be set.
+     */
+    public void setValue(Object obj, Object value) throws Siren4JException {
+        if (generatedSetter) {
+            try {
+                ((WritablePropertyAccessor) generated).setValue(obj, value);
+            } catch (RuntimeException e) {
+                throw new Siren4JException(e);
+            }
+            return;
+        }
+        if (setter == null) {
+            try {
+                if (info.getSetter() != null) {
+                    info.getSetter().invoke(obj, value);
+                } else if (info.getField() != null) {
+                    info.getField().set(obj, value);
+                } else {
+                    throw new IllegalStateException("Not writable: " + info.getEffectiveName());
+                }
+            } catch (Exception e) {
+                throw new Siren4JException(e);
+            }
+            return;
+        }
+        try {
+            setter.invokeExact(obj, value);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new Siren4JException(t);
+        }
+    }
+
+    /**
+     * @return <code>true</code> if every member of the info is accessed through a method handle or generated accessor.
+     */
+    public boolean isOptimized() {
+        return (info.getField() == null || fieldGetter != null)
+                && (info.getGetter() == null || methodGetter != null || generated != null)
+                && ((info.getSetter() == null && info.getField() == null) || setter != null || generatedSetter);
+    }
+
+    /**
+     * @return <code>true</code> if a {@link GeneratedAccessors} accessor is used for the getter.
+     */
+    public boolean isGenerated() {
+        return generated != null;
+    }
+
+    private static MethodHandle unreflectGetter(MethodHandles.Lookup lookup, Field field) {
+        try {
+            field.setAccessible(true);
+            return lookup.unreflectGetter(field).asType(GETTER_TYPE);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle unreflectSetter(MethodHandles.Lookup lookup, Field field) {
+        try {
+            field.setAccessible(true);
+            return lookup.unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle unreflect(MethodHandles.Lookup lookup, Method method, MethodType type) {
+        try {
+            method.setAccessible(true);
+            return lookup.unreflect(method).asType(type);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+}
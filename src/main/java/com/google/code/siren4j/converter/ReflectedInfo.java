@@ -30,12 +30,14 @@ public class ReflectedInfo {
     private final Method getter;
     private final Method setter;
     private final String effectiveName;
+    private final ReflectedAccessor accessor;
 
     public ReflectedInfo(Field field, Method getter, Method setter, String effectiveName) {
         this.field = field;
         this.getter = getter;
         this.setter = setter;
         this.effectiveName = effectiveName;
+        this.accessor = new ReflectedAccessor(this);
     }
 
     public Field getField() {
@@ -54,6 +56,13 @@ public class ReflectedInfo {
         return effectiveName;
     }
 
+    /**
+     * @return the accessor used to read and write the value described by this info, never <code>null</code>.
+     */
+    public ReflectedAccessor getAccessor() {
+        return accessor;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
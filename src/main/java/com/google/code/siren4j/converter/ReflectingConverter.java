@@ -26,26 +26,29 @@ package com.google.code.siren4j.converter;
 
 import com.google.code.siren4j.Siren4J;
 import com.google.code.siren4j.annotations.*;
-import com.google.code.siren4j.annotations.Siren4JCondition.Type;
-import com.google.code.siren4j.annotations.Siren4JInclude.Include;
 import com.google.code.siren4j.component.Action;
 import com.google.code.siren4j.component.Entity;
 import com.google.code.siren4j.component.Link;
-import com.google.code.siren4j.component.builder.ActionBuilder;
 import com.google.code.siren4j.component.builder.EntityBuilder;
-import com.google.code.siren4j.component.builder.FieldBuilder;
 import com.google.code.siren4j.component.builder.LinkBuilder;
-import com.google.code.siren4j.condition.Condition;
-import com.google.code.siren4j.condition.ConditionFactory;
+import com.google.code.siren4j.component.impl.ActionImpl;
+import com.google.code.siren4j.component.impl.FieldImpl;
+import com.google.code.siren4j.component.impl.LinkImpl;
 import com.google.code.siren4j.error.Siren4JConversionException;
 import com.google.code.siren4j.error.Siren4JException;
 import com.google.code.siren4j.error.Siren4JRuntimeException;
 import com.google.code.siren4j.meta.FieldOption;
-import com.google.code.siren4j.meta.FieldType;
 import com.google.code.siren4j.resource.CollectionResource;
 import com.google.code.siren4j.resource.Resource;
-import com.google.code.siren4j.util.ComponentUtils;
 import com.google.code.siren4j.util.ReflectionUtils;
+import com.google.common.collect.Iterables;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.ArrayUtils;
@@ -53,11 +56,22 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 public class ReflectingConverter implements ResourceConverter {
 
@@ -65,17 +79,101 @@ public class ReflectingConverter implements ResourceConverter {
 
     private static final Pattern schemePattern = Pattern.compile("\\w[\\w\\d\\+\\-\\.]*:");
 
-    private ResourceRegistry registry;
+    private static final ConversionEvents events = ConversionEvents.INSTANCE;
+
+    /*
+     * The converter holds no per conversion state and all cached metadata is immutable, so one instance can be shared
+     * by any number of threads. The settings are volatile so changes are visible to threads already using it.
+     */
+    private volatile ResourceRegistry registry;
 
     /**
      * @since 1.1.0
      */
-    private boolean errorOnMissingProperty;
+    private volatile boolean errorOnMissingProperty;
 
     /**
      * @since 1.1.0
      */
-    private boolean suppressBaseUriOnFullyQualified;
+    private volatile boolean suppressBaseUriOnFullyQualified;
+
+    /**
+     * Default minimum collection size before sub entities are converted in parallel.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1000;
+
+    /**
+     * Marks threads currently converting a chunk of a parallel collection, nested collections are then converted
+     * sequentially so tasks never block waiting on tasks queued behind them in the same executor.
+     */
+    private static final ThreadLocal<Boolean> inParallelTask = new ThreadLocal<Boolean>();
+
+    /**
+     * @since 2.2.0
+     */
+    private volatile ExecutorService parallelExecutor;
+
+    /**
+     * @since 2.2.0
+     */
+    private volatile int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    /**
+     * @since 2.2.0
+     */
+    private volatile EntityCache entityCache;
+
+    /**
+     * @since 2.2.0
+     */
+    private volatile Deduplication deduplication = Deduplication.NONE;
+
+    /**
+     * @since 2.2.0
+     */
+    private volatile ConversionBudget budget = ConversionBudget.UNLIMITED;
+
+    /**
+     * @since 2.2.0
+     */
+    private volatile ConversionListener listener;
+
+    /**
+     * <code>true</code> if a subclass overrides {@link #toEntity(Object, Field, Object, List)}, every entity is then
+     * converted through it.
+     */
+    private final boolean legacyToEntity;
+
+    /**
+     * <code>true</code> if a subclass overrides {@link #handleAddProperty(EntityBuilder, String, Object)}.
+     */
+    private final boolean customProperties;
+
+    /**
+     * How objects that appear more than once in the graph of a resource are converted. Independent of the setting an
+     * object referencing an object that is still being converted is a cycle, it results in a
+     * <code>Siren4JConversionException</code> unless the reference is converted to an embedded link.
+     *
+     * @since 2.2.0
+     */
+    public enum Deduplication {
+        /**
+         * Every occurrence is converted in full, the default.
+         */
+        NONE,
+        /**
+         * Repeats under the same field reuse the entity of the first occurrence, so the entity tree contains the same
+         * entity instance more than once. Only use this if sub entities don't depend on their parent through parent
+         * tokens or conditions as these are resolved for the first occurrence. Streaming writes every occurrence in
+         * full.
+         */
+        REUSE_ENTITY,
+        /**
+         * Repeats, including references back to an object being converted, become embedded links to the uri of the
+         * object. Objects without uri are converted in full.
+         */
+        EMBEDDED_LINK
+    }
 
     /**
      * Protected ctor to prevent direct instantiation.
@@ -88,6 +186,23 @@ public class ReflectingConverter implements ResourceConverter {
 
     protected ReflectingConverter(ResourceRegistry registry) throws Siren4JException {
         this.registry = registry;
+        this.legacyToEntity = isOverridden("toEntity", Object.class, Field.class, Object.class, List.class);
+        this.customProperties = isOverridden("handleAddProperty", EntityBuilder.class, String.class, Object.class);
+    }
+
+    /**
+     * @return <code>true</code> if a subclass declares the method.
+     */
+    private boolean isOverridden(String name, Class<?>... parameterTypes) {
+        for (Class<?> c = getClass(); c != ReflectingConverter.class; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod(name, parameterTypes);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // try the superclass
+            }
+        }
+        return false;
     }
 
     /**
@@ -127,6 +242,118 @@ public class ReflectingConverter implements ResourceConverter {
         this.errorOnMissingProperty = errorOnMissingProperty;
     }
 
+    /**
+     * The executor used to convert large sub entity collections in parallel, <code>null</code> if parallel conversion
+     * is disabled, which is the default.
+     */
+    public ExecutorService getParallelExecutor() {
+        return parallelExecutor;
+    }
+
+    /**
+     * Enables parallel conversion of sub entity collections with at least {@link #getParallelThreshold()} items when
+     * calling {@link #toEntity(Object)}. The items are split into chunks that are converted concurrently on the
+     * executor, e.g. a <code>ForkJoinPool</code> or a virtual thread per task executor, the order of the resulting
+     * sub entities is the order of the collection. Resources converted in parallel must not share mutable state.
+     * Collections nested inside a parallel conversion are converted sequentially. So are all sub entities when
+     * {@link #setDeduplication(Deduplication) deduplication} or a {@link ConversionBudget#getMaxEntities() maximum
+     * number of entities} is used, as the result would otherwise depend on thread timing.
+     *
+     * @param parallelExecutor the executor, <code>null</code> disables parallel conversion.
+     */
+    public void setParallelExecutor(ExecutorService parallelExecutor) {
+        this.parallelExecutor = parallelExecutor;
+    }
+
+    /**
+     * The minimum collection size before sub entities are converted in parallel. Default is
+     * {@link #DEFAULT_PARALLEL_THRESHOLD}.
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * @param parallelThreshold the minimum collection size, must be greater than zero.
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("parallelThreshold must be greater than zero.");
+        }
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * The cache for entities converted from {@link com.google.code.siren4j.resource.CacheableResource}s,
+     * <code>null</code> if caching is disabled, which is the default.
+     */
+    public EntityCache getEntityCache() {
+        return entityCache;
+    }
+
+    /**
+     * Enables caching of top level resources implementing {@link com.google.code.siren4j.resource.CacheableResource}.
+     * {@link #toEntity(Object)} returns the same frozen entity for resources with equal cache keys and
+     * {@link #writeEntity(Object, ObjectMapper, OutputStream)} writes the cached JSON.
+     *
+     * @param entityCache the cache, <code>null</code> disables caching.
+     */
+    public void setEntityCache(EntityCache entityCache) {
+        this.entityCache = entityCache;
+    }
+
+    public Deduplication getDeduplication() {
+        return deduplication;
+    }
+
+    /**
+     * Sets how objects that appear more than once in the graph of a resource are converted. Default is
+     * {@link Deduplication#NONE}.
+     *
+     * @param deduplication cannot be <code>null</code>.
+     */
+    public void setDeduplication(Deduplication deduplication) {
+        if (deduplication == null) {
+            throw new IllegalArgumentException("deduplication cannot be null.");
+        }
+        this.deduplication = deduplication;
+    }
+
+    public ConversionBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Limits the nesting depth, the number of sub entities per collection and the total number of entities converted
+     * in full, sub entities beyond the budget become embedded links or, without uri, are handled as set by
+     * {@link ConversionBudget#getOverflow()}. Default is {@link ConversionBudget#UNLIMITED}.
+     *
+     * @param budget cannot be <code>null</code>.
+     */
+    public void setBudget(ConversionBudget budget) {
+        if (budget == null) {
+            throw new IllegalArgumentException("budget cannot be null.");
+        }
+        this.budget = budget;
+    }
+
+    /**
+     * The listener receiving conversion timings and counts, <code>null</code> if none is set, which is the default.
+     */
+    public ConversionListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Sets the listener receiving timings and counts of the conversions, e.g. a {@link ConversionStatistics}. Without
+     * a listener nothing is measured.
+     *
+     * @param listener the listener, <code>null</code> removes the listener.
+     */
+    public void setListener(ConversionListener listener) {
+        this.listener = listener;
+    }
+
     public boolean isSuppressBaseUriOnFullyQualified() {
         return suppressBaseUriOnFullyQualified;
     }
@@ -145,12 +372,247 @@ public class ReflectingConverter implements ResourceConverter {
              */
     public Entity toEntity(Object obj) {
         try {
+            EntityCache.CachedEntity cached = getCached(obj);
+            if (cached != null) {
+                return cached.getEntity();
+            }
             return toEntity(obj, null, null, null);
         } catch (Siren4JException e) {
             throw new Siren4JConversionException(e);
         }
     }
 
+    /**
+     * Converts only the members of the resource selected by the projection, fields not selected are never read and
+     * sub entities not selected are never converted. The entity cache is not used unless the projection is
+     * {@link Projection#ALL}.
+     *
+     * @param obj the resource, may be <code>null</code>.
+     * @param projection cannot be <code>null</code>.
+     * @return the entity, <code>null</code> if the resource is <code>null</code>.
+     * @since 2.2.0
+     */
+    public Entity toEntity(Object obj, Projection projection) {
+        if (projection == null) {
+            throw new IllegalArgumentException("projection cannot be null.");
+        }
+        if (projection.isAll()) {
+            return toEntity(obj);
+        }
+        try {
+            return executeRootPlan(obj, null, projection);
+        } catch (Siren4JException e) {
+            throw new Siren4JConversionException(e);
+        }
+    }
+
+    /**
+     * Converts many resources in one call, e.g. all rows of a query. The result is the same as calling
+     * {@link #toEntity(Object)} for each resource but the plan lookup is shared by consecutive resources of the same
+     * class and, if a parallel executor is set and the batch has at least {@link #getParallelThreshold()} resources,
+     * the resources are converted concurrently. The entity cache is used for cacheable resources.
+     *
+     * @param resources cannot be <code>null</code>, may contain <code>null</code> elements.
+     * @return the entities in iteration order, a <code>null</code> resource results in a <code>null</code> entity.
+     * Never <code>null</code>.
+     * @since 2.2.0
+     */
+    public List<Entity> toEntities(Iterable<?> resources) {
+        if (resources == null) {
+            throw new IllegalArgumentException("resources cannot be null.");
+        }
+        return toEntities(resources instanceof Collection
+                ? ((Collection<?>) resources).toArray() : Iterables.toArray(resources, Object.class));
+    }
+
+    /**
+     * Converts all resources of the stream, see {@link #toEntities(Iterable)}. The stream is consumed before
+     * converting.
+     *
+     * @param resources cannot be <code>null</code>.
+     * @return the entities in encounter order, never <code>null</code>.
+     * @since 2.2.0
+     */
+    public List<Entity> toEntities(Stream<?> resources) {
+        if (resources == null) {
+            throw new IllegalArgumentException("resources cannot be null.");
+        }
+        return toEntities(resources.toArray());
+    }
+
+    private List<Entity> toEntities(Object[] items) {
+        try {
+            Entity[] results;
+            if (!legacyToEntity && isParallel(items.length)) {
+                results = executePlanParallel(items, null, null, null);
+            } else {
+                results = new Entity[items.length];
+                executePlans(items, results, 0, items.length, null, null, null);
+            }
+            return new ArrayList<Entity>(Arrays.asList(results));
+        } catch (Siren4JException e) {
+            throw new Siren4JConversionException(e);
+        }
+    }
+
+    /**
+     * Writes the resource as Siren JSON straight to the generator without building an intermediate entity tree. The
+     * output is identical to serializing the result of {@link #toEntity(Object)} with the generator's
+     * <code>ObjectMapper</code>. If a subclass overrides {@link #toEntity(Object, Field, Object, List)} or
+     * {@link #handleAddProperty(EntityBuilder, String, Object)} the entity is built and then serialized instead, as
+     * streaming doesn't call them.
+     *
+     * @param obj the resource, may be <code>null</code> in which case a JSON null is written.
+     * @param generator cannot be <code>null</code>, its codec must be an <code>ObjectMapper</code>.
+     * @throws IOException
+     * @since 2.2.0
+     */
+    public void writeEntity(Object obj, JsonGenerator generator) throws IOException {
+        if (generator == null) {
+            throw new IllegalArgumentException("generator cannot be null.");
+        }
+        EntityCache.CachedEntity cached = getCachedForWrite(obj);
+        if (cached != null) {
+            generator.writeObject(cached.getEntity());
+            return;
+        }
+        if (!isStreamable()) {
+            generator.writeObject(toEntity(obj));
+            return;
+        }
+        try {
+            generator.writeObject(new StreamingEntity(this, obj, Projection.ALL));
+        } catch (JsonMappingException e) {
+            throw unwrapStreamingException(e);
+        }
+    }
+
+    /**
+     * Writes the resource as Siren JSON straight to the output stream, see {@link #writeEntity(Object, JsonGenerator)}.
+     *
+     * @param obj the resource, may be <code>null</code> in which case a JSON null is written.
+     * @param mapper the mapper whose configuration is used, cannot be <code>null</code>.
+     * @param out cannot be <code>null</code>.
+     * @throws IOException
+     * @since 2.2.0
+     */
+    public void writeEntity(Object obj, ObjectMapper mapper, OutputStream out) throws IOException {
+        writeEntity(obj, Projection.ALL, mapper, out);
+    }
+
+    /**
+     * Writes the selected members of the resource as Siren JSON straight to the output stream, see
+     * {@link #writeEntity(Object, JsonGenerator)} and {@link #toEntity(Object, Projection)}.
+     *
+     * @param obj the resource, may be <code>null</code> in which case a JSON null is written.
+     * @param projection cannot be <code>null</code>.
+     * @param mapper the mapper whose configuration is used, cannot be <code>null</code>.
+     * @param out cannot be <code>null</code>.
+     * @throws IOException
+     * @since 2.2.0
+     */
+    public void writeEntity(Object obj, Projection projection, ObjectMapper mapper, OutputStream out)
+            throws IOException {
+        if (projection == null) {
+            throw new IllegalArgumentException("projection cannot be null.");
+        }
+        if (mapper == null) {
+            throw new IllegalArgumentException("mapper cannot be null.");
+        }
+        EntityCache.CachedEntity cached = projection.isAll() ? getCachedForWrite(obj) : null;
+        if (cached != null) {
+            out.write(cached.getBytes(mapper));
+            return;
+        }
+        if (!isStreamable()) {
+            mapper.writeValue(out, toEntity(obj, projection));
+            return;
+        }
+        try {
+            mapper.writeValue(out, new StreamingEntity(this, obj, projection));
+        } catch (JsonMappingException e) {
+            throw unwrapStreamingException(e);
+        }
+    }
+
+    /**
+     * @return <code>false</code> if a subclass hooks into building the entity, writing then builds the entity and
+     * serializes it so the output stays the same as for {@link #toEntity(Object)}.
+     */
+    private boolean isStreamable() {
+        return !legacyToEntity && !customProperties;
+    }
+
+    /**
+     * Look up the cached entity of a top level resource, converting it on a miss.
+     *
+     * @param obj may be <code>null</code>.
+     * @return the cached entity or <code>null</code> if caching is disabled or the object is not cacheable.
+     */
+    private EntityCache.CachedEntity getCached(final Object obj) throws Siren4JException {
+        EntityCache cache = entityCache;
+        EntityCache.Key key = cache != null ? EntityCache.keyFor(obj) : null;
+        if (key == null) {
+            return null;
+        }
+        return cache.get(key, new Callable<Entity>() {
+
+            public Entity call() throws Exception {
+                return toEntity(obj, null, null, null);
+            }
+        });
+    }
+
+    private EntityCache.CachedEntity getCachedForWrite(Object obj) {
+        try {
+            return getCached(obj);
+        } catch (Siren4JException e) {
+            throw new Siren4JConversionException(e);
+        }
+    }
+
+    /**
+     * Jackson wraps anything thrown by a serializer, unwrap our own exceptions so callers see the same exceptions
+     * as from {@link #toEntity(Object)}.
+     */
+    private IOException unwrapStreamingException(JsonMappingException e) {
+        if (e.getCause() instanceof Siren4JRuntimeException) {
+            throw (Siren4JRuntimeException) e.getCause();
+        }
+        if (e.getCause() instanceof IllegalArgumentException) {
+            throw (IllegalArgumentException) e.getCause();
+        }
+        return e;
+    }
+
+    /**
+     * Called by {@link StreamingEntity} to write the entity.
+     */
+    void streamEntity(Object obj, Projection projection, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        if (obj == null) {
+            provider.defaultSerializeNull(gen);
+            return;
+        }
+        try {
+            ConversionListener l = listener;
+            Object event = events.beginConversion(ConversionEvents.WRITE_ENTITY);
+            ConversionPath path = newPath(null, projection, l != null || events.isConversionEnabled());
+            if (l == null && event == null) {
+                streamPlan(obj, null, null, path, 0, false, gen, provider);
+                return;
+            }
+            long start = System.nanoTime();
+            streamPlan(obj, null, null, path, 0, false, gen, provider);
+            if (l != null) {
+                l.entityConverted(obj.getClass(), System.nanoTime() - start, path.getEntityCount());
+            }
+            events.endConversion(event, obj.getClass(), path.getEntityCount());
+        } catch (Siren4JException e) {
+            throw new Siren4JConversionException(e);
+        }
+    }
+
     public Object toObject(Entity entity) {
         return toObject(entity, null);
     }
@@ -159,49 +621,249 @@ public class ReflectingConverter implements ResourceConverter {
      * @see com.google.code.siren4j.converter.ResourceConverter#toObject(com.google.code.siren4j.component.Entity)
      */
     public Object toObject(Entity entity, Class targetClass) {
-        if (registry == null) {
-            LOG.warn("No ResourceRegistry set, using default which "
-                    + "will scan the entire classpath. It would be better to set your own registry that filters by packages.");
-            try {
-                registry = ResourceRegistryImpl.newInstance((String[]) null);
-            } catch (Siren4JException e) {
-                throw new Siren4JRuntimeException(e);
-            }
+        ConversionListener l = listener;
+        Object event = events.beginConversion(ConversionEvents.TO_OBJECT);
+        if ((l == null && event == null) || entity == null) {
+            return convertObject(entity, targetClass);
+        }
+        long start = System.nanoTime();
+        Object obj = convertObject(entity, targetClass);
+        if (l != null) {
+            l.objectConverted(obj.getClass(), System.nanoTime() - start);
         }
+        events.endConversion(event, obj.getClass(), 0);
+        return obj;
+    }
+
+    private Object convertObject(Entity entity, Class<?> targetClass) {
         Resource resource = null;
         if (entity != null) {
             String sirenClass = targetClass != null
                     ? targetClass.getName()
                     : (String) entity.getProperties().get(Siren4J.CLASS_RESERVED_PROPERTY);
-            String[] eClass = entity.getComponentClass();
-            if (StringUtils.isBlank(sirenClass) && (eClass == null || eClass.length == 0)) {
-                throw new Siren4JConversionException(
-                        "No entity class defined, won't be able to match to Java class. Can't go on.");
-            }
+            Class<?> clazz = resolveResourceClass(sirenClass, entity.getComponentClass());
+            ConversionPlan plan = ConversionPlan.forClass(clazz);
+            Object obj = newResource(clazz);
 
-            if (StringUtils.isBlank(sirenClass)) {
-                sirenClass = eClass[0];
+            // Set properties
+            handleSetProperties(obj, clazz, entity, plan);
+            // Set sub entities
+            handleSetSubEntities(obj, clazz, entity, plan);
+
+            resource = (Resource) obj;
+        }
+        return resource;
+    }
+
+    /**
+     * Reads a Siren entity from the parser straight into a new resource without building an intermediate entity
+     * tree. The result is the same as {@link #toObject(Entity)} on the parsed entity, links and actions are skipped.
+     *
+     * @param parser cannot be <code>null</code>, must have a codec, e.g. be created by an <code>ObjectMapper</code>. It
+     * may be positioned before or at the start of the entity object.
+     * @return the resource or <code>null</code> if the parser holds a JSON null.
+     * @throws IOException
+     * @since 2.2.0
+     */
+    public Object readObject(JsonParser parser) throws IOException {
+        return readObject(parser, null);
+    }
+
+    /**
+     * Reads a Siren entity from the parser straight into a new resource of the target class, see
+     * {@link #readObject(JsonParser)} and {@link #toObject(Entity, Class)}.
+     *
+     * @param parser cannot be <code>null</code>, must have a codec.
+     * @param targetClass the class of the top level resource, may be <code>null</code> in which case it is resolved
+     * from the entity.
+     * @return the resource or <code>null</code> if the parser holds a JSON null.
+     * @throws IOException
+     * @since 2.2.0
+     */
+    public Object readObject(JsonParser parser, Class<?> targetClass) throws IOException {
+        if (parser == null) {
+            throw new IllegalArgumentException("parser cannot be null.");
+        }
+        ConversionListener l = listener;
+        Object event = events.beginConversion(ConversionEvents.READ_OBJECT);
+        if (l == null && event == null) {
+            return new StreamingEntityReader(this, parser).read(targetClass);
+        }
+        long start = System.nanoTime();
+        Object obj = new StreamingEntityReader(this, parser).read(targetClass);
+        if (obj != null) {
+            if (l != null) {
+                l.objectConverted(obj.getClass(), System.nanoTime() - start);
             }
-            if (!registry.containsEntityEntry(sirenClass)) {
-                throw new Siren4JConversionException("No matching resource found in the registry. Can't go on.");
+            events.endConversion(event, obj.getClass(), 0);
+        }
+        return obj;
+    }
+
+    /**
+     * Reads a Siren entity from the input stream straight into a new resource, see {@link #readObject(JsonParser)}.
+     *
+     * @param in cannot be <code>null</code>.
+     * @param mapper the mapper whose configuration is used, cannot be <code>null</code>.
+     * @return the resource or <code>null</code> if the input holds a JSON null.
+     * @throws IOException
+     * @since 2.2.0
+     */
+    public Object readObject(InputStream in, ObjectMapper mapper) throws IOException {
+        if (mapper == null) {
+            throw new IllegalArgumentException("mapper cannot be null.");
+        }
+        JsonParser parser = mapper.getFactory().createParser(in);
+        try {
+            return readObject(parser, null);
+        } finally {
+            parser.close();
+        }
+    }
+
+    /**
+     * Builds the conversion plans of all resource classes in the registry up front, so the first conversion of each
+     * class, e.g. right after a deploy, doesn't pay for reflecting on the class and parsing its annotations. The
+     * plans are built on the calling thread.
+     *
+     * @return the report with the build time of each class, never <code>null</code>.
+     * @throws Siren4JRuntimeException for the first class with invalid annotations.
+     * @since 2.2.0
+     */
+    public WarmUpReport warmUp() {
+        long start = System.nanoTime();
+        Map<Class<?>, Long> timings = new LinkedHashMap<Class<?>, Long>();
+        for (Class<?> clazz : getRegisteredClasses()) {
+            timings.put(clazz, buildPlanTimed(clazz));
+        }
+        return new WarmUpReport(timings, System.nanoTime() - start);
+    }
+
+    /**
+     * Builds the conversion plans of all resource classes in the registry in parallel on the executor, see
+     * {@link #warmUp()}. Returns at once, the tasks never wait on each other so any executor can be used.
+     *
+     * @param executor cannot be <code>null</code>.
+     * @return future of the report. It fails with the exception of the first class with invalid annotations, the
+     * classes not yet started are then skipped. Never <code>null</code>.
+     * @since 2.2.0
+     */
+    public Future<WarmUpReport> warmUp(ExecutorService executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor cannot be null.");
+        }
+        final long start = System.nanoTime();
+        final List<Class<?>> classes = getRegisteredClasses();
+        final CompletableFuture<WarmUpReport> result = new CompletableFuture<WarmUpReport>();
+        final ConcurrentMap<Class<?>, Long> timings = new ConcurrentHashMap<Class<?>, Long>();
+        final AtomicInteger remaining = new AtomicInteger(classes.size());
+        if (classes.isEmpty()) {
+            result.complete(new WarmUpReport(timings, System.nanoTime() - start));
+        }
+        for (final Class<?> clazz : classes) {
+            executor.execute(new Runnable() {
+
+                public void run() {
+                    if (result.isDone()) {
+                        return;
+                    }
+                    try {
+                        timings.put(clazz, buildPlanTimed(clazz));
+                    } catch (RuntimeException e) {
+                        result.completeExceptionally(e);
+                        return;
+                    } catch (Error e) {
+                        result.completeExceptionally(e);
+                        throw e;
+                    }
+                    if (remaining.decrementAndGet() == 0) {
+                        Map<Class<?>, Long> ordered = new LinkedHashMap<Class<?>, Long>();
+                        for (Class<?> c : classes) {
+                            ordered.put(c, timings.get(c));
+                        }
+                        result.complete(new WarmUpReport(ordered, System.nanoTime() - start));
+                    }
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * @return the distinct classes of the registry sorted by name, never <code>null</code>.
+     */
+    private List<Class<?>> getRegisteredClasses() {
+        List<Class<?>> classes = new ArrayList<Class<?>>(
+                new HashSet<Class<?>>(getOrCreateRegistry().getAllEntries().values()));
+        Collections.sort(classes, new Comparator<Class<?>>() {
+
+            public int compare(Class<?> o1, Class<?> o2) {
+                return o1.getName().compareTo(o2.getName());
             }
-            Class<?> clazz = registry.getClassByEntityName(sirenClass);
-            List<ReflectedInfo> fieldInfo = ReflectionUtils.getExposedFieldInfo(clazz);
-            Object obj = null;
+        });
+        return classes;
+    }
+
+    /**
+     * @return the nanoseconds it took to build, or look up, the plan of the class.
+     */
+    private long buildPlanTimed(Class<?> clazz) {
+        long start = System.nanoTime();
+        try {
+            ConversionPlan.forClass(clazz);
+        } catch (RuntimeException e) {
+            throw new Siren4JRuntimeException("Unable to build conversion plan for: " + clazz.getName() + ". "
+                    + e.getMessage(), e);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private ResourceRegistry getOrCreateRegistry() {
+        ResourceRegistry registry = this.registry;
+        if (registry == null) {
+            LOG.warn("No ResourceRegistry set, using default which will scan the entire classpath unless a resource "
+                    + "index is found. It would be better to set your own registry that filters by packages.");
             try {
-                obj = clazz.newInstance();
-            } catch (Exception e) {
-                throw new Siren4JConversionException(e);
+                // Racing threads may each scan once, the registries are equivalent so the last one simply wins.
+                registry = ResourceRegistryImpl.newInstance((String[]) null);
+            } catch (Siren4JException e) {
+                throw new Siren4JRuntimeException(e);
             }
+            this.registry = registry;
+        }
+        return registry;
+    }
 
-            // Set properties
-            handleSetProperties(obj, clazz, entity, fieldInfo);
-            // Set sub entities
-            handleSetSubEntities(obj, clazz, entity, fieldInfo);
+    /**
+     * Finds the registered resource class of an inbound entity.
+     *
+     * @param sirenClass the target class name or the reserved class property, may be <code>null</code> or empty.
+     * @param eClass the entity's component class, may be <code>null</code>.
+     * @return the class, never <code>null</code>.
+     * @throws Siren4JConversionException if no class is defined or the class is not registered.
+     */
+    Class<?> resolveResourceClass(String sirenClass, String[] eClass) {
+        ResourceRegistry registry = getOrCreateRegistry();
+        if (StringUtils.isBlank(sirenClass) && (eClass == null || eClass.length == 0)) {
+            throw new Siren4JConversionException(
+                    "No entity class defined, won't be able to match to Java class. Can't go on.");
+        }
 
-            resource = (Resource) obj;
+        if (StringUtils.isBlank(sirenClass)) {
+            sirenClass = eClass[0];
+        }
+        if (!registry.containsEntityEntry(sirenClass)) {
+            throw new Siren4JConversionException("No matching resource found in the registry. Can't go on.");
+        }
+        return registry.getClassByEntityName(sirenClass);
+    }
+
+    Object newResource(Class<?> clazz) {
+        try {
+            return clazz.newInstance();
+        } catch (Exception e) {
+            throw new Siren4JConversionException(e);
         }
-        return resource;
     }
 
     /**
@@ -210,47 +872,57 @@ public class ReflectingConverter implements ResourceConverter {
      * @param obj assumed not <code>null</code>.
      * @param clazz assumed not <code>null</code>.
      * @param entity assumed not <code>null</code>.
-     * @param fieldInfo assumed not <code>null</code>.
+     * @param plan the conversion plan of the object's class, assumed not <code>null</code>.
      * @throws Siren4JConversionException
      */
-    private void handleSetProperties(Object obj, Class<?> clazz, Entity entity, List<ReflectedInfo> fieldInfo)
+    private void handleSetProperties(Object obj, Class<?> clazz, Entity entity, ConversionPlan plan)
             throws Siren4JConversionException {
         if (!MapUtils.isEmpty(entity.getProperties())) {
-            for (String key : entity.getProperties().keySet()) {
-                if (key.startsWith(Siren4J.CLASS_RESERVED_PROPERTY)) {
-                    continue;
-                }
-                ReflectedInfo info = ReflectionUtils.getFieldInfoByEffectiveName(fieldInfo, key);
-                if (info == null) {
-                    info = ReflectionUtils.getFieldInfoByName(fieldInfo, key);
-                }
-                if (info != null) {
-                    Object val = entity.getProperties().get(key);
-                    try {
-                        ReflectionUtils.setFieldValue(obj, info, val);
-                    } catch (Siren4JException e) {
-                        throw new Siren4JConversionException(e);
-                    }
-                } else if (isErrorOnMissingProperty() && !(obj instanceof Collection && key.equals("size"))) {
-                    //Houston we have a problem!!
-                    throw new Siren4JConversionException(
-                            "Unable to find field: " + key + " for class: " + clazz.getName());
-                }
+            for (Map.Entry<String, Object> prop : entity.getProperties().entrySet()) {
+                setProperty(obj, clazz, plan, prop.getKey(), prop.getValue());
             }
         }
     }
 
+    /**
+     * Sets a single inbound property, the reserved class property is ignored.
+     *
+     * @param obj assumed not <code>null</code>.
+     * @param clazz assumed not <code>null</code>.
+     * @param plan the conversion plan of the object's class, assumed not <code>null</code>.
+     * @param key the property name, assumed not <code>null</code>.
+     * @param value may be <code>null</code>.
+     * @throws Siren4JConversionException
+     */
+    void setProperty(Object obj, Class<?> clazz, ConversionPlan plan, String key, Object value)
+            throws Siren4JConversionException {
+        if (key.startsWith(Siren4J.CLASS_RESERVED_PROPERTY)) {
+            return;
+        }
+        FieldPlan fieldPlan = plan.getPropertySetter(key);
+        if (fieldPlan != null) {
+            try {
+                ReflectionUtils.setFieldValue(obj, fieldPlan.getInfo(), fieldPlan.getCoercer().coerce(value));
+            } catch (Siren4JException e) {
+                throw new Siren4JConversionException(e);
+            }
+        } else if (isErrorOnMissingProperty() && !(obj instanceof Collection && key.equals("size"))) {
+            //Houston we have a problem!!
+            throw new Siren4JConversionException(
+                    "Unable to find field: " + key + " for class: " + clazz.getName());
+        }
+    }
+
     /**
      * Sets field value for an entity's sub entities field.
      *
      * @param obj assumed not <code>null</code>.
      * @param clazz assumed not <code>null</code>.
      * @param entity assumed not <code>null</code>.
-     * @param fieldInfo assumed not <code>null</code>.
+     * @param plan the conversion plan of the object's class, assumed not <code>null</code>.
      * @throws Siren4JConversionException
      */
-    @SuppressWarnings({"rawtypes", "unchecked"})
-    private void handleSetSubEntities(Object obj, Class<?> clazz, Entity entity, List<ReflectedInfo> fieldInfo)
+    private void handleSetSubEntities(Object obj, Class<?> clazz, Entity entity, ConversionPlan plan)
             throws Siren4JConversionException {
         if (!CollectionUtils.isEmpty(entity.getEntities())) {
             for (Entity ent : entity.getEntities()) {
@@ -258,185 +930,521 @@ public class ReflectingConverter implements ResourceConverter {
                 if (StringUtils.isNotBlank(ent.getHref())) {
                     continue;
                 }
-                String[] rel = ent.getRel();
-                if (ArrayUtils.isEmpty(rel)) {
-                    throw new Siren4JConversionException("No relationship set on sub entity. Can't go on.");
-                }
-                String fieldKey = rel.length == 1 ? rel[0] : ArrayUtils.toString(rel);
-                ReflectedInfo info = ReflectionUtils.getFieldInfoByEffectiveName(fieldInfo, fieldKey);
-                if (info != null) {
-                    try {
-                        Object subObj = toObject(ent);
-                        if (subObj != null) {
-                            if (subObj.getClass().equals(CollectionResource.class)) {
-                                ReflectionUtils.setFieldValue(obj, info, subObj);
-                                continue; // If subObj is collection resource then continue
-                                // or it will get wrapped into another collection which we don't want.
-                            }
-                            if (isCollection(obj, info.getField())) {
-                                //If we are a collection we need to add each subObj via the add method
-                                //and not a setter. So we need to grab the collection from the field value.
-                                try {
-                                    Collection coll = (Collection) info.getField().get(obj);
-                                    if (coll == null) {
-                                        //In the highly unlikely event that no collection is set on the
-                                        //field value we will create a new collection here.
-                                        coll = new CollectionResource();
-                                        ReflectionUtils.setFieldValue(obj, info, coll);
-                                    }
-                                    coll.add(subObj);
-                                } catch (Exception e) {
-                                    throw new Siren4JConversionException(e);
-                                }
-                            } else {
-                                ReflectionUtils.setFieldValue(obj, info, subObj);
-                            }
-                        }
-                    } catch (Siren4JException e) {
-                        throw new Siren4JConversionException(e);
+                FieldPlan fieldPlan = getSubEntitySetter(clazz, plan, ent.getRel());
+                setSubEntity(obj, fieldPlan, convertObject(ent, null));
+            }
+        }
+    }
+
+    /**
+     * Finds the field an inbound sub entity is set on.
+     *
+     * @param clazz assumed not <code>null</code>.
+     * @param plan the conversion plan of the object's class, assumed not <code>null</code>.
+     * @param rel the rel of the sub entity, may be <code>null</code>.
+     * @return the field plan, never <code>null</code>.
+     * @throws Siren4JConversionException if the rel is empty or no field matches.
+     */
+    FieldPlan getSubEntitySetter(Class<?> clazz, ConversionPlan plan, String[] rel)
+            throws Siren4JConversionException {
+        if (ArrayUtils.isEmpty(rel)) {
+            throw new Siren4JConversionException("No relationship set on sub entity. Can't go on.");
+        }
+        String fieldKey = ConversionPlan.toRelKey(rel);
+        FieldPlan fieldPlan = plan.getSubEntitySetter(fieldKey);
+        if (fieldPlan == null) {
+            throw new Siren4JConversionException(
+                    "Unable to find field: " + fieldKey + " for class: " + clazz.getName());
+        }
+        return fieldPlan;
+    }
+
+    /**
+     * Sets a converted sub entity, objects for a collection field are added to the collection.
+     *
+     * @param obj assumed not <code>null</code>.
+     * @param fieldPlan assumed not <code>null</code>.
+     * @param subObj may be <code>null</code> in which case nothing is set.
+     * @throws Siren4JConversionException
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    void setSubEntity(Object obj, FieldPlan fieldPlan, Object subObj) throws Siren4JConversionException {
+        if (subObj == null) {
+            return;
+        }
+        ReflectedInfo info = fieldPlan.getInfo();
+        try {
+            if (subObj.getClass().equals(CollectionResource.class)) {
+                // If subObj is collection resource then set it as is
+                // or it will get wrapped into another collection which we don't want.
+                ReflectionUtils.setFieldValue(obj, info, subObj);
+                return;
+            }
+            Object current = fieldPlan.isCollection() ? info.getAccessor().getFieldValue(obj) : null;
+            if (isCollection(fieldPlan, current)) {
+                //If we are a collection we need to add each subObj via the add method
+                //and not a setter. So we need to grab the collection from the field value.
+                try {
+                    Collection coll = (Collection) current;
+                    if (coll == null) {
+                        //In the highly unlikely event that no collection is set on the
+                        //field value we will create a new collection here.
+                        coll = new CollectionResource();
+                        ReflectionUtils.setFieldValue(obj, info, coll);
                     }
+                    coll.add(subObj);
+                } catch (Exception e) {
+                    throw new Siren4JConversionException(e);
+                }
+            } else {
+                ReflectionUtils.setFieldValue(obj, info, subObj);
+            }
+        } catch (Siren4JException e) {
+            throw new Siren4JConversionException(e);
+        }
+    }
+
+    /**
+     * The recursive method that actually does the work of converting from a resource to an entity. If a subclass
+     * overrides it, it is called for the top level resource and every sub entity like in earlier versions. Sub entities
+     * are then converted one at a time and each with a fresh path, so deduplication, budgets and cycle detection don't
+     * apply across them, and projections other than {@link Projection#ALL} don't call it.
+     *
+     * @param obj the object to be converted, this could be a <code>Resource</code> or another <code>Object</code>. Only
+     * <code>Resource</code> objects are allowed in via public methods, other object types may come from recursing into the
+     * original resource. May be <code>null</code>.
+     * @param parentField the parent field, ie the field that contained this object, may be <code>null</code>.
+     * @param parentObj the object that contains the field that contains this object, may be <code>null</code>.
+     * @param parentFieldInfo field info for all exposed parent object fields, may be <code>null</code>.
+     * @return the entity created from the resource. May be <code>null</code>.
+     * @throws Exception
+     */
+    protected Entity toEntity(Object obj, Field parentField, Object parentObj, List<ReflectedInfo> parentFieldInfo)
+            throws Siren4JException {
+        ConversionPlan parentPlan = null;
+        FieldPlan parentFieldPlan = null;
+        if (parentObj != null && parentField != null && parentFieldInfo != null) {
+            parentPlan = ConversionPlan.forClass(parentObj.getClass());
+            parentFieldPlan = parentPlan.getFieldPlan(parentField);
+        }
+        return executePlan(obj, parentPlan, parentFieldPlan, parentObj);
+    }
+
+    /**
+     * Executes the cached conversion plan of the object's class.
+     *
+     * @param obj the object to be converted, may be <code>null</code>.
+     * @param parentPlan the conversion plan of the parent object, may be <code>null</code>.
+     * @param parentFieldPlan the plan of the parent field that contained this object, may be <code>null</code>.
+     * @param parentObj the object that contains the field that contains this object, may be <code>null</code>.
+     * @return the entity created from the resource. May be <code>null</code>.
+     * @throws Siren4JException
+     */
+    private Entity executePlan(Object obj, ConversionPlan parentPlan, FieldPlan parentFieldPlan, Object parentObj)
+            throws Siren4JException {
+        if (parentObj == null && parentFieldPlan == null) {
+            return executeRootPlan(obj, null, Projection.ALL);
+        }
+        return executePlan(obj, null, parentPlan, parentFieldPlan, newPath(parentObj, Projection.ALL, false), 0);
+    }
+
+    /**
+     * Executes the plan of a top level resource, reporting the conversion to the listener if one is set.
+     *
+     * @param knownPlan the plan of the object's class if already known, may be <code>null</code>.
+     * @see #executePlan(Object, ConversionPlan, FieldPlan, Object)
+     */
+    private Entity executeRootPlan(Object obj, ConversionPlan knownPlan, Projection projection)
+            throws Siren4JException {
+        ConversionListener l = listener;
+        Object event = obj != null ? events.beginConversion(ConversionEvents.TO_ENTITY) : null;
+        ConversionPath path = newPath(null, projection, l != null || events.isConversionEnabled());
+        if ((l == null && event == null) || obj == null) {
+            return executePlan(obj, knownPlan, null, null, path, 0);
+        }
+        long start = System.nanoTime();
+        Entity entity = executePlan(obj, knownPlan, null, null, path, 0);
+        if (l != null) {
+            l.entityConverted(obj.getClass(), System.nanoTime() - start, path.getEntityCount());
+        }
+        events.endConversion(event, obj.getClass(), path.getEntityCount());
+        return entity;
+    }
+
+    /**
+     * @param knownPlan the plan of the object's class if already known, may be <code>null</code>.
+     * @param path the path to the parent object, its object is the parent object. Assumed not <code>null</code>.
+     * @param index the index of the object in its sub entity collection, zero if not in a collection.
+     * @return the entity, <code>null</code> if the object is <code>null</code> or the sub entity is left out as it
+     * exceeds the budget.
+     * @see #executePlan(Object, ConversionPlan, FieldPlan, Object)
+     */
+    private Entity executePlan(Object obj, ConversionPlan knownPlan, ConversionPlan parentPlan,
+                               FieldPlan parentFieldPlan, ConversionPath path, int index) throws Siren4JException {
+        if (obj == null) {
+            return null;
+        }
+        ConversionPath current = path.child(obj, parentFieldPlan);
+        Entity converted = path.getConverted(obj, parentFieldPlan, current.getProjection());
+        if (converted != null) {
+            return converted;
+        }
+        Object event = parentFieldPlan != null ? events.beginSubEntity() : null;
+        int entitiesBefore = path.getEntityCount();
+
+        EntityBuilder builder = EntityBuilder.newInstance();
+        EntityState state = prepareEntity(obj, knownPlan, parentPlan, parentFieldPlan, path, index);
+        if (state.omitted) {
+            endSubEntityEvent(event, obj, parentFieldPlan, path, entitiesBefore);
+            return null;
+        }
+        ConversionPlan plan = state.plan;
+
+        if (!plan.isSuppressClassProperty()) {
+            builder.addProperty(Siren4J.CLASS_RESERVED_PROPERTY, obj.getClass().getName());
+        }
+        builder.setComponentClass(state.componentClass);
+        if (state.rel != null) {
+            builder.setRelationship(state.rel);
+        }
+        if (state.embeddedLink) {
+            builder.setHref(state.resolvedUri);
+        } else {
+            Projection projection = current.getProjection();
+            for (FieldPlan fieldPlan : plan.getFields()) {
+                if (projection.select(fieldPlan) == null) {
+                    continue;
+                }
+                if (fieldPlan.getKind() == FieldPlan.Kind.METHOD_PROPERTY) {
+                    handleMethod(obj, builder, fieldPlan.getInfo());
                 } else {
-                    throw new Siren4JConversionException(
-                            "Unable to find field: " + fieldKey + " for class: " + clazz.getName());
+                    handleField(obj, builder, plan, fieldPlan, current);
+                }
+            }
+            if (obj instanceof Collection) {
+                builder.addProperty("size", ((Collection<?>) obj).size());
+            }
+            for (Link link : collectLinks(state)) {
+                builder.addLink(link);
+            }
+            for (Action action : collectActions(state)) {
+                builder.addAction(action);
+            }
+        }
+        Entity entity = builder.build();
+        if (!state.embeddedLink) {
+            path.putConverted(obj, parentFieldPlan, current.getProjection(), entity);
+        }
+        endSubEntityEvent(event, obj, parentFieldPlan, path, entitiesBefore);
+        return entity;
+    }
+
+    /**
+     * @param event the sub entity event, may be <code>null</code>.
+     * @param path the path to the parent object, assumed not <code>null</code>.
+     * @param entitiesBefore the entity count of the path before converting the sub entity.
+     */
+    private void endSubEntityEvent(Object event, Object obj, FieldPlan parentFieldPlan, ConversionPath path,
+                                   int entitiesBefore) {
+        if (event != null) {
+            events.endSubEntity(event, obj.getClass(), path.getObject().getClass(),
+                    parentFieldPlan.getField().getName(), path.getDepth(), path.getEntityCount() - entitiesBefore);
+        }
+    }
+
+    private ConversionPath newPath(Object parentObj, Projection projection, boolean countEntities) {
+        return ConversionPath.start(parentObj, projection, deduplication, budget, countEntities);
+    }
+
+    /**
+     * The streaming counterpart of {@link #executePlan(Object, ConversionPlan, FieldPlan, Object)}. Writes the
+     * members in the same order and with the same inclusion rules Jackson uses for <code>EntityImpl</code>.
+     *
+     * @param openEntities <code>true</code> to start the "entities" member of the parent before writing the entity.
+     * @return <code>false</code> if the sub entity is left out as it exceeds the budget, nothing is written then.
+     */
+    private boolean streamPlan(Object obj, ConversionPlan parentPlan, FieldPlan parentFieldPlan, ConversionPath path,
+                               int index, boolean openEntities, JsonGenerator gen, SerializerProvider provider)
+            throws IOException, Siren4JException {
+        Object event = parentFieldPlan != null ? events.beginSubEntity() : null;
+        int entitiesBefore = path.getEntityCount();
+        EntityState state = prepareEntity(obj, null, parentPlan, parentFieldPlan, path, index);
+        if (state.omitted) {
+            endSubEntityEvent(event, obj, parentFieldPlan, path, entitiesBefore);
+            return false;
+        }
+        ConversionPlan plan = state.plan;
+
+        if (openEntities) {
+            gen.writeFieldName("entities");
+            gen.writeStartArray();
+        }
+        gen.writeStartObject();
+        provider.defaultSerializeField("class", state.componentClass, gen);
+        if (state.rel != null) {
+            provider.defaultSerializeField("rel", state.rel, gen);
+        }
+        if (state.embeddedLink) {
+            if (StringUtils.isBlank(state.resolvedUri)) {
+                throw new IllegalArgumentException("href cannot be null or empty.");
+            }
+            provider.defaultSerializeField("href", state.resolvedUri, gen);
+            gen.writeEndObject();
+            endSubEntityEvent(event, obj, parentFieldPlan, path, entitiesBefore);
+            return true;
+        }
+
+        ConversionPath current = path.child(obj, parentFieldPlan);
+        Projection projection = current.getProjection();
+        // First pass reads the values so properties can be written before sub entities.
+        List<FieldPlan> fields = plan.getFields();
+        Object[] values = new Object[fields.size()];
+        boolean[] properties = new boolean[fields.size()];
+        for (int i = 0; i < values.length; i++) {
+            FieldPlan fieldPlan = fields.get(i);
+            if (projection.select(fieldPlan) == null) {
+                continue;
+            }
+            if (fieldPlan.getKind() == FieldPlan.Kind.METHOD_PROPERTY) {
+                values[i] = fieldPlan.getInfo().getAccessor().getGetterValue(obj);
+                properties[i] = true;
+            } else {
+                Object fieldVal = fieldPlan.getInfo().getAccessor().getFieldValue(obj);
+                if (skipProperty(fieldPlan, fieldVal)) {
+                    continue;
+                }
+                values[i] = fieldVal;
+                properties[i] = isProperty(fieldPlan, fieldVal);
+            }
+        }
+
+        PropertyWriter propWriter = new PropertyWriter(gen, provider,
+                plan.isPropertyNamesUnique() && isStreamableMapConfig(provider));
+        if (!plan.isSuppressClassProperty()) {
+            propWriter.write(Siren4J.CLASS_RESERVED_PROPERTY, obj.getClass().getName());
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (properties[i]) {
+                propWriter.write(fields.get(i).getPropertyName(), values[i]);
+            }
+        }
+        if (obj instanceof Collection) {
+            propWriter.write("size", ((Collection<?>) obj).size());
+        }
+        propWriter.close();
+
+        boolean entitiesOpen = false;
+        for (int i = 0; i < values.length; i++) {
+            FieldPlan fieldPlan = fields.get(i);
+            if (properties[i] || values[i] == null || fieldPlan.getKind() == FieldPlan.Kind.METHOD_PROPERTY
+                    || fieldPlan.getSubEntityAnnotation() == null) {
+                continue;
+            }
+            if (isCollection(fieldPlan, values[i])) {
+                int subIndex = 0;
+                for (Object o : (Collection<?>) values[i]) {
+                    if (o == null) {
+                        throw new IllegalArgumentException("subEntity cannot be null.");
+                    }
+                    if (streamPlan(o, plan, fieldPlan, current, subIndex++, !entitiesOpen, gen, provider)) {
+                        entitiesOpen = true;
+                    }
                 }
+                fireSubEntitiesConverted(plan, fieldPlan, subIndex);
+            } else {
+                if (streamPlan(values[i], plan, fieldPlan, current, 0, !entitiesOpen, gen, provider)) {
+                    entitiesOpen = true;
+                }
+                fireSubEntitiesConverted(plan, fieldPlan, 1);
             }
         }
+        if (entitiesOpen) {
+            gen.writeEndArray();
+        }
+
+        List<Link> links = collectLinks(state);
+        List<Action> actions = collectActions(state);
+        if (!actions.isEmpty()) {
+            provider.defaultSerializeField("actions", actions, gen);
+        }
+        if (!links.isEmpty()) {
+            provider.defaultSerializeField("links", links, gen);
+        }
+        gen.writeEndObject();
+        endSubEntityEvent(event, obj, parentFieldPlan, path, entitiesBefore);
+        return true;
     }
 
     /**
-     * The recursive method that actually does the work of converting from a resource to an entity.
-     *
-     * @param obj the object to be converted, this could be a <code>Resource</code> or another <code>Object</code>. Only
-     * <code>Resource</code> objects are allowed in via public methods, other object types may come from recursing into the
-     * original resource. May be <code>null</code>.
-     * @param parentField the parent field, ie the field that contained this object, may be <code>null</code>.
-     * @param parentObj the object that contains the field that contains this object, may be <code>null</code>.
-     * @param parentFieldInfo field info for all exposed parent object fields, may be <code>null</code>.
-     * @return the entity created from the resource. May be <code>null</code>.
-     * @throws Exception
+     * Properties can only be written one by one if the mapper would write the properties map in insertion order and
+     * include <code>null</code> values, otherwise they are buffered and the map is handed to Jackson.
      */
     @SuppressWarnings("deprecation")
-    protected Entity toEntity(Object obj, Field parentField, Object parentObj, List<ReflectedInfo> parentFieldInfo)
-            throws Siren4JException {
-        if (obj == null) {
-            return null;
+    private boolean isStreamableMapConfig(SerializerProvider provider) {
+        if (provider.isEnabled(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                || !provider.isEnabled(SerializationFeature.WRITE_NULL_MAP_VALUES)) {
+            return false;
         }
+        JsonInclude.Include content = provider.getConfig().getDefaultPropertyInclusion(Map.class)
+                .getContentInclusion();
+        return content == JsonInclude.Include.ALWAYS || content == JsonInclude.Include.USE_DEFAULTS;
+    }
 
-        EntityBuilder builder = EntityBuilder.newInstance();
-        Class<?> clazz = obj.getClass();
-
-        boolean embeddedLink = false;
-        List<ReflectedInfo> fieldInfo = ReflectionUtils.getExposedFieldInfo(clazz);
-        fieldInfo.sort(new Comparator<ReflectedInfo>() {
-
-			@Override
-			public int compare(ReflectedInfo o1, ReflectedInfo o2) {
-				return o1.getEffectiveName().compareTo(o2.getEffectiveName());
-			}
-		});
-        EntityContext context = new EntityContextImpl(obj, fieldInfo, parentField, parentObj, parentFieldInfo);
-
-        String cname = null;
-        String uri = "";
+    /**
+     * Writes the "properties" member of a streamed entity, either directly or through a buffered map.
+     */
+    private static final class PropertyWriter {
 
-        //Propagate baseUri and fullyQualified setting from parent if needed
-        propagateBaseUriAndQualifiedSetting(obj, parentObj);
+        private final JsonGenerator gen;
+        private final SerializerProvider provider;
+        private final Map<String, Object> buffer;
+        private boolean open;
 
-        boolean suppressClass = false;
-        Siren4JEntity entityAnno = (Siren4JEntity) clazz.getAnnotation(Siren4JEntity.class);
-        if (entityAnno != null && (StringUtils.isNotBlank(entityAnno.name()) && ArrayUtils
-                .isNotEmpty(entityAnno.entityClass()))) {
-            throw new Siren4JRuntimeException("Must only use one of 'name' or 'entityClass', not both.");
-        }
-        if (entityAnno != null) {
-            cname = StringUtils.defaultIfEmpty(entityAnno.name(), cname);
-            uri = StringUtils.defaultIfEmpty(entityAnno.uri(), uri);
-            suppressClass = entityAnno.suppressClassProperty();
+        private PropertyWriter(JsonGenerator gen, SerializerProvider provider, boolean direct) {
+            this.gen = gen;
+            this.provider = provider;
+            this.buffer = direct ? null : new LinkedHashMap<String, Object>();
         }
 
-        if (!suppressClass) {
-            builder.addProperty(Siren4J.CLASS_RESERVED_PROPERTY, clazz.getName());
+        private void write(String name, Object value) throws IOException {
+            if (buffer != null) {
+                buffer.put(name, value);
+                return;
+            }
+            if (!open) {
+                gen.writeFieldName("properties");
+                gen.writeStartObject();
+                open = true;
+            }
+            gen.writeFieldName(name);
+            if (value == null) {
+                provider.defaultSerializeNull(gen);
+            } else {
+                provider.findContentValueSerializer(value.getClass(), null).serialize(value, gen, provider);
+            }
         }
 
-        Siren4JSubEntity parentSubAnno = null;
-        if (parentField != null && parentFieldInfo != null) {
-            parentSubAnno = getSubEntityAnnotation(parentField, parentFieldInfo);
+        private void close() throws IOException {
+            if (open) {
+                gen.writeEndObject();
+            } else if (buffer != null && !buffer.isEmpty()) {
+                provider.defaultSerializeField("properties", buffer, gen);
+            }
         }
+    }
+
+    /**
+     * Resolves everything about an entity that comes before its properties, sub entities, links and actions. Shared by
+     * the entity tree and the streaming conversion so both apply the same semantics.
+     *
+     * @param obj assumed not <code>null</code>.
+     * @param knownPlan the plan of the object's class if already known, may be <code>null</code>.
+     * @param parentPlan may be <code>null</code>.
+     * @param parentFieldPlan may be <code>null</code>.
+     * @param path the path to the parent object, assumed not <code>null</code>.
+     * @param index the index of the object in its sub entity collection, zero if not in a collection.
+     * @return the state, never <code>null</code>. Only the plan is resolved if the sub entity is omitted.
+     * @throws Siren4JException
+     */
+    private EntityState prepareEntity(Object obj, ConversionPlan knownPlan, ConversionPlan parentPlan,
+                                      FieldPlan parentFieldPlan, ConversionPath path, int index)
+            throws Siren4JException {
+        Object parentObj = path.getObject();
+        ConversionPlan plan = knownPlan != null ? knownPlan : ConversionPlan.forClass(obj.getClass());
+        Field parentField = parentFieldPlan != null ? parentFieldPlan.getField() : null;
+        EntityState state = new EntityState(obj, plan, parentFieldPlan,
+                new PlannedEntityContext(obj, plan, parentField, parentObj, parentPlan));
+
+        TokenTemplate uri = plan.getUriTemplate();
+
+        //Propagate baseUri and fullyQualified setting from parent if needed
+        propagateBaseUriAndQualifiedSetting(obj, parentObj);
+
+        Siren4JSubEntity parentSubAnno = parentFieldPlan != null ? parentFieldPlan.getSubEntityAnnotation() : null;
 
         if (parentSubAnno != null) {
-            uri = StringUtils.defaultIfEmpty(parentSubAnno.uri(), uri);
+            if (parentFieldPlan.getUriTemplate() != null) {
+                uri = parentFieldPlan.getUriTemplate();
+            }
             //Determine if the entity is an embeddedLink
-            embeddedLink = parentSubAnno.embeddedLink();
+            state.embeddedLink = parentSubAnno.embeddedLink();
             if (obj instanceof Resource) {
                 Boolean overrideLink = ((Resource) obj).getOverrideEmbeddedLink();
                 if (overrideLink != null) {
-                    embeddedLink = overrideLink.booleanValue();
+                    state.embeddedLink = overrideLink.booleanValue();
                 }
             }
         }
         // Handle uri overriding or token replacement
-        String resolvedUri = resolveUri(uri, context, true);
-
-        builder.setComponentClass(getEntityClass(obj, cname, entityAnno));
-        if (parentSubAnno != null) {
-            String fname = parentField != null ? parentField.getName() : cname;
-            builder.setRelationship(ComponentUtils.isStringArrayEmpty(parentSubAnno.rel())
-                    ? new String[]{fname} : parentSubAnno.rel());
-        }
-        if (embeddedLink) {
-            builder.setHref(resolvedUri);
-        } else {
-            for (ReflectedInfo info : fieldInfo) {
-                Field currentField = info.getField();
-                if(currentField != null) {
-                    handleField(obj, builder, fieldInfo, currentField);
-                } else {
-                    handleMethod(obj, builder, info);
+        state.resolvedUri = resolveUri(uri, state.context, true);
+
+        if (!state.embeddedLink && parentFieldPlan != null) {
+            boolean embeddable = path.getDeduplication() == Deduplication.EMBEDDED_LINK
+                    && StringUtils.isNotBlank(state.resolvedUri);
+            if (path.contains(obj)) {
+                if (!embeddable) {
+                    throw new Siren4JConversionException("Cycle detected: " + path.describe(obj));
                 }
-
-            }
-            if (obj instanceof Collection) {
-                builder.addProperty("size", ((Collection<?>) obj).size());
+                state.embeddedLink = true;
+            } else if (embeddable && !path.markSeen(obj)) {
+                state.embeddedLink = true;
             }
-            if (obj instanceof Resource) {
-                Resource res  = (Resource)obj;
-                boolean skipBaseUri = isSuppressBaseUriOnFullyQualified() && (res.isFullyQualifiedLinks()
-                        && res.getBaseUri() != null);
-                if(!skipBaseUri) {
-                    handleBaseUriLink(builder, res.getBaseUri());
-                }
+        }
+        if (parentFieldPlan == null) {
+            path.countEntity();
+        } else if (!state.embeddedLink && !path.spendBudget(index)) {
+            if (StringUtils.isNotBlank(state.resolvedUri)) {
+                state.embeddedLink = true;
+            } else if (path.getBudget().getOverflow() == ConversionBudget.Overflow.FAIL) {
+                throw new Siren4JConversionException("Conversion budget exceeded by sub entity without uri: "
+                        + path.describe(obj));
+            } else {
+                state.omitted = true;
+                return state;
             }
-            handleSelfLink(builder, resolvedUri);
-            handleEntityLinks(builder, context);
-            handleEntityActions(builder, context);
         }
-        return builder.build();
+        if (!state.embeddedLink) {
+            path.recordEntity();
+        }
+
+        state.componentClass = getEntityClass(obj, plan.getEntityName(), plan.getEntityAnnotation());
+        if (parentSubAnno != null) {
+            state.rel = parentFieldPlan.getRel();
+        }
+        return state;
     }
 
     private void handleMethod(Object obj, EntityBuilder builder, ReflectedInfo fieldInfo) {
-        Object value = ReflectionUtils.getMethodValue(fieldInfo.getGetter(), obj);
+        Object value = fieldInfo.getAccessor().getGetterValue(obj);
         handleAddProperty(builder, fieldInfo.getEffectiveName(), value);
     }
 
-    private void handleField(Object obj, EntityBuilder builder, List<ReflectedInfo> fieldInfo, Field currentField) throws Siren4JException {
-        Object fieldVal = ReflectionUtils.getFieldValue(currentField, obj);
-        if (ReflectionUtils.isSirenProperty(currentField.getType(), fieldVal, currentField)) {
-            // Property
-            if (!skipProperty(obj, currentField)) {
-                String propName = currentField.getName();
-                Siren4JProperty propAnno = currentField.getAnnotation(Siren4JProperty.class);
-
-                if (propAnno != null && StringUtils.isNotBlank(propAnno.name())) {
-                    // Override field name from annotation
-                    propName = propAnno.name();
-                }
-                handleAddProperty(builder, propName, currentField, obj);
-            }
+    private void handleField(Object obj, EntityBuilder builder, ConversionPlan plan, FieldPlan fieldPlan,
+                             ConversionPath path) throws Siren4JException {
+        Object fieldVal = fieldPlan.getInfo().getAccessor().getFieldValue(obj);
+        if (skipProperty(fieldPlan, fieldVal)) {
+            return;
+        }
+        if (isProperty(fieldPlan, fieldVal)) {
+            handleAddProperty(builder, fieldPlan.getPropertyName(), fieldVal);
         } else {
-            // Sub Entity
-            if (!skipProperty(obj, currentField)) {
-                handleSubEntity(builder, obj, currentField, fieldInfo);
-            }
+            handleSubEntity(builder, obj, plan, fieldPlan, fieldVal, path);
+        }
+    }
+
+    /**
+     * Determine if the field value is a property or a sub entity, only collection and map fields need to look at
+     * the actual value as this is decided once per class for all other fields.
+     */
+    private boolean isProperty(FieldPlan fieldPlan, Object fieldVal) {
+        switch (fieldPlan.getKind()) {
+            case PROPERTY:
+                return true;
+            case DYNAMIC:
+                Field currentField = fieldPlan.getField();
+                return ReflectionUtils.isSirenProperty(currentField.getType(), fieldVal, currentField);
+            default:
+                return false;
         }
     }
 
@@ -461,7 +1469,10 @@ public class ReflectingConverter implements ResourceConverter {
      * @param propName
      * @param currentField
      * @param obj
+     * @deprecated no longer called by the converter, which passes the value it already read to
+     * {@link #handleAddProperty(EntityBuilder, String, Object)}.
      */
+    @Deprecated
     protected void handleAddProperty(EntityBuilder builder, String propName, Field currentField, Object obj) {
         builder.addProperty(propName, ReflectionUtils.getFieldValue(currentField, obj));
     }
@@ -475,41 +1486,182 @@ public class ReflectingConverter implements ResourceConverter {
      *
      * @param builder assumed not <code>null</code>.
      * @param obj assumed not <code>null</code>.
-     * @param currentField assumed not <code>null</code>.
+     * @param plan the plan of the object, assumed not <code>null</code>.
+     * @param fieldPlan the plan of the sub entity field, assumed not <code>null</code>.
+     * @param fieldVal the current value of the field, may be <code>null</code>.
      * @throws Siren4JException
      */
-    private void handleSubEntity(EntityBuilder builder, Object obj, Field currentField, List<ReflectedInfo> fieldInfo)
-            throws Siren4JException {
-
-        Siren4JSubEntity subAnno = getSubEntityAnnotation(currentField, fieldInfo);
-        if (subAnno != null) {
-            if (isCollection(obj, currentField)) {
-                Collection<?> coll = (Collection<?>) ReflectionUtils.getFieldValue(currentField, obj);
-                if (coll != null) {
+    private void handleSubEntity(EntityBuilder builder, Object obj, ConversionPlan plan, FieldPlan fieldPlan,
+                                 Object fieldVal, ConversionPath path) throws Siren4JException {
+
+        if (fieldPlan.getSubEntityAnnotation() != null) {
+            if (isCollection(fieldPlan, fieldVal)) {
+                Collection<?> coll = (Collection<?>) fieldVal;
+                if (coll != null && !legacyToEntity && isParallel(coll.size()) && path.isOrderIndependent()) {
+                    Object[] items = coll.toArray();
+                    Entity[] entities = executePlanParallel(items, plan, fieldPlan, path);
+                    for (int i = 0; i < items.length; i++) {
+                        addSubEntity(builder, items[i], entities[i]);
+                    }
+                } else if (coll != null) {
+                    int index = 0;
                     for (Object o : coll) {
-                        builder.addSubEntity(toEntity(o, currentField, obj, fieldInfo));
+                        addSubEntity(builder, o, convertSubEntity(o, obj, plan, fieldPlan, path, index++));
                     }
                 }
+                if (coll != null) {
+                    fireSubEntitiesConverted(plan, fieldPlan, coll.size());
+                }
+            } else if (fieldVal != null) {
+                addSubEntity(builder, fieldVal, convertSubEntity(fieldVal, obj, plan, fieldPlan, path, 0));
+                fireSubEntitiesConverted(plan, fieldPlan, 1);
+            }
+        }
+
+    }
+
+    /**
+     * @param entity the converted sub entity, <code>null</code> if it was left out as it exceeds the budget.
+     */
+    private static void addSubEntity(EntityBuilder builder, Object subObj, Entity entity) {
+        if (subObj == null) {
+            throw new IllegalArgumentException("subEntity cannot be null.");
+        }
+        if (entity != null) {
+            builder.addSubEntity(entity);
+        }
+    }
+
+    /**
+     * Converts a sub entity through {@link #toEntity(Object, Field, Object, List)} if a subclass overrides it, else
+     * by executing the plan.
+     */
+    private Entity convertSubEntity(Object subObj, Object obj, ConversionPlan plan, FieldPlan fieldPlan,
+                                    ConversionPath path, int index) throws Siren4JException {
+        if (legacyToEntity && path.getProjection().isAll()) {
+            return toEntity(subObj, fieldPlan.getField(), obj, plan.getFieldInfo());
+        }
+        return executePlan(subObj, null, plan, fieldPlan, path, index);
+    }
+
+    private void fireSubEntitiesConverted(ConversionPlan plan, FieldPlan fieldPlan, int count) {
+        ConversionListener l = listener;
+        if (l != null) {
+            l.subEntitiesConverted(plan.getResourceClass(), fieldPlan.getField().getName(), count);
+        }
+    }
+
+    private boolean isParallel(int size) {
+        return parallelExecutor != null && size >= parallelThreshold && inParallelTask.get() == null;
+    }
+
+    /**
+     * Converts a range of items, reusing the plan of the previous item when the class is the same as siblings are
+     * usually of the same class. Top level resources go through the entity cache.
+     *
+     * @param items assumed not <code>null</code>.
+     * @param results receives the entities at the index of their item, assumed not <code>null</code>.
+     * @param parentPlan the plan of the parent object, <code>null</code> for top level resources.
+     * @param parentFieldPlan the plan of the collection field, <code>null</code> for top level resources.
+     * @param path the path to the parent object, <code>null</code> for top level resources.
+     * @throws Siren4JException
+     */
+    private void executePlans(Object[] items, Entity[] results, int from, int to, ConversionPlan parentPlan,
+                              FieldPlan parentFieldPlan, ConversionPath path) throws Siren4JException {
+        ConversionPlan plan = null;
+        for (int i = from; i < to; i++) {
+            Object item = items[i];
+            if (item == null) {
+                continue;
+            }
+            if (plan == null || plan.getResourceClass() != item.getClass()) {
+                plan = ConversionPlan.forClass(item.getClass());
+            }
+            if (path != null) {
+                results[i] = executePlan(item, plan, parentPlan, parentFieldPlan, path, i);
             } else {
-                Object subObj = ReflectionUtils.getFieldValue(currentField, obj);
-                if (subObj != null) {
-                    builder.addSubEntity(toEntity(subObj, currentField, obj, fieldInfo));
+                EntityCache.CachedEntity cached = getCached(item);
+                if (cached != null) {
+                    results[i] = cached.getEntity();
+                } else if (legacyToEntity) {
+                    results[i] = toEntity(item, null, null, null);
+                } else {
+                    results[i] = executeRootPlan(item, plan, Projection.ALL);
                 }
             }
         }
+    }
 
+    /**
+     * Converts the items of a sub entity collection or a batch concurrently on the parallel executor.
+     *
+     * @param items assumed not <code>null</code>.
+     * @param plan the plan of the parent object, <code>null</code> for a batch of top level resources.
+     * @param fieldPlan the plan of the collection field, <code>null</code> for a batch of top level resources.
+     * @param path the path to the parent object, <code>null</code> for a batch of top level resources.
+     * @return the entities in item order, never <code>null</code>.
+     * @throws Siren4JException
+     */
+    private Entity[] executePlanParallel(final Object[] items, final ConversionPlan plan, final FieldPlan fieldPlan,
+                                         final ConversionPath path) throws Siren4JException {
+        final Entity[] results = new Entity[items.length];
+        int chunks = Math.min(items.length, Runtime.getRuntime().availableProcessors() * 4);
+        int chunkSize = (items.length + chunks - 1) / chunks;
+        List<Future<Void>> futures = new ArrayList<Future<Void>>(chunks);
+        for (int start = 0; start < items.length; start += chunkSize) {
+            final int from = start;
+            final int to = Math.min(items.length, start + chunkSize);
+            futures.add(parallelExecutor.submit(new Callable<Void>() {
+
+                public Void call() throws Exception {
+                    inParallelTask.set(Boolean.TRUE);
+                    try {
+                        executePlans(items, results, from, to, plan, fieldPlan, path);
+                    } finally {
+                        inParallelTask.remove();
+                    }
+                    return null;
+                }
+            }));
+        }
+        try {
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new Siren4JException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Siren4JException) {
+                throw (Siren4JException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new Siren4JException(cause);
+        } finally {
+            for (Future<Void> future : futures) {
+                future.cancel(false);
+            }
+        }
+        return results;
     }
 
     /**
      * Resolves the raw uri by replacing field tokens with the actual data.
      *
-     * @param rawUri assumed not <code>null</code> or .
+     * @param uri the parsed uri, may be <code>null</code> for dynamic links and actions without href.
      * @param context
      * @return uri with tokens resolved.
      * @throws Siren4JException
      */
-    private String resolveUri(String rawUri, EntityContext context, boolean handleURIOverride) throws Siren4JException {
-        String resolvedUri = rawUri;
+    private String resolveUri(TokenTemplate uri, EntityContext context, boolean handleURIOverride)
+            throws Siren4JException {
+        TokenTemplate template = uri;
         String baseUri = null;
         boolean fullyQualified = false;
         if (context.getCurrentObject() instanceof Resource) {
@@ -518,10 +1670,10 @@ public class ReflectingConverter implements ResourceConverter {
             fullyQualified = resource.isFullyQualifiedLinks() == null ? false : resource.isFullyQualifiedLinks();
             String override = resource.getOverrideUri();
             if (handleURIOverride && StringUtils.isNotBlank(override)) {
-                resolvedUri = override;
+                template = TokenTemplate.create(override);
             }
         }
-        resolvedUri = handleTokenReplacement(resolvedUri, context);
+        String resolvedUri = handleTokenReplacement(template, context);
 
         if (fullyQualified && StringUtils.isNotBlank(baseUri)
                 && !isAbsoluteUri(resolvedUri)) {
@@ -539,7 +1691,7 @@ public class ReflectingConverter implements ResourceConverter {
     }
 
     /**
-     * Helper method to do token replacement for strings.
+     * Helper method to do token replacement for strings from annotations, their templates are cached.
      *
      * @param str
      * @param context
@@ -547,397 +1699,322 @@ public class ReflectingConverter implements ResourceConverter {
      * @throws Siren4JException
      */
     private String handleTokenReplacement(String str, EntityContext context) throws Siren4JException {
-        String result = "";
-        // First resolve parents
-        result = ReflectionUtils.replaceFieldTokens(
-                context.getParentObject(), str, context.getParentFieldInfo(), true);
-        // Now resolve others
-        result = ReflectionUtils.flattenReservedTokens(ReflectionUtils.replaceFieldTokens(
-                context.getCurrentObject(), result, context.getCurrentFieldInfo(), false));
-        return result;
+        if (StringUtils.isBlank(str)) {
+            return str;
+        }
+        return handleTokenReplacement(TokenTemplate.parse(str), context);
     }
 
     /**
-     * Helper to retrieve a sub entity annotation from either the field itself or the getter.
-     * If an annotation exists on both, then the field wins.
+     * Parse a string built at runtime, such as the href of a dynamic link, without caching its template.
      *
-     * @param currentField assumed not <code>null</code>.
-     * @param fieldInfo assumed not <code>null</code>.
-     * @return the annotation if found else <code>null</code>.
+     * @param str may be <code>null</code>.
+     * @return the template, <code>null</code> if the string is <code>null</code>.
      */
-    private Siren4JSubEntity getSubEntityAnnotation(Field currentField, List<ReflectedInfo> fieldInfo) {
-        Siren4JSubEntity result = null;
-        result = currentField.getAnnotation(Siren4JSubEntity.class);
-        if (result == null && fieldInfo != null) {
-            ReflectedInfo info = ReflectionUtils.getFieldInfoByName(fieldInfo, currentField.getName());
-            if (info != null && info.getGetter() != null) {
-                result = info.getGetter().getAnnotation(Siren4JSubEntity.class);
-            }
+    private static TokenTemplate dynamicTemplate(String str) {
+        return str == null ? null : TokenTemplate.create(str);
+    }
+
+    /**
+     * Render the template with the tokens of the current and parent objects.
+     *
+     * @param template may be <code>null</code>.
+     * @param context assumed not <code>null</code>.
+     * @return the rendered string, <code>null</code> if the template is <code>null</code>.
+     * @throws Siren4JException
+     */
+    private String handleTokenReplacement(TokenTemplate template, EntityContext context) throws Siren4JException {
+        if (template == null) {
+            return null;
         }
-        return result;
+        ConversionPlan plan;
+        ConversionPlan parentPlan;
+        if (context instanceof PlannedEntityContext) {
+            plan = ((PlannedEntityContext) context).getPlan();
+            parentPlan = ((PlannedEntityContext) context).getParentPlan();
+        } else {
+            plan = ConversionPlan.forClass(context.getCurrentObject().getClass());
+            parentPlan = context.getParentObject() != null
+                    ? ConversionPlan.forClass(context.getParentObject().getClass()) : null;
+        }
+        ConversionListener l = listener;
+        long start = l != null ? System.nanoTime() : 0;
+        String resolved = template.render(context.getCurrentObject(), plan.getTokenIndex(),
+                context.getParentObject(), parentPlan != null ? parentPlan.getTokenIndex() : null);
+        if (l != null) {
+            l.templateResolved(plan.getResourceClass(), System.nanoTime() - start);
+        }
+        return resolved;
     }
 
     /**
-     * Add the self link to the entity.
+     * Creates the self link for the entity.
      *
-     * @param builder assumed not <code>null</code>.
-     * @param resolvedUri the token resolved uri. Assumed not blank.
+     * @param resolvedUri the token resolved uri.
+     * @return the link or <code>null</code> if the uri is blank.
      */
-    private void handleSelfLink(EntityBuilder builder, String resolvedUri) {
+    private Link createSelfLink(String resolvedUri) {
         if (StringUtils.isBlank(resolvedUri)) {
-            return;
+            return null;
         }
-        Link link = LinkBuilder.newInstance().setRelationship(Link.RELATIONSHIP_SELF).setHref(resolvedUri).build();
-        builder.addLink(link);
+        return LinkBuilder.newInstance().setRelationship(Link.RELATIONSHIP_SELF).setHref(resolvedUri).build();
     }
 
     /**
-     * Add the baseUri link to the entity if the baseUri is set on the entity.
+     * Creates the baseUri link for the entity if the baseUri is set on the entity.
      *
-     * @param builder assumed not <code>null</code>.
-     * @param baseUri the token resolved uri. Assumed not blank.
+     * @param baseUri the baseUri, may be <code>null</code>.
+     * @return the link or <code>null</code> if the baseUri is blank.
      */
-    private void handleBaseUriLink(EntityBuilder builder, String baseUri) {
+    private Link createBaseUriLink(String baseUri) {
         if (StringUtils.isBlank(baseUri)) {
-            return;
+            return null;
         }
-        Link link = LinkBuilder.newInstance().setRelationship(Link.RELATIONSHIP_BASEURI).setHref(baseUri).build();
-        builder.addLink(link);
+        return LinkBuilder.newInstance().setRelationship(Link.RELATIONSHIP_BASEURI).setHref(baseUri).build();
     }
 
     /**
-     * Handles getting all entity links both dynamically set and via annotations and merges them together overriding with
-     * the proper precedence order which is Dynamic > SubEntity > Entity. Href and uri's are resolved with the correct data
-     * bound in.
+     * Collects all links of the entity in output order: the baseUri link, the self link and then all entity links both
+     * dynamically set and via annotations, merged together overriding with the proper precedence order which is
+     * Dynamic > SubEntity > Entity. Href and uri's are resolved with the correct data bound in.
      *
-     * @param builder assumed not <code>null</code>.
-     * @param context assumed not <code>null</code>.
-     * @throws Exception
+     * @param state assumed not <code>null</code>.
+     * @return the links, never <code>null</code>.
+     * @throws Siren4JException
      */
-    private void handleEntityLinks(EntityBuilder builder, EntityContext context) throws Siren4JException {
+    private List<Link> collectLinks(EntityState state) throws Siren4JException {
+        List<Link> result = new ArrayList<Link>();
+        EntityContext context = state.context;
+        Object obj = state.obj;
+        if (obj instanceof Resource) {
+            Resource res = (Resource) obj;
+            boolean skipBaseUri = isSuppressBaseUriOnFullyQualified() && (res.isFullyQualifiedLinks()
+                    && res.getBaseUri() != null);
+            if (!skipBaseUri) {
+                addIfNotNull(result, createBaseUriLink(res.getBaseUri()));
+            }
+        }
+        addIfNotNull(result, createSelfLink(state.resolvedUri));
 
-        Class<?> clazz = context.getCurrentObject().getClass();
-        Map<String, Link> links = new HashMap<String, Link>();
-        /* Caution!! Order matters when adding to the links map */
+        /*
+         * Values are either a LinkPrototype or a dynamic Link, only the ones that win the merge are materialized or
+         * resolved. Caution!! Order matters when adding to the links map
+         */
+        Map<String, Object> links = new HashMap<String, Object>();
 
-        Siren4JEntity entity = clazz.getAnnotation(Siren4JEntity.class);
-        if (entity != null && ArrayUtils.isNotEmpty(entity.links())) {
-            for (Siren4JLink l : entity.links()) {
-                if (evaluateConditional(l.condition(), context)) {
-                    links.put(ArrayUtils.toString(l.rel()), annotationToLink(l, context));
-                }
+        for (LinkPrototype proto : state.plan.getLinkPrototypes()) {
+            if (proto.getCondition().evaluate(context)) {
+                links.put(proto.getKey(), proto);
             }
         }
-        if (context.getParentField() != null) {
-            Siren4JSubEntity subentity = context.getParentField().getAnnotation(Siren4JSubEntity.class);
-            if (subentity != null && ArrayUtils.isNotEmpty(subentity.links())) {
-                for (Siren4JLink l : subentity.links()) {
-                    if (evaluateConditional(l.condition(), context)) {
-                        links.put(ArrayUtils.toString(l.rel()), annotationToLink(l, context));
-                    }
+        if (state.parentFieldPlan != null) {
+            for (LinkPrototype proto : state.parentFieldPlan.getLinkPrototypes()) {
+                if (proto.getCondition().evaluate(context)) {
+                    links.put(proto.getKey(), proto);
                 }
             }
         }
 
-        Collection<Link> resourceLinks = context.getCurrentObject() instanceof Resource
-                ? ((Resource) context.getCurrentObject()).getEntityLinks() : null;
+        Collection<Link> resourceLinks = obj instanceof Resource ? ((Resource) obj).getEntityLinks() : null;
         if (resourceLinks != null) {
             for (Link l : resourceLinks) {
                 links.put(ArrayUtils.toString(l.getRel()), l);
             }
         }
-        for (Link l : links.values()) {
-            l.setHref(resolveUri(l.getHref(), context, false));
-            builder.addLink(l);
+        for (Object value : links.values()) {
+            if (value instanceof LinkPrototype) {
+                result.add(materializeLink((LinkPrototype) value, context));
+            } else {
+                Link l = copyDynamic((Link) value);
+                String href = resolveUri(dynamicTemplate(l.getHref()), context, false);
+                if (!StringUtils.equals(href, l.getHref())) {
+                    l.setHref(href);
+                }
+                result.add(l);
+            }
         }
-
+        return result;
     }
 
     /**
-     * Handles getting all entity actions both dynamically set and via annotations and merges them together overriding with
+     * Collects all entity actions both dynamically set and via annotations and merges them together overriding with
      * the proper precedence order which is Dynamic > SubEntity > Entity. Href and uri's are resolved with the correct data
      * bound in.
      *
-     * @param builder
-     * @param context
-     * @throws Exception
+     * @param state assumed not <code>null</code>.
+     * @return the actions, never <code>null</code>.
+     * @throws Siren4JException
      */
-    private void handleEntityActions(EntityBuilder builder, EntityContext context) throws Siren4JException {
-        Class<?> clazz = context.getCurrentObject().getClass();
-        Map<String, Action> actions = new HashMap<String, Action>();
-        /* Caution!! Order matters when adding to the actions map */
-
-        Siren4JEntity entity = clazz.getAnnotation(Siren4JEntity.class);
-        if (entity != null && ArrayUtils.isNotEmpty(entity.actions())) {
-            for (Siren4JAction a : entity.actions()) {
-                if (evaluateConditional(a.condition(), context)) {
-                    actions.put(a.name(), annotationToAction(a, context));
-                }
+    private List<Action> collectActions(EntityState state) throws Siren4JException {
+        EntityContext context = state.context;
+        /*
+         * Values are either an ActionPrototype or a dynamic Action, see collectLinks. Caution!! Order matters when
+         * adding to the actions map
+         */
+        Map<String, Object> actions = new HashMap<String, Object>();
+
+        for (ActionPrototype proto : state.plan.getActionPrototypes()) {
+            if (proto.getCondition().evaluate(context)) {
+                actions.put(proto.getAnnotation().name(), proto);
             }
         }
-        if (context.getParentField() != null) {
-            Siren4JSubEntity subentity = context.getParentField().getAnnotation(Siren4JSubEntity.class);
-            if (subentity != null && ArrayUtils.isNotEmpty(subentity.actions())) {
-                for (Siren4JAction a : subentity.actions()) {
-                    if (evaluateConditional(a.condition(), context)) {
-                        actions.put(a.name(), annotationToAction(a, context));
-                    }
+        if (state.parentFieldPlan != null) {
+            for (ActionPrototype proto : state.parentFieldPlan.getActionPrototypes()) {
+                if (proto.getCondition().evaluate(context)) {
+                    actions.put(proto.getAnnotation().name(), proto);
                 }
             }
         }
 
-        Collection<Action> resourceLinks = context.getCurrentObject() instanceof Resource
-                ? ((Resource) context.getCurrentObject()).getEntityActions() : null;
-        if (resourceLinks != null) {
-            for (Action a : resourceLinks) {
+        Collection<Action> resourceActions = state.obj instanceof Resource
+                ? ((Resource) state.obj).getEntityActions() : null;
+        if (resourceActions != null) {
+            for (Action a : resourceActions) {
                 actions.put(a.getName(), a);
             }
         }
-        for (Action a : actions.values()) {
-            a.setHref(resolveUri(a.getHref(), context, false));
-            builder.addAction(a);
+        List<Action> result = new ArrayList<Action>(actions.size());
+        for (Object value : actions.values()) {
+            if (value instanceof ActionPrototype) {
+                result.add(materializeAction((ActionPrototype) value, context));
+            } else {
+                Action a = copyDynamic((Action) value);
+                String href = resolveUri(dynamicTemplate(a.getHref()), context, false);
+                if (!StringUtils.equals(href, a.getHref())) {
+                    a.setHref(href);
+                }
+                result.add(a);
+            }
         }
+        return result;
     }
 
     /**
-     * Evaluates a value against its specified conditional.
-     *
-     * @param condition
-     * @param context
-     * @return
+     * Dynamic links belong to the resource, the entity gets a copy so resolving the href or freezing a cached entity
+     * doesn't change the resource's own link.
      */
-    private boolean evaluateConditional(Siren4JCondition condition, EntityContext context) {
-        boolean result = true;
-        if (condition != null && !("null".equals(condition.name()))) {
-            result = false;
-            Object val = null;
-            ConditionFactory factory = ConditionFactory.getInstance();
-            Condition cond = factory.getCondition(condition.logic());
-            Object obj = condition.name().startsWith("parent.")
-                    ? context.getParentObject()
-                    : context.getCurrentObject();
-            String name = condition.name().startsWith("parent.")
-                    ? condition.name().substring(7)
-                    : condition.name();
-            if (obj == null) {
-                throw new Siren4JRuntimeException(
-                        "No object found. Conditional probably references a parent but does not have a parent: " + condition
-                                .name());
-            }
-            if (condition.type().equals(Type.METHOD)) {
-                try {
-                    Method method = ReflectionUtils.findMethod(obj.getClass(), name,
-                            null);
-                    if (method != null) {
-                        method.setAccessible(true);
-                        val = method.invoke(obj, new Object[]{});
-                        result = cond.evaluate(val);
-                    } else {
-                        throw new Siren4JException(
-                                "Method referenced in condition does not exist: " + condition.name());
-                    }
-                } catch (Exception e) {
-                    throw new Siren4JRuntimeException(e);
-                }
-            } else {
-                try {
-                    Field field = ReflectionUtils.findField(obj.getClass(), name);
-                    if (field != null) {
-                        field.setAccessible(true);
-                        val = field.get(obj);
-                        result = cond.evaluate(val);
-                    } else {
-                        throw new Siren4JException("Field referenced in condition does not exist: " + condition.name());
-                    }
-                } catch (Exception e) {
-                    throw new Siren4JRuntimeException(e);
-                }
-            }
+    private static Link copyDynamic(Link link) {
+        return link instanceof LinkImpl ? ((LinkImpl) link).copy() : link;
+    }
+
+    /**
+     * See {@link #copyDynamic(Link)}.
+     */
+    private static Action copyDynamic(Action action) {
+        return action instanceof ActionImpl ? ((ActionImpl) action).copy() : action;
+    }
+
+    private static <T> void addIfNotNull(List<T> list, T item) {
+        if (item != null) {
+            list.add(item);
         }
-        return result;
     }
 
     /**
-     * Convert a link annotation to an actual link. The href will not be resolved in the instantiated link, this will need
-     * to be post processed.
+     * Materialize a link from its prototype with the href resolved.
      *
-     * @param linkAnno assumed not <code>null</code>.
-     * @return new link, never <code>null</code>.
+     * @param proto assumed not <code>null</code>.
+     * @return a new link, never <code>null</code>.
      */
-    private Link annotationToLink(Siren4JLink linkAnno, EntityContext context) {
-        LinkBuilder builder = LinkBuilder.newInstance().setRelationship(linkAnno.rel()).setHref(linkAnno.href());
-        if (StringUtils.isNotBlank(linkAnno.title())) {
-            builder.setTitle(linkAnno.title());
-        }
-        if (ArrayUtils.isNotEmpty(linkAnno.linkClass())) {
-            builder.setComponentClass(linkAnno.linkClass());
-        }
-        return builder.build();
+    private Link materializeLink(LinkPrototype proto, EntityContext context) throws Siren4JException {
+        String href = resolveUri(proto.getHrefTemplate(), context, false);
+        Link link = proto.newLink();
+        link.setHref(href);
+        return link;
     }
 
     /**
-     * Convert an action annotation to an actual action. The href will not be resolved in the instantiated action, this will
-     * need to be post processed.
+     * Materialize an action from its prototype with the href and all tokens resolved.
      *
-     * @param actionAnno assumed not <code>null</code>.
-     * @return new action, never <code>null</code>.
+     * @param proto assumed not <code>null</code>.
+     * @return a new action, never <code>null</code>.
      */
-    private Action annotationToAction(Siren4JAction actionAnno, EntityContext context) throws Siren4JException {
-        ActionBuilder builder = ActionBuilder.newInstance();
-        builder.setName(actionAnno.name()).setHref(actionAnno.href()).setMethod(actionAnno.method());
-        if (ArrayUtils.isNotEmpty(actionAnno.actionClass())) {
-            builder.setComponentClass(actionAnno.actionClass());
-        }
-        if (StringUtils.isNotBlank(actionAnno.title())) {
-            builder.setTitle(actionAnno.title());
-        }
-        if (StringUtils.isNotBlank(actionAnno.type())) {
-            builder.setType(actionAnno.type());
-        }
-        if (ArrayUtils.isNotEmpty(actionAnno.fields())) {
-            for (Siren4JActionField f : actionAnno.fields()) {
-                builder.addField(annotationToField(f, context));
-            }
-        }
-        if (ArrayUtils.isNotEmpty(actionAnno.urlParams())) {
-            for (Siren4JActionField f : actionAnno.urlParams()) {
-                builder.addUrlParam(annotationToField(f, context));
-            }
-        }
-        if (ArrayUtils.isNotEmpty(actionAnno.headers())) {
-            for (Siren4JActionField f : actionAnno.headers()) {
-                builder.addHeader(annotationToField(f, context));
-            }
-        }
-        if(ArrayUtils.isNotEmpty(actionAnno.metaData())) {
-            Map<String, String> metaData = new HashMap();
-            for(Siren4JMetaData mdAnno : actionAnno.metaData()) {
-                metaData.put(mdAnno.key(), handleTokenReplacement(mdAnno.value(), context));
-            }
-            builder.setMetaData(metaData);
+    private Action materializeAction(ActionPrototype proto, EntityContext context) throws Siren4JException {
+        String href = resolveUri(proto.getHrefTemplate(), context, false);
+        Action action = proto.newAction();
+        action.setHref(href);
+        if (proto.isConstant()) {
+            return action;
         }
-        return builder.build();
+        resolveFields(action.getFields(), context);
+        resolveFields(action.getUrlParams(), context);
+        resolveFields(action.getHeaders(), context);
+        resolveMetaData(action.getMetaData(), context);
+        return action;
     }
 
     /**
-     * Convert a field annotation to an actual field.
+     * Resolve the tokens of all fields.
      *
-     * @param fieldAnno assumed not <code>null</code>.
-     * @return new field, never <code>null</code>.
+     * @param fields may be <code>null</code>.
      */
-    private com.google.code.siren4j.component.Field annotationToField(Siren4JActionField fieldAnno,
-                                                                      EntityContext context)
+    private void resolveFields(List<com.google.code.siren4j.component.Field> fields, EntityContext context)
             throws Siren4JException {
-        FieldBuilder builder = FieldBuilder.newInstance();
-        builder.setName(fieldAnno.name());
-        if (ArrayUtils.isNotEmpty(fieldAnno.fieldClass())) {
-            builder.setComponentClass(fieldAnno.fieldClass());
-        }
-        if(StringUtils.isNotBlank(fieldAnno.title())) {
-            builder.setTitle(fieldAnno.title());
-        }
-        if (fieldAnno.max() > -1) {
-            builder.setMax(fieldAnno.max());
-        }
-        if (fieldAnno.min() > -1) {
-            builder.setMin(fieldAnno.min());
-        }
-        if (fieldAnno.maxLength() > -1) {
-            builder.setMaxLength(fieldAnno.maxLength());
-        }
-        if (StringUtils.isNotBlank(fieldAnno.step())) {
-            builder.setStep(fieldAnno.step());
-        }
-        if (fieldAnno.required()) {
-            builder.setRequired(true);
-        }
-        if (StringUtils.isNotBlank(fieldAnno.pattern())) {
-            builder.setPattern(fieldAnno.pattern());
-        }
-        if (StringUtils.isNotBlank(fieldAnno.type())) {
-            builder.setType(FieldType.valueOf(fieldAnno.type().toUpperCase()));
-        }
-        if (StringUtils.isNotBlank(fieldAnno.value())) {
-            builder.setValue(handleTokenReplacement(fieldAnno.value(), context));
+        if (fields == null) {
+            return;
         }
-        if (ArrayUtils.isNotEmpty(fieldAnno.options())) {
-            for (Siren4JFieldOption optAnno : fieldAnno.options()) {
-                FieldOption opt = new FieldOption();
-                if (StringUtils.isNotBlank(optAnno.title())) {
-                    opt.setTitle(optAnno.title());
-                }
-                if (StringUtils.isNotBlank(optAnno.value())) {
-                    opt.setValue(handleTokenReplacement(optAnno.value(), context));
-                }
-                opt.setOptionDefault(optAnno.optionDefault());
-                if (ArrayUtils.isNotEmpty(optAnno.data())) {
-                    for (Siren4JOptionData data : optAnno.data()) {
-                        opt.putData(data.key(), handleTokenReplacement(data.value(), context));
+        for (com.google.code.siren4j.component.Field f : fields) {
+            FieldImpl field = (FieldImpl) f;
+            if (StringUtils.isNotBlank(field.getValue())) {
+                field.setValue(handleTokenReplacement(field.getValue(), context));
+            }
+            if (field.getOptions() != null) {
+                for (FieldOption opt : field.getOptions()) {
+                    if (StringUtils.isNotBlank(opt.getValue())) {
+                        opt.setValue(handleTokenReplacement(opt.getValue(), context));
                     }
+                    resolveMetaData(opt.getData(), context);
                 }
-                builder.addOption(opt);
             }
+            if (StringUtils.isNotBlank(field.getOptionsURL())) {
+                field.setOptionsURL(resolveUri(TokenTemplate.parse(field.getOptionsURL()), context, false));
+            }
+            resolveMetaData(field.getMetaData(), context);
         }
-        if (StringUtils.isNotBlank(fieldAnno.optionsURL())) {
-            builder.setOptionsURL(resolveUri(fieldAnno.optionsURL(), context, false));
-        }
-        if (StringUtils.isNotBlank(fieldAnno.placeHolder())) {
-            builder.setPlaceholder(fieldAnno.placeHolder());
+    }
+
+    /**
+     * @param metaData may be <code>null</code>.
+     */
+    private void resolveMetaData(Map<String, String> metaData, EntityContext context) throws Siren4JException {
+        if (metaData == null) {
+            return;
         }
-        if(ArrayUtils.isNotEmpty(fieldAnno.metaData())) {
-            Map<String, String> metaData = new HashMap();
-            for(Siren4JMetaData mdAnno : fieldAnno.metaData()) {
-                metaData.put(mdAnno.key(), handleTokenReplacement(mdAnno.value(), context));
-            }
-            builder.setMetaData(metaData);
+        for (Map.Entry<String, String> entry : metaData.entrySet()) {
+            entry.setValue(handleTokenReplacement(entry.getValue(), context));
         }
-        return builder.build();
     }
 
     /**
      * Determine if the property or entity should be skipped based on any existing include policy. The TYPE annotation is
-     * checked first and then the field annotation, the field annotation takes precedence.
+     * checked first and then the field annotation, the field annotation takes precedence. Both are resolved once
+     * in the field plan.
      *
-     * @param obj assumed not <code>null</code>.
-     * @param field assumed not <code>null</code>.
+     * @param fieldPlan assumed not <code>null</code>.
+     * @param val the current value of the field, may be <code>null</code>.
      * @return <code>true</code> if the property/enity should be skipped.
-     * @throws Siren4JException
      */
-    private boolean skipProperty(Object obj, Field field) throws Siren4JException {
+    private boolean skipProperty(FieldPlan fieldPlan, Object val) {
         boolean skip = false;
-        Class<?> clazz = obj.getClass();
-        Include inc = Include.ALWAYS;
-        Siren4JInclude typeInclude = clazz.getAnnotation(Siren4JInclude.class);
-        if (typeInclude != null) {
-            inc = typeInclude.value();
-        }
-        Siren4JInclude fieldInclude = field.getAnnotation(Siren4JInclude.class);
-        if (fieldInclude != null) {
-            inc = fieldInclude.value();
-        }
-        try {
-            Object val = field.get(obj);
-            switch (inc) {
-                case NON_EMPTY:
-                    if (val != null) {
-                        if (String.class.equals(field.getType())) {
-                            skip = StringUtils.isBlank((String) val);
-                        } else if (CollectionResource.class.equals(field.getType())) {
-                            skip = ((CollectionResource<?>) val).isEmpty();
-                        }
-                    } else {
-                        skip = true;
+        Class<?> type = fieldPlan.getField().getType();
+        switch (fieldPlan.getInclude()) {
+            case NON_EMPTY:
+                if (val != null) {
+                    if (String.class.equals(type)) {
+                        skip = StringUtils.isBlank((String) val);
+                    } else if (CollectionResource.class.equals(type)) {
+                        skip = ((CollectionResource<?>) val).isEmpty();
                     }
-                    break;
-                case NON_NULL:
-                    if (val == null) {
-                        skip = true;
-                    }
-                    break;
-                case ALWAYS:
-            }
-        } catch (Exception e) {
-            throw new Siren4JRuntimeException(e);
+                } else {
+                    skip = true;
+                }
+                break;
+            case NON_NULL:
+                if (val == null) {
+                    skip = true;
+                }
+                break;
+            case ALWAYS:
         }
         return skip;
     }
@@ -990,6 +2067,17 @@ public class ReflectingConverter implements ResourceConverter {
         }
     }
 
+    /**
+     * Same as {@link #isCollection(Object, Field)} but uses the declared type check precomputed in the field plan.
+     *
+     * @param fieldPlan assumed not <code>null</code>.
+     * @param val the current value of the field, may be <code>null</code>.
+     * @return
+     */
+    private boolean isCollection(FieldPlan fieldPlan, Object val) {
+        return fieldPlan.isCollection() && (val == null || !CollectionResource.class.equals(val.getClass()));
+    }
+
     /**
      * Returns the collection tag to be added to a collection's class. The
      * default is 'collection'. Can be overridden to change tag or set to return
@@ -1001,4 +2089,28 @@ public class ReflectingConverter implements ResourceConverter {
         return "collection";
     }
 
+    /**
+     * Per entity state resolved by
+     * {@link #prepareEntity(Object, ConversionPlan, ConversionPlan, FieldPlan, ConversionPath, int)}.
+     */
+    private static final class EntityState {
+
+        private final Object obj;
+        private final ConversionPlan plan;
+        private final FieldPlan parentFieldPlan;
+        private final EntityContext context;
+        private boolean embeddedLink;
+        private boolean omitted;
+        private String resolvedUri;
+        private String[] componentClass;
+        private String[] rel;
+
+        private EntityState(Object obj, ConversionPlan plan, FieldPlan parentFieldPlan, EntityContext context) {
+            this.obj = obj;
+            this.plan = plan;
+            this.parentFieldPlan = parentFieldPlan;
+            this.context = context;
+        }
+    }
+
 }
@@ -1,11 +1,19 @@
 package com.google.code.siren4j.converter;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URL;
 import java.util.Collection;
+import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.reflections.Reflections;
@@ -15,6 +23,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.google.code.siren4j.annotations.Siren4JEntity;
 import com.google.code.siren4j.error.Siren4JException;
+import com.google.code.siren4j.resource.CollectionResource;
+import com.google.code.siren4j.resource.ErrorMessageResource;
 
 /**
  * The resource registry keeps a list of all Siren4J Resources as defined by their
@@ -23,19 +33,45 @@ import com.google.code.siren4j.error.Siren4JException;
  * classpath scanning. This is required for the
  * {@link ReflectingConverter#toObject(com.google.code.siren4j.component.Entity)} method so
  * it can figure out which classes to reconstitute.
+ * <p/>
+ * Resources compiled with the siren4j annotation processor are listed in a {@link #INDEX_LOCATION} index. The
+ * registry looks at the same classpath roots a scan of the packages would, roots with an index are read from their
+ * index and only the roots without one, e.g. compiled without the processor, are scanned.
  */
 public class ResourceRegistryImpl implements ResourceRegistry {
 
-    private Map<String, Class<?>> entries = new HashMap<String, Class<?>>();
+    /**
+     * Classpath location of the resource indexes written by the annotation processor. Each line holds the binary
+     * class name of a <code>Siren4JEntity</code> type, lines starting with <code>#</code> are comments.
+     */
+    public static final String INDEX_LOCATION = "META-INF/siren4j/resources";
+
+    /**
+     * The resources of siren4j itself, these are always registered.
+     */
+    private static final Class<?>[] BUILT_IN_RESOURCES = {CollectionResource.class, ErrorMessageResource.class};
+
+    private final ConcurrentMap<String, Class<?>> entries = new ConcurrentHashMap<String, Class<?>>();
 
     private static Logger LOG = LoggerFactory.getLogger(ResourceRegistryImpl.class);
 
-    private ResourceRegistryImpl(String... packages) throws Siren4JException {
-        init(packages);
+    private ResourceRegistryImpl(ClassLoader loader, boolean useIndex, String... packages) throws Siren4JException {
+        Object event = ConversionEvents.INSTANCE.beginRegistryScan();
+        boolean fromIndex = false;
+        if (!useIndex || !hasIndex(loader)) {
+            init(packages);
+        } else {
+            fromIndex = initFromIndex(loader, packages);
+        }
+        if (event != null) {
+            ConversionEvents.INSTANCE.endRegistryScan(event, StringUtils.join(packages, ','), fromIndex,
+                    new HashSet<Class<?>>(entries.values()).size());
+        }
     }
 
     /**
-     * Retrieve a new resource registry instance.
+     * Retrieve a new resource registry instance. Classpath roots of the context class loader with a resource index are
+     * read from the index, the other roots are scanned.
      *
      * @param packages array of package pattern strings that will be searched
      * for resources.
@@ -43,7 +79,39 @@ public class ResourceRegistryImpl implements ResourceRegistry {
      * @throws Siren4JException
      */
     public static ResourceRegistry newInstance(String... packages) throws Siren4JException {
-        return new ResourceRegistryImpl(packages);
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        return newInstance(loader != null ? loader : ResourceRegistryImpl.class.getClassLoader(), packages);
+    }
+
+    /**
+     * Retrieve a new resource registry instance for the classpath roots of the class loader that hold the packages.
+     * Roots with a resource index are read from the index, the other roots are scanned.
+     *
+     * @param loader cannot be <code>null</code>.
+     * @param packages array of package pattern strings that will be searched
+     * for resources.
+     * @return the instance, never <code>null</code>.
+     * @throws Siren4JException
+     * @since 2.2.0
+     */
+    public static ResourceRegistry newInstance(ClassLoader loader, String... packages) throws Siren4JException {
+        if (loader == null) {
+            throw new IllegalArgumentException("loader cannot be null.");
+        }
+        return new ResourceRegistryImpl(loader, true, packages);
+    }
+
+    /**
+     * Retrieve a new resource registry instance by scanning the classpath, ignoring any resource index.
+     *
+     * @param packages array of package pattern strings that will be searched
+     * for resources.
+     * @return the instance, never <code>null</code>.
+     * @throws Siren4JException
+     * @since 2.2.0
+     */
+    public static ResourceRegistry newScanningInstance(String... packages) throws Siren4JException {
+        return new ResourceRegistryImpl(null, false, packages);
     }
 
     /* (non-Javadoc)
@@ -59,9 +127,8 @@ public class ResourceRegistryImpl implements ResourceRegistry {
     /* (non-Javadoc)
      * @see com.google.code.siren4j.converter.ResourceRegistry#getAllEntries()
      */
-    @SuppressWarnings("unchecked")
     public Map<String, Class<?>> getAllEntries() {
-        return (Map<String, Class<?>>) MapUtils.unmodifiableMap(entries);
+        return MapUtils.unmodifiableMap(entries);
     }
 
     /* (non-Javadoc)
@@ -94,7 +161,8 @@ public class ResourceRegistryImpl implements ResourceRegistry {
         if (clazz == null) {
             throw new IllegalArgumentException("clazz cannot be null.");
         }
-        if (!overwrite && containsEntityEntry(entityName)) {
+        Class<?> existing = overwrite ? null : entries.putIfAbsent(entityName, clazz);
+        if (existing != null) {
             String newline = "\n";
             StringBuilder msg = new StringBuilder("Attempted to add a resource with duplicate name to the registry: ");
             msg.append(newline);
@@ -102,7 +170,7 @@ public class ResourceRegistryImpl implements ResourceRegistry {
             msg.append(entityName);
             msg.append(newline);
             msg.append("Existing class: ");
-            msg.append(getClassByEntityName(entityName).getName());
+            msg.append(existing.getName());
             msg.append(newline);
             msg.append("Other class: ");
             msg.append(clazz.getName());
@@ -111,7 +179,9 @@ public class ResourceRegistryImpl implements ResourceRegistry {
         }
         LOG.info("Found Siren4J resource: [name: "
                 + entityName + "] [class: " + clazz.getName() + "]");
-        entries.put(entityName, clazz);
+        if (overwrite) {
+            entries.put(entityName, clazz);
+        }
 
     }
 
@@ -146,15 +216,135 @@ public class ResourceRegistryImpl implements ResourceRegistry {
 
         Set<Class<?>> types = reflections.getTypesAnnotatedWith(Siren4JEntity.class);
         for (Class<?> c : types) {
-            Siren4JEntity anno = c.getAnnotation(Siren4JEntity.class);
-			String defaultName = (anno != null && anno.entityClass().length > 0) ? anno.entityClass()[0] : c.getName();
-			String annoName = anno != null ? anno.name(): null;
-			String name = StringUtils.defaultIfBlank(annoName, defaultName);
-            putEntry(StringUtils.defaultIfEmpty(name, c.getName()), c, false);
-            // Always add the class name as an entry in the index if it does not already exist.
-            if (!containsEntityEntry(c.getName())) {
-                putEntry(StringUtils.defaultIfEmpty(c.getName(), c.getName()), c, false);
+            register(c);
+        }
+    }
+
+    /**
+     * @param loader may be <code>null</code>.
+     * @return <code>true</code> if there is a resource index on the classpath of the loader.
+     * @throws Siren4JException
+     */
+    private static boolean hasIndex(ClassLoader loader) throws Siren4JException {
+        try {
+            return loader != null && loader.getResources(INDEX_LOCATION).hasMoreElements();
+        } catch (IOException e) {
+            throw new Siren4JException("Unable to read resource index: " + INDEX_LOCATION, e);
+        }
+    }
+
+    /**
+     * Fills the registry from the indexes of the classpath roots that hold the packages and scans the roots without
+     * an index, the roots are the same as for {@link #init(String...)}.
+     *
+     * @param loader assumed not <code>null</code>.
+     * @param packages
+     * @return <code>true</code> if all roots had an index so nothing was scanned.
+     * @throws Siren4JException
+     */
+    @SuppressWarnings("deprecation")
+    private boolean initFromIndex(ClassLoader loader, String... packages) throws Siren4JException {
+        Map<String, URL> indexesByRoot = new HashMap<String, URL>();
+        try {
+            Enumeration<URL> indexes = loader.getResources(INDEX_LOCATION);
+            while (indexes.hasMoreElements()) {
+                URL index = indexes.nextElement();
+                indexesByRoot.put(StringUtils.removeEnd(index.toExternalForm(), INDEX_LOCATION), index);
             }
+        } catch (IOException e) {
+            throw new Siren4JException("Unable to read resource index: " + INDEX_LOCATION, e);
+        }
+        Collection<URL> roots = new LinkedHashSet<URL>();
+        if (packages != null && packages.length > 0) {
+            for (String pkg : packages) {
+                roots.addAll(ClasspathHelper.forPackage(pkg, loader));
+            }
+        } else {
+            roots.addAll(ClasspathHelper.forPackage("com.", loader));
+            roots.addAll(ClasspathHelper.forPackage("org.", loader));
+            roots.addAll(ClasspathHelper.forPackage("net.", loader));
+        }
+        Set<String> classNames = new LinkedHashSet<String>();
+        Collection<URL> unindexed = new HashSet<URL>();
+        try {
+            for (URL root : roots) {
+                URL index = indexesByRoot.get(root.toExternalForm());
+                if (index != null) {
+                    readIndex(index, classNames);
+                } else {
+                    unindexed.add(root);
+                }
+            }
+        } catch (IOException e) {
+            throw new Siren4JException("Unable to read resource index: " + INDEX_LOCATION, e);
+        }
+
+        LOG.info("Siren4J loading resource entries from " + INDEX_LOCATION + "...");
+        for (Class<?> c : BUILT_IN_RESOURCES) {
+            register(c);
+        }
+        for (String className : classNames) {
+            Class<?> c;
+            try {
+                c = Class.forName(className, false, loader);
+            } catch (ClassNotFoundException e) {
+                LOG.warn("Skipping indexed Siren4J resource that is not on the classpath: " + className);
+                continue;
+            } catch (LinkageError e) {
+                LOG.warn("Skipping indexed Siren4J resource that can't be loaded: " + className, e);
+                continue;
+            }
+            // Every registered class has an entry by its class name, skip the built in resources.
+            if (c.isAnnotationPresent(Siren4JEntity.class) && entries.get(c.getName()) != c) {
+                register(c);
+            }
+        }
+        if (unindexed.isEmpty()) {
+            return true;
+        }
+        LOG.info("Siren4J scanning classpath roots without " + INDEX_LOCATION + " for resource entries...");
+        Reflections reflections = new Reflections(
+                new ConfigurationBuilder().setUrls(unindexed).addClassLoaders(loader));
+        for (Class<?> c : reflections.getTypesAnnotatedWith(Siren4JEntity.class)) {
+            if (entries.get(c.getName()) != c) {
+                register(c);
+            }
+        }
+        return false;
+    }
+
+    private static void readIndex(URL index, Set<String> classNames) throws IOException {
+        InputStream in = index.openStream();
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, "UTF-8"));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    classNames.add(line);
+                }
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Adds the entries for a resource class, by its entity name and by its class name.
+     *
+     * @param c assumed not <code>null</code>.
+     * @throws Siren4JException if the entity name is already taken by another class.
+     */
+    @SuppressWarnings("deprecation")
+    private void register(Class<?> c) throws Siren4JException {
+        Siren4JEntity anno = c.getAnnotation(Siren4JEntity.class);
+		String defaultName = (anno != null && anno.entityClass().length > 0) ? anno.entityClass()[0] : c.getName();
+		String annoName = anno != null ? anno.name(): null;
+		String name = StringUtils.defaultIfBlank(annoName, defaultName);
+        putEntry(StringUtils.defaultIfEmpty(name, c.getName()), c, false);
+        // Always add the class name as an entry in the index if it does not already exist.
+        if (!containsEntityEntry(c.getName())) {
+            putEntry(StringUtils.defaultIfEmpty(c.getName(), c.getName()), c, false);
         }
     }
 
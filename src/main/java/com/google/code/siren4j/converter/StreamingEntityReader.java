@@ -0,0 +1,239 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.google.code.siren4j.Siren4J;
+import com.google.code.siren4j.error.Siren4JConversionException;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads Siren JSON from a parser straight into resources for {@link ReflectingConverter#readObject(JsonParser,
+ * Class)}, the counterpart of {@link StreamingEntity}. Properties are set as they are parsed and sub entities are
+ * read recursively, links and actions are skipped without being parsed into objects.
+ * <p/>
+ * The resource class must be known before anything can be set on it. Entities written by siren4j have the reserved
+ * class property first, so usually nothing is held back. If an entity's properties or sub entities come before its
+ * class can be resolved they are buffered and replayed once it is.
+ */
+final class StreamingEntityReader {
+
+    private static final String CLASS = "class";
+    private static final String REL = "rel";
+    private static final String HREF = "href";
+    private static final String PROPERTIES = "properties";
+    private static final String ENTITIES = "entities";
+
+    private final ReflectingConverter converter;
+    private final JsonParser parser;
+
+    StreamingEntityReader(ReflectingConverter converter, JsonParser parser) {
+        if (parser.getCodec() == null) {
+            throw new IllegalArgumentException("parser must have a codec.");
+        }
+        this.converter = converter;
+        this.parser = parser;
+    }
+
+    /**
+     * @param targetClass the class of the top level resource, may be <code>null</code>.
+     * @return the resource or <code>null</code> if the parser holds a JSON null.
+     */
+    Object read(Class<?> targetClass) throws IOException {
+        JsonToken token = parser.currentToken() != null ? parser.currentToken() : parser.nextToken();
+        if (token == null || token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new Siren4JConversionException("Expected start of entity object but was: " + token);
+        }
+        return readEntity(parser, targetClass != null ? targetClass.getName() : null, false).resource;
+    }
+
+    /**
+     * Reads the entity object the parser is positioned at, leaving the parser at its end.
+     *
+     * @param p assumed at <code>START_OBJECT</code>.
+     * @param sirenClass the target class name, may be <code>null</code>.
+     * @param subEntity <code>true</code> if reading a sub entity, embedded links are then skipped.
+     */
+    private ReadEntity readEntity(JsonParser p, String sirenClass, boolean subEntity) throws IOException {
+        ReadEntity result = new ReadEntity();
+        String[] componentClass = null;
+        boolean propertiesSeen = false;
+        Target target = null;
+        TokenBuffer pendingProperties = null;
+        TokenBuffer pendingEntities = null;
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            JsonToken token = p.nextToken();
+            if (CLASS.equals(name)) {
+                componentClass = readStrings(p);
+            } else if (REL.equals(name)) {
+                result.rel = readStrings(p);
+            } else if (HREF.equals(name)) {
+                result.embedded = subEntity && StringUtils.isNotBlank(p.getValueAsString());
+            } else if (token == JsonToken.VALUE_NULL || result.embedded) {
+                p.skipChildren();
+            } else if (PROPERTIES.equals(name)) {
+                propertiesSeen = true;
+                if (target == null && sirenClass == null) {
+                    if (p.nextToken() != JsonToken.FIELD_NAME) {
+                        continue; // no properties
+                    }
+                    if (Siren4J.CLASS_RESERVED_PROPERTY.equals(p.currentName())) {
+                        p.nextToken();
+                        sirenClass = p.getValueAsString();
+                        target = new Target(sirenClass, componentClass);
+                        readProperties(p, target);
+                    } else {
+                        pendingProperties = new TokenBuffer(p);
+                        sirenClass = bufferProperties(p, pendingProperties);
+                    }
+                } else {
+                    if (target == null) {
+                        target = new Target(sirenClass, componentClass);
+                    }
+                    readProperties(p, target);
+                }
+            } else if (ENTITIES.equals(name)) {
+                if (target == null && (sirenClass != null || (propertiesSeen && componentClass != null))) {
+                    target = new Target(sirenClass, componentClass);
+                }
+                if (target != null) {
+                    readEntities(p, target);
+                } else {
+                    pendingEntities = new TokenBuffer(p);
+                    pendingEntities.copyCurrentStructure(p);
+                }
+            } else {
+                p.skipChildren();
+            }
+        }
+        if (result.embedded) {
+            return result;
+        }
+        if (target == null) {
+            target = new Target(sirenClass, componentClass);
+        }
+        if (pendingProperties != null) {
+            JsonParser replay = pendingProperties.asParser(p.getCodec());
+            replay.nextToken();
+            readProperties(replay, target);
+        }
+        if (pendingEntities != null) {
+            JsonParser replay = pendingEntities.asParser(p.getCodec());
+            replay.nextToken();
+            readEntities(replay, target);
+        }
+        result.resource = target.obj;
+        return result;
+    }
+
+    /**
+     * Sets the remaining properties of the properties object, the next token must be a field name or the end of the
+     * object.
+     */
+    private void readProperties(JsonParser p, Target target) throws IOException {
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String key = p.currentName();
+            p.nextToken();
+            Object value = p.readValueAs(Object.class);
+            converter.setProperty(target.obj, target.clazz, target.plan, key, value);
+        }
+    }
+
+    private void readEntities(JsonParser p, Target target) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            throw new Siren4JConversionException("Expected array of entities but was: " + p.currentToken());
+        }
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            ReadEntity sub = readEntity(p, null, true);
+            //Skip embedded as we can't deal with them.
+            if (sub.embedded) {
+                continue;
+            }
+            FieldPlan fieldPlan = converter.getSubEntitySetter(target.clazz, target.plan, sub.rel);
+            converter.setSubEntity(target.obj, fieldPlan, sub.resource);
+        }
+    }
+
+    /**
+     * Buffers the properties object starting at the current field.
+     *
+     * @return the reserved class property if found in the properties, else <code>null</code>.
+     */
+    private static String bufferProperties(JsonParser p, TokenBuffer buffer) throws IOException {
+        String sirenClass = null;
+        buffer.writeStartObject();
+        do {
+            String key = p.currentName();
+            buffer.copyCurrentStructure(p);
+            if (Siren4J.CLASS_RESERVED_PROPERTY.equals(key)) {
+                sirenClass = p.getValueAsString();
+            }
+        } while (p.nextToken() == JsonToken.FIELD_NAME);
+        buffer.writeEndObject();
+        return sirenClass;
+    }
+
+    private static String[] readStrings(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            return new String[]{p.getValueAsString()};
+        }
+        List<String> values = new ArrayList<String>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            values.add(p.getValueAsString());
+        }
+        return values.toArray(new String[values.size()]);
+    }
+
+    /**
+     * The resource being filled and the plan of its class.
+     */
+    private final class Target {
+
+        private final Class<?> clazz;
+        private final ConversionPlan plan;
+        private final Object obj;
+
+        Target(String sirenClass, String[] componentClass) {
+            this.clazz = converter.resolveResourceClass(sirenClass, componentClass);
+            this.plan = ConversionPlan.forClass(clazz);
+            this.obj = converter.newResource(clazz);
+        }
+    }
+
+    private static final class ReadEntity {
+
+        private Object resource;
+        private String[] rel;
+        private boolean embedded;
+    }
+}
@@ -0,0 +1,200 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A uri, href or value string containing field tokens such as <code>{courseid}</code> or
+ * <code>{parent.courseid}</code>, parsed once into literal and token segments. Rendering is then a single pass into
+ * a <code>StringBuilder</code>, resolving tokens through the token index of a {@link ConversionPlan}.
+ * <p/>
+ * Tokens that can not be resolved are written out as is. Reserved tokens such as <code>{[offset]}</code> are never
+ * resolved and are written out without the square brackets, <code>{offset}</code>. Resolved values are written
+ * verbatim, they are not scanned for further tokens.
+ */
+public class TokenTemplate {
+
+    public static final String PARENT_PREFIX = "parent.";
+
+    /**
+     * Templates are keyed by the raw string. Only strings from annotations are parsed through the cache, so the number
+     * of distinct entries stays small. Strings built at runtime use {@link #create(String)}.
+     */
+    private static final Cache<String, TokenTemplate> templateCache =
+            CacheBuilder.newBuilder().maximumSize(2000).build();
+
+    private static final int LITERAL = 0;
+    private static final int CURRENT = 1;
+    private static final int PARENT = 2;
+
+    private final String raw;
+    /* Segment kinds, and for each segment the literal text or the field name of the token. */
+    private final int[] kinds;
+    private final String[] texts;
+    /* For token segments, the flattened text written if the token can not be resolved. */
+    private final String[] unresolved;
+    private final String constant;
+    private final int estimatedLength;
+
+    private TokenTemplate(String raw) {
+        this.raw = raw;
+        List<Integer> kindList = new ArrayList<Integer>();
+        List<String> textList = new ArrayList<String>();
+        List<String> unresolvedList = new ArrayList<String>();
+        int pos = 0;
+        int len = raw.length();
+        while (pos < len) {
+            int start = raw.indexOf('{', pos);
+            int end = start == -1 ? -1 : raw.indexOf('}', start);
+            if (end == -1) {
+                addLiteral(raw.substring(pos), kindList, textList, unresolvedList);
+                break;
+            }
+            if (start > pos) {
+                addLiteral(raw.substring(pos, start), kindList, textList, unresolvedList);
+            }
+            String key = raw.substring(start + 1, end);
+            boolean parent = key.startsWith(PARENT_PREFIX);
+            kindList.add(parent ? PARENT : CURRENT);
+            textList.add(parent ? key.substring(PARENT_PREFIX.length()) : key);
+            unresolvedList.add(flatten(raw.substring(start, end + 1)));
+            pos = end + 1;
+        }
+        int size = kindList.size();
+        this.kinds = new int[size];
+        for (int i = 0; i < size; i++) {
+            kinds[i] = kindList.get(i);
+        }
+        this.texts = textList.toArray(new String[size]);
+        this.unresolved = unresolvedList.toArray(new String[size]);
+        this.constant = size == 0 ? "" : size == 1 && kinds[0] == LITERAL ? texts[0] : null;
+        this.estimatedLength = len + 16;
+    }
+
+    /**
+     * Retrieve the parsed template for the specified string. Meant for strings from annotations, the template is
+     * cached.
+     *
+     * @param str cannot be <code>null</code>.
+     * @return the template, never <code>null</code>.
+     */
+    public static TokenTemplate parse(String str) {
+        if (str == null) {
+            throw new IllegalArgumentException("str cannot be null.");
+        }
+        TokenTemplate template = templateCache.getIfPresent(str);
+        if (template == null) {
+            template = new TokenTemplate(str);
+            templateCache.put(str, template);
+        }
+        return template;
+    }
+
+    /**
+     * Parse the specified string without caching the template. Meant for strings built at runtime, such as override
+     * uris and the hrefs of dynamic links, which would otherwise evict the templates of the annotations.
+     *
+     * @param str cannot be <code>null</code>.
+     * @return new template, never <code>null</code>.
+     */
+    public static TokenTemplate create(String str) {
+        if (str == null) {
+            throw new IllegalArgumentException("str cannot be null.");
+        }
+        return new TokenTemplate(str);
+    }
+
+    /**
+     * Render the template.
+     *
+     * @param current the current object, may be <code>null</code>.
+     * @param currentTokens token index of the current object's class, may be <code>null</code>.
+     * @param parent the parent object, may be <code>null</code>.
+     * @param parentTokens token index of the parent object's class, may be <code>null</code>.
+     * @return the rendered string, never <code>null</code>.
+     */
+    public String render(Object current, Map<String, ReflectedInfo> currentTokens, Object parent,
+                         Map<String, ReflectedInfo> parentTokens) {
+        if (constant != null) {
+            return constant;
+        }
+        StringBuilder sb = new StringBuilder(estimatedLength);
+        for (int i = 0; i < kinds.length; i++) {
+            switch (kinds[i]) {
+                case LITERAL:
+                    sb.append(texts[i]);
+                    break;
+                case CURRENT:
+                    appendToken(sb, i, current, currentTokens);
+                    break;
+                default:
+                    appendToken(sb, i, parent, parentTokens);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return <code>true</code> if the template contains no tokens at all.
+     */
+    public boolean isConstant() {
+        return constant != null;
+    }
+
+    public String getRaw() {
+        return raw;
+    }
+
+    @Override
+    public String toString() {
+        return raw;
+    }
+
+    private void appendToken(StringBuilder sb, int i, Object obj, Map<String, ReflectedInfo> tokens) {
+        ReflectedInfo info = obj == null || tokens == null ? null : tokens.get(texts[i]);
+        if (info == null) {
+            sb.append(unresolved[i]);
+            return;
+        }
+        Object val = info.getAccessor().getFieldValue(obj);
+        if (val instanceof Enum) {
+            sb.append(((Enum<?>) val).name());
+        } else if (val != null) {
+            sb.append(val.toString());
+        }
+    }
+
+    private static void addLiteral(String text, List<Integer> kinds, List<String> texts, List<String> unresolved) {
+        kinds.add(LITERAL);
+        texts.add(flatten(text));
+        unresolved.add(null);
+    }
+
+    private static String flatten(String str) {
+        return StringUtils.replace(StringUtils.replace(str, "{[", "{"), "]}", "}");
+    }
+
+}
@@ -0,0 +1,333 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import com.google.code.siren4j.Siren4J;
+import com.google.code.siren4j.error.Siren4JConversionException;
+import org.apache.commons.lang3.ClassUtils;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Coerces a property value as parsed by Jackson, e.g. <code>Integer</code>, <code>Double</code>, <code>String</code>
+ * or <code>ArrayList</code>, to the type of the field or setter it is set on. The coercer is picked once per target
+ * type when the {@link FieldPlan} is built, so setting a value only runs the conversion it actually needs.
+ * <p/>
+ * Supported are numeric conversions, <code>BigDecimal</code> and <code>BigInteger</code>, dates formatted with
+ * {@link Siren4J#ISO8601_DATE_FORMAT} or given as epoch millis, enums by name and collections to arrays of any of
+ * these. Values of other types are passed through unchanged.
+ */
+abstract class ValueCoercer {
+
+    private static final DateTimeFormatter ISO8601_FORMAT = DateTimeFormatter.ofPattern(Siren4J.ISO8601_DATE_FORMAT);
+
+    /**
+     * Passes every value through unchanged.
+     */
+    static final ValueCoercer IDENTITY = new ValueCoercer(Object.class) {
+
+        @Override
+        Object convert(Object value) {
+            return value;
+        }
+    };
+
+    private final Class<?> type;
+
+    private ValueCoercer(Class<?> type) {
+        this.type = type;
+    }
+
+    /**
+     * Pick the coercer for the specified target type.
+     *
+     * @param type the target type, may be <code>null</code>.
+     * @return the coercer, never <code>null</code>.
+     */
+    static ValueCoercer forType(Class<?> type) {
+        if (type == null || type == Object.class) {
+            return IDENTITY;
+        }
+        Class<?> wrapper = type.isPrimitive() ? ClassUtils.primitiveToWrapper(type) : type;
+        if (wrapper == Long.class || wrapper == Integer.class || wrapper == Short.class || wrapper == Byte.class) {
+            return new IntegralCoercer(wrapper);
+        }
+        if (wrapper == Double.class || wrapper == Float.class) {
+            return new FloatingCoercer(wrapper == Float.class);
+        }
+        if (type == BigDecimal.class) {
+            return new BigDecimalCoercer();
+        }
+        if (type == BigInteger.class) {
+            return new BigIntegerCoercer();
+        }
+        if (type == Date.class) {
+            return new DateCoercer();
+        }
+        if (type.isEnum()) {
+            return new EnumCoercer(type);
+        }
+        if (type.isArray()) {
+            return new ArrayCoercer(type);
+        }
+        return IDENTITY;
+    }
+
+    /**
+     * Coerce the value to the target type.
+     *
+     * @param value may be <code>null</code>.
+     * @return the coerced value, <code>null</code> if the value was <code>null</code>.
+     * @throws Siren4JConversionException if the value can't be coerced to the target type.
+     */
+    Object coerce(Object value) {
+        if (value == null || type.isInstance(value)) {
+            return value;
+        }
+        return convert(value);
+    }
+
+    /**
+     * @param value not <code>null</code> and not already an instance of the target type.
+     */
+    abstract Object convert(Object value);
+
+    Siren4JConversionException cannotCoerce(Object value) {
+        return new Siren4JConversionException("Unable to coerce value: " + value + " of type: "
+                + value.getClass().getName() + " to: " + type.getName());
+    }
+
+    private static class IntegralCoercer extends ValueCoercer {
+
+        private final Class<?> wrapper;
+        private final long min;
+        private final long max;
+
+        IntegralCoercer(Class<?> wrapper) {
+            super(wrapper);
+            this.wrapper = wrapper;
+            if (wrapper == Integer.class) {
+                min = Integer.MIN_VALUE;
+                max = Integer.MAX_VALUE;
+            } else if (wrapper == Short.class) {
+                min = Short.MIN_VALUE;
+                max = Short.MAX_VALUE;
+            } else if (wrapper == Byte.class) {
+                min = Byte.MIN_VALUE;
+                max = Byte.MAX_VALUE;
+            } else {
+                min = Long.MIN_VALUE;
+                max = Long.MAX_VALUE;
+            }
+        }
+
+        @Override
+        Object convert(Object value) {
+            if (!(value instanceof Number)) {
+                throw cannotCoerce(value);
+            }
+            long l = toLong((Number) value);
+            if (l < min || l > max) {
+                throw cannotCoerce(value);
+            }
+            if (wrapper == Long.class) {
+                return l;
+            }
+            if (wrapper == Integer.class) {
+                return (int) l;
+            }
+            return wrapper == Short.class ? (Object) (short) l : (Object) (byte) l;
+        }
+
+        private long toLong(Number n) {
+            if (n instanceof Integer || n instanceof Long || n instanceof Short || n instanceof Byte) {
+                return n.longValue();
+            }
+            try {
+                if (n instanceof BigInteger) {
+                    return ((BigInteger) n).longValueExact();
+                }
+                return new BigDecimal(n.toString()).longValueExact();
+            } catch (ArithmeticException e) {
+                throw cannotCoerce(n);
+            } catch (NumberFormatException e) {
+                throw cannotCoerce(n);
+            }
+        }
+    }
+
+    private static class FloatingCoercer extends ValueCoercer {
+
+        private final boolean isFloat;
+
+        FloatingCoercer(boolean isFloat) {
+            super(isFloat ? Float.class : Double.class);
+            this.isFloat = isFloat;
+        }
+
+        @Override
+        Object convert(Object value) {
+            if (!(value instanceof Number)) {
+                throw cannotCoerce(value);
+            }
+            Number n = (Number) value;
+            return isFloat ? (Object) n.floatValue() : (Object) n.doubleValue();
+        }
+    }
+
+    private static class BigDecimalCoercer extends ValueCoercer {
+
+        BigDecimalCoercer() {
+            super(BigDecimal.class);
+        }
+
+        @Override
+        Object convert(Object value) {
+            if (value instanceof BigInteger) {
+                return new BigDecimal((BigInteger) value);
+            }
+            if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+                return BigDecimal.valueOf(((Number) value).longValue());
+            }
+            if (value instanceof Number || value instanceof String) {
+                try {
+                    // Using the string keeps the decimal digits as written instead of the binary fraction of a double.
+                    return new BigDecimal(value.toString());
+                } catch (NumberFormatException e) {
+                    throw cannotCoerce(value);
+                }
+            }
+            throw cannotCoerce(value);
+        }
+    }
+
+    private static class BigIntegerCoercer extends ValueCoercer {
+
+        BigIntegerCoercer() {
+            super(BigInteger.class);
+        }
+
+        @Override
+        Object convert(Object value) {
+            if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+                return BigInteger.valueOf(((Number) value).longValue());
+            }
+            if (value instanceof Number || value instanceof String) {
+                try {
+                    return new BigDecimal(value.toString()).toBigIntegerExact();
+                } catch (NumberFormatException e) {
+                    throw cannotCoerce(value);
+                } catch (ArithmeticException e) {
+                    throw cannotCoerce(value);
+                }
+            }
+            throw cannotCoerce(value);
+        }
+    }
+
+    private static class DateCoercer extends ValueCoercer {
+
+        DateCoercer() {
+            super(Date.class);
+        }
+
+        @Override
+        Object convert(Object value) {
+            if (value instanceof Long || value instanceof Integer) {
+                return new Date(((Number) value).longValue());
+            }
+            if (value instanceof String) {
+                try {
+                    return Date.from(OffsetDateTime.parse((String) value, ISO8601_FORMAT).toInstant());
+                } catch (DateTimeParseException e) {
+                    throw new Siren4JConversionException("Unable to parse date: " + value + " expected format: "
+                            + Siren4J.ISO8601_DATE_FORMAT, e);
+                }
+            }
+            throw cannotCoerce(value);
+        }
+    }
+
+    private static class EnumCoercer extends ValueCoercer {
+
+        private final Map<String, Object> constants;
+
+        EnumCoercer(Class<?> type) {
+            super(type);
+            Map<String, Object> byName = new HashMap<String, Object>();
+            for (Object constant : type.getEnumConstants()) {
+                byName.put(((Enum<?>) constant).name(), constant);
+            }
+            this.constants = Collections.unmodifiableMap(byName);
+        }
+
+        @Override
+        Object convert(Object value) {
+            Object constant = value instanceof String ? constants.get(value) : null;
+            if (constant == null) {
+                throw cannotCoerce(value);
+            }
+            return constant;
+        }
+    }
+
+    private static class ArrayCoercer extends ValueCoercer {
+
+        private final Class<?> componentType;
+        private final ValueCoercer component;
+
+        ArrayCoercer(Class<?> type) {
+            super(type);
+            this.componentType = type.getComponentType();
+            this.component = forType(componentType);
+        }
+
+        @Override
+        Object convert(Object value) {
+            if (!(value instanceof Collection)) {
+                throw cannotCoerce(value);
+            }
+            Collection<?> coll = (Collection<?>) value;
+            Object array = Array.newInstance(componentType, coll.size());
+            int i = 0;
+            for (Object element : coll) {
+                Object coerced = component.coerce(element);
+                if (coerced == null && componentType.isPrimitive()) {
+                    throw cannotCoerce(value);
+                }
+                try {
+                    Array.set(array, i++, coerced);
+                } catch (IllegalArgumentException e) {
+                    throw cannotCoerce(value);
+                }
+            }
+            return array;
+        }
+    }
+}
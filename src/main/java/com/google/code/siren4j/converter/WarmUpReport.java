@@ -0,0 +1,105 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The result of {@link ReflectingConverter#warmUp()}, holds the time it took to build the conversion plan of each
+ * resource class. A class whose plan was already built shows the time of the cache lookup.
+ *
+ * @since 2.2.0
+ */
+public final class WarmUpReport {
+
+    private final Map<Class<?>, Long> timings;
+    private final long elapsedNanos;
+
+    WarmUpReport(Map<Class<?>, Long> timings, long elapsedNanos) {
+        this.timings = Collections.unmodifiableMap(new LinkedHashMap<Class<?>, Long>(timings));
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return unmodifiable map of the build time in nanoseconds keyed by resource class, in registry order. Never
+     * <code>null</code>.
+     */
+    public Map<Class<?>, Long> getTimings() {
+        return timings;
+    }
+
+    /**
+     * @return the number of resource classes warmed up.
+     */
+    public int size() {
+        return timings.size();
+    }
+
+    /**
+     * @return the wall clock time of the whole warm-up in nanoseconds, less than the sum of the timings when the
+     * plans were built in parallel.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @param count the maximum number of classes to return, zero or more.
+     * @return the classes that took longest to build, slowest first. Never <code>null</code>.
+     */
+    public List<Class<?>> getSlowest(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count cannot be negative.");
+        }
+        List<Map.Entry<Class<?>, Long>> entries = new ArrayList<Map.Entry<Class<?>, Long>>(timings.entrySet());
+        Collections.sort(entries, new Comparator<Map.Entry<Class<?>, Long>>() {
+
+            @Override
+            public int compare(Map.Entry<Class<?>, Long> o1, Map.Entry<Class<?>, Long> o2) {
+                return o2.getValue().compareTo(o1.getValue());
+            }
+        });
+        List<Class<?>> result = new ArrayList<Class<?>>(Math.min(count, entries.size()));
+        for (Map.Entry<Class<?>, Long> entry : entries.subList(0, Math.min(count, entries.size()))) {
+            result.add(entry.getKey());
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        List<String> slowest = new ArrayList<String>();
+        for (Class<?> clazz : getSlowest(5)) {
+            slowest.add(clazz.getName() + "=" + TimeUnit.NANOSECONDS.toMicros(timings.get(clazz)) + "us");
+        }
+        return new ToStringBuilder(this)
+                .append("classes", timings.size())
+                .append("elapsedMillis", TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .append("slowest", slowest)
+                .toString();
+    }
+}
@@ -18,8 +18,11 @@
  *********************************************************************************************/
 package com.google.code.siren4j.meta;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -48,6 +51,9 @@ public class FieldOption {
     @JsonProperty(value = "default")
     private boolean optionDefault;
 
+    @JsonIgnore
+    private boolean frozen;
+
     public FieldOption() {
     }
 
@@ -75,6 +81,7 @@ public class FieldOption {
     }
 
     public void setTitle(String title) {
+        checkNotFrozen();
         this.title = title;
     }
 
@@ -83,6 +90,7 @@ public class FieldOption {
     }
 
     public void setValue(String value) {
+        checkNotFrozen();
         this.value = value;
     }
 
@@ -91,6 +99,7 @@ public class FieldOption {
     }
 
     public void setOptionDefault(boolean optionDefault) {
+        checkNotFrozen();
         this.optionDefault = optionDefault;
     }
 
@@ -99,13 +108,47 @@ public class FieldOption {
     }
 
     public void setData(Map<String, String> data) {
+        checkNotFrozen();
         this.data = data;
     }
 
     public void putData(String key, String value) {
+        checkNotFrozen();
         if(data == null) {
             data = new HashMap<String, String>();
         }
         data.put(key, value);
     }
+
+    /**
+     * @return a new modifiable option with a copy of the data, never <code>null</code>.
+     */
+    public FieldOption copy() {
+        Map<String, String> dataCopy = data != null ? new LinkedHashMap<String, String>(data) : null;
+        return new FieldOption(title, value, optionDefault, dataCopy);
+    }
+
+    /**
+     * Makes the option and its data unmodifiable, see <code>Siren4JBaseComponent.freeze()</code>.
+     */
+    public void freeze() {
+        if (data != null) {
+            data = Collections.unmodifiableMap(data);
+        }
+        frozen = true;
+    }
+
+    /**
+     * @return <code>true</code> if the option was frozen and can not be modified.
+     */
+    @JsonIgnore
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException("FieldOption is frozen and cannot be modified.");
+        }
+    }
 }
@@ -0,0 +1,38 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.resource;
+
+/**
+ * Implemented by resources whose entity only changes when their cache key does, such as reference data or catalog
+ * entries. When an {@link com.google.code.siren4j.converter.EntityCache} is set on the converter, top level resources
+ * implementing this interface are converted once per key and the shared, read-only entity is returned afterwards.
+ *
+ * @since 2.2.0
+ */
+public interface CacheableResource {
+
+    /**
+     * Identifies the current state of this resource, e.g. an id combined with a version number or last modified time.
+     * Two instances of the same class with equal keys must convert to the same entity.
+     *
+     * @return the key, <code>null</code> if this instance should not be cached.
+     */
+    public Object getCacheKey();
+
+}
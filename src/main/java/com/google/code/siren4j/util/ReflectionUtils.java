@@ -27,6 +27,7 @@ import com.google.code.siren4j.error.Siren4JException;
 import com.google.code.siren4j.error.Siren4JRuntimeException;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.reflect.TypeToken;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 
@@ -45,15 +46,16 @@ public class ReflectionUtils {
     public static final String SETTER_PREFIX = "set";
     /**
      * Field info is cached as it is an expensive operation but the values don't actually change
-     * until code is changed and recompiled.
+     * until code is changed and recompiled. The cached lists are unmodifiable as they are shared between threads.
      */
-    public static Cache<Class<?>, List<ReflectedInfo>> fieldInfoCache =
-            CacheBuilder.newBuilder().maximumSize(2000).build();
+    public static final Cache<Class<?>, List<ReflectedInfo>> fieldInfoCache =
+            CacheBuilder.newBuilder().maximumSize(2000).recordStats().build();
     /**
-     * Find Method cache another expensive operation with reflection so let's cache it.
+     * Find Method cache another expensive operation with reflection so let's cache it. Keyed by the class itself, the
+     * method name and the parameter types so classes of the same name from different class loaders don't collide.
      */
-    public static Cache<String, Method> findMethodCache =
-            CacheBuilder.newBuilder().maximumSize(2000).build();
+    public static final Cache<Object, Method> findMethodCache =
+            CacheBuilder.newBuilder().maximumSize(2000).recordStats().build();
 
     /**
      * List of types considered as Siren properties, generally simple types.
@@ -64,6 +66,12 @@ public class ReflectionUtils {
             double[].class, Double[].class, float[].class, Float[].class, short[].class, Short[].class, byte[].class, Byte[].class,
             boolean[].class, Boolean[].class, String[].class, Date[].class, BigDecimal.class, BigInteger.class};
 
+    /**
+     * The {@link #propertyTypes} as set for constant time lookups.
+     */
+    private static final Set<Class<?>> propertyTypeSet =
+            Collections.unmodifiableSet(new HashSet<Class<?>>(Arrays.asList(propertyTypes)));
+
     private ReflectionUtils() {
 
     }
@@ -112,7 +120,7 @@ public class ReflectionUtils {
      * annotation to be exposed.
      *
      * @param clazz cannot be <code>null</code>.
-     * @return
+     * @return unmodifiable list of the exposed field info, never <code>null</code>.
      */
     public static List<ReflectedInfo> getExposedFieldInfo(final Class<?> clazz) {
         List<ReflectedInfo> results = null;
@@ -160,7 +168,7 @@ public class ReflectionUtils {
                             );
                         }
                     }
-                    return exposed;
+                    return Collections.unmodifiableList(exposed);
                 }
             });
         } catch (ExecutionException e) {
@@ -241,7 +249,7 @@ public class ReflectionUtils {
      */
     public static String replaceFieldTokens(Object obj, String str, List<ReflectedInfo> fields, boolean parentMode)
             throws Siren4JException {
-        Map<String, Field> index = new HashMap<String, Field>();
+        Map<String, ReflectedInfo> index = new HashMap<String, ReflectedInfo>();
         if (StringUtils.isBlank(str)) {
             return str;
         }
@@ -249,7 +257,7 @@ public class ReflectionUtils {
             for (ReflectedInfo info : fields) {
                 Field f = info.getField();
                 if (f != null) {
-                    index.put(f.getName(), f);
+                    index.put(f.getName(), info);
                 }
             }
         }
@@ -258,10 +266,11 @@ public class ReflectionUtils {
                 if ((!parentMode && !key.startsWith("parent.")) || (parentMode && key.startsWith("parent."))) {
                     String fieldname = key.startsWith("parent.") ? key.substring(7) : key;
                     if (index.containsKey(fieldname)) {
-                        Field f = index.get(fieldname);
-                        if (f.getType().isEnum() || ArrayUtils.contains(propertyTypes, f.getType())) {
+                        ReflectedInfo info = index.get(fieldname);
+                        Field f = info.getField();
+                        if (f.getType().isEnum() || isPropertyType(f.getType())) {
                             String replacement = "";
-                            Object theObject = f.get(obj);
+                            Object theObject = info.getAccessor().getFieldValue(obj);
                             if(f.getType().isEnum()) {
                                 replacement = theObject == null ? "" : ((Enum)theObject).name();
                             } else {
@@ -290,7 +299,7 @@ public class ReflectionUtils {
         if (StringUtils.isBlank(str)) {
             return str;
         }
-        return str.replaceAll("\\{\\[", "{").replaceAll("\\]\\}", "}");
+        return StringUtils.replace(StringUtils.replace(str, "{[", "{"), "]}", "}");
     }
 
     /**
@@ -386,7 +395,7 @@ public class ReflectionUtils {
      */
     public static Method findMethod(final Class<?> clazz, final String methodName, final Class<?>[] parameterTypes)
             throws NoSuchMethodException {
-        String key = makeFindMethodCacheKey(clazz, methodName, parameterTypes);
+        FindMethodKey key = new FindMethodKey(clazz, methodName, parameterTypes);
         Method method = null;
         try {
             method = findMethodCache.get(key, new Callable<Method>() {
@@ -451,19 +460,40 @@ public class ReflectionUtils {
         }
     }
 
-    private static String makeFindMethodCacheKey(Class<?> clazz, String methodName, Class<?>[] parameterTypes) {
-        StringBuilder key = new StringBuilder();
-        key.append(clazz.getName());
-        key.append("_");
-        key.append(methodName);
+    /**
+     * Key of the {@link #findMethodCache}, classes are compared by identity.
+     */
+    private static final class FindMethodKey {
+
+        private final Class<?> clazz;
+        private final String methodName;
+        private final Class<?>[] parameterTypes;
+        private final int hash;
+
+        FindMethodKey(Class<?> clazz, String methodName, Class<?>[] parameterTypes) {
+            this.clazz = clazz;
+            this.methodName = methodName;
+            this.parameterTypes = parameterTypes != null ? parameterTypes.clone() : new Class<?>[0];
+            this.hash = 31 * (31 * clazz.hashCode() + methodName.hashCode()) + Arrays.hashCode(this.parameterTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
 
-        if (parameterTypes != null) {
-            for (Class<?> c : parameterTypes) {
-                key.append("_");
-                key.append(c.getName());
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof FindMethodKey)) {
+                return false;
             }
+            FindMethodKey other = (FindMethodKey) obj;
+            return clazz == other.clazz && methodName.equals(other.methodName)
+                    && Arrays.equals(parameterTypes, other.parameterTypes);
         }
-        return key.toString();
     }
 
     /**
@@ -533,25 +563,66 @@ public class ReflectionUtils {
         if (info == null) {
             throw new IllegalArgumentException("info cannot be null");
         }
-        if (info.getSetter() != null) {
-            Method setter = info.getSetter();
-            setter.setAccessible(true);
-            try {
-                setter.invoke(obj, new Object[]{value});
-            } catch (Exception e) {
-                throw new Siren4JException(e);
-            }
-        } else {
-            // No setter set field directly
-            try {
-                info.getField().set(obj, value);
-            } catch (Exception e) {
-                throw new Siren4JException(e);
+        info.getAccessor().setValue(obj, value);
+    }
+
+
+    /**
+     * @param type may be <code>null</code>.
+     * @return <code>true</code> if the type is one of the {@link #propertyTypes}.
+     */
+    public static boolean isPropertyType(Class<?> type) {
+        return type != null && propertyTypeSet.contains(type);
+    }
+
+    /**
+     * Determine from the declared generic type of a collection or map field whether it holds properties, e.g.
+     * <code>List&lt;String&gt;</code> holds properties and <code>List&lt;Comment&gt;</code> sub entities.
+     *
+     * @param field cannot be <code>null</code>.
+     * @return <code>TRUE</code> if all elements, or keys and values of a map, are property types, <code>FALSE</code> if
+     * an element can never be a property type, <code>null</code> if it can only be determined from the value, e.g. for
+     * raw types or element types such as <code>Object</code> or <code>Number</code>.
+     */
+    @SuppressWarnings("rawtypes")
+    public static Boolean isSirenPropertyByGenericType(Field field) {
+        if (field == null) {
+            throw new IllegalArgumentException("field cannot be null");
+        }
+        TypeToken<?> type = TypeToken.of(field.getGenericType());
+        if (Collection.class.isAssignableFrom(field.getType())) {
+            return isPropertyElement(type.resolveType(Collection.class.getTypeParameters()[0]));
+        }
+        if (Map.class.isAssignableFrom(field.getType())) {
+            TypeVariable<Class<Map>>[] params = Map.class.getTypeParameters();
+            Boolean key = isPropertyElement(type.resolveType(params[0]));
+            Boolean value = isPropertyElement(type.resolveType(params[1]));
+            if (Boolean.FALSE.equals(key) || Boolean.FALSE.equals(value)) {
+                return Boolean.FALSE;
             }
+            return key != null && value != null ? Boolean.TRUE : null;
         }
-
+        return null;
     }
 
+    private static Boolean isPropertyElement(TypeToken<?> element) {
+        Type t = element.getType();
+        if (!(t instanceof Class) && !(t instanceof ParameterizedType)) {
+            // Type variable or wildcard
+            return null;
+        }
+        Class<?> raw = element.getRawType();
+        if (propertyTypeSet.contains(raw)) {
+            return Boolean.TRUE;
+        }
+        for (Class<?> propType : propertyTypes) {
+            if (raw.isAssignableFrom(propType)) {
+                // A supertype of a property type such as Object, Number or Comparable.
+                return null;
+            }
+        }
+        return Boolean.FALSE;
+    }
 
     @SuppressWarnings("rawtypes")
     public static boolean isSirenProperty(Class<?> type, Object obj, Field field) {
@@ -560,13 +631,13 @@ public class ReflectionUtils {
         Siren4JProperty anno = field.getAnnotation(Siren4JProperty.class);
         if (anno != null || type.isEnum()) {
             isProp = true;
-        } else if (ArrayUtils.contains(propertyTypes, type)) {
+        } else if (isPropertyType(type)) {
             isProp = true;
         } else if (obj != null && Collection.class.isAssignableFrom(type)) {
             //Try to determine value type
             if (!((Collection) obj).isEmpty()) {
                 Object first = findFirstNonNull(((Collection) obj).iterator());
-                if (first == null || ArrayUtils.contains(propertyTypes, first.getClass())) {
+                if (first == null || isPropertyType(first.getClass())) {
                     isProp = true;
                 }
             }
@@ -575,8 +646,8 @@ public class ReflectionUtils {
             if (!((Map) obj).isEmpty()) {
                 Object firstKey = findFirstNonNull(((Map) obj).keySet().iterator());
                 Object firstVal = findFirstNonNull(((Map) obj).entrySet().iterator());
-                if ((firstKey == null || ArrayUtils.contains(propertyTypes, firstKey.getClass()))
-                        && (firstVal == null || ArrayUtils.contains(propertyTypes, ((HashMap.Entry)firstVal).getValue().getClass()))) {
+                if ((firstKey == null || isPropertyType(firstKey.getClass()))
+                        && (firstVal == null || isPropertyType(((HashMap.Entry)firstVal).getValue().getClass()))) {
                     isProp = true;
                 }
             }
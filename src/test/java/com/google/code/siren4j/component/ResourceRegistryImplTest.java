@@ -1,14 +1,27 @@
 package com.google.code.siren4j.component;
 
 import static org.junit.Assert.*;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import com.google.code.siren4j.component.testpojos.Author;
 import com.google.code.siren4j.component.testpojos.Course;
+import com.google.code.siren4j.component.testpojos.Video;
 import com.google.code.siren4j.converter.ResourceRegistry;
 import com.google.code.siren4j.converter.ResourceRegistryImpl;
+import com.google.code.siren4j.resource.CollectionResource;
 
 public class ResourceRegistryImplTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
     
     @Test
     public void testResourceRegistryScanning() throws Exception {
@@ -49,4 +62,54 @@ public class ResourceRegistryImplTest {
         assertEquals(Author.class, result);
     }
 
+    @Test
+    public void testLoadsFromIndex() throws Exception {
+        ClassLoader loader = indexLoader("# generated\n" + Video.class.getName() + "\n\ncom.example.Missing\n");
+        ResourceRegistry registry = ResourceRegistryImpl.newInstance(loader, "com.example.indexed");
+        assertEquals(Video.class, registry.getClassByEntityName("video"));
+        assertEquals(Video.class, registry.getClassByEntityName(Video.class.getName()));
+        assertTrue(registry.containsClassEntry(CollectionResource.class));
+        // Only the indexed root holds the package, nothing else was scanned.
+        assertFalse(registry.containsClassEntry(Course.class));
+    }
+
+    @Test
+    public void testIndexOfOtherRootIgnored() throws Exception {
+        ClassLoader loader = indexLoader(Video.class.getName() + "\n");
+        ResourceRegistry registry = ResourceRegistryImpl.newInstance(loader, "com.example.other");
+        assertFalse(registry.containsClassEntry(Video.class));
+        assertTrue(registry.containsClassEntry(CollectionResource.class));
+    }
+
+    @Test
+    public void testIndexedAndScannedRoots() throws Exception {
+        ClassLoader loader = indexLoader("com.example.Missing\n");
+        // The test classes have no index so they are scanned even though another root has one.
+        ResourceRegistry registry = ResourceRegistryImpl.newInstance(loader, "com.example.indexed",
+                "com.google.code.siren4j.component.testpojos");
+        assertTrue(registry.containsClassEntry(Course.class));
+        assertTrue(registry.containsClassEntry(Video.class));
+        assertTrue(registry.containsClassEntry(CollectionResource.class));
+    }
+
+    @Test
+    public void testScansWithoutIndex() throws Exception {
+        ResourceRegistry registry = ResourceRegistryImpl.newInstance(getClass().getClassLoader(),
+                "com.google.code.siren4j.component.testpojos");
+        assertTrue(registry.containsClassEntry(Course.class));
+        assertTrue(registry.containsClassEntry(CollectionResource.class));
+    }
+
+    /**
+     * @return a loader with an extra classpath root holding the index and an empty com.example.indexed package.
+     */
+    private ClassLoader indexLoader(String index) throws Exception {
+        File root = folder.newFolder();
+        new File(root, "com/example/indexed").mkdirs();
+        File file = new File(root, ResourceRegistryImpl.INDEX_LOCATION);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), index.getBytes("UTF-8"));
+        return new URLClassLoader(new URL[]{root.toURI().toURL()}, getClass().getClassLoader());
+    }
+
 }
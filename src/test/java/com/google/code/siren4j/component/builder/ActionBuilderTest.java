@@ -23,9 +23,12 @@
  *********************************************************************************************/
 package com.google.code.siren4j.component.builder;
 
+import static org.junit.Assert.assertEquals;
+
 import org.junit.Test;
 
 import com.google.code.siren4j.component.Action;
+import com.google.code.siren4j.component.impl.ActionImpl.Method;
 
 public class ActionBuilderTest {
 
@@ -57,5 +60,15 @@ public class ActionBuilderTest {
 	    .build();
 	    System.out.println(action.toString());
 	}
+	
+	@Test
+	public void testDefaultsKept() {
+	    Action action = ActionBuilder.newInstance()
+	        .setName("testAction")
+	        .setHref("/some/path")
+	        .build();
+	    assertEquals(Method.GET, action.getMethod());
+	    assertEquals("application/x-www-form-urlencoded", action.getType());
+	}
 
 }
@@ -36,6 +36,7 @@ import org.mockito.MockitoAnnotations;
 
 import com.google.code.siren4j.component.Entity;
 import com.google.code.siren4j.component.Link;
+import com.google.code.siren4j.component.impl.EmbeddedEntityImpl;
 
 public class EntityBuilderTest {
 
@@ -76,6 +77,26 @@ public class EntityBuilderTest {
 		System.out.println(result.toString());
 	}
 	
+	@Test
+	public void testBuildTwice() throws Exception {
+		Entity sub = EntityBuilder.newInstance()
+				.setRelationship("child")
+				.setHref("/child")
+				.build();
+		builder.setTitle("first")
+				.addProperty("foo", "hello")
+				.addSubEntity(sub)
+				.setTitle("second");
+		Entity first = builder.build();
+		Entity second = builder.build();
+		
+		assertNotSame(first, second);
+		assertEquals("second", second.getTitle());
+		assertEquals(1, second.getProperties().size());
+		assertEquals(1, second.getEntities().size());
+		assertTrue(sub instanceof EmbeddedEntityImpl);
+	}
+	
 	
 	
 }
@@ -0,0 +1,96 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import org.junit.Test;
+
+import com.google.code.siren4j.annotations.Siren4JCondition;
+import com.google.code.siren4j.annotations.Siren4JCondition.Is;
+import com.google.code.siren4j.annotations.Siren4JCondition.Type;
+import com.google.code.siren4j.annotations.Siren4JEntity;
+import com.google.code.siren4j.annotations.Siren4JLink;
+import com.google.code.siren4j.component.testpojos.Course;
+import com.google.code.siren4j.error.Siren4JRuntimeException;
+
+import static org.junit.Assert.*;
+
+public class CompiledConditionTest {
+
+    @Test
+    public void testNoCondition() throws Exception {
+        Siren4JLink link = Conditional.class.getAnnotation(Siren4JEntity.class).links()[0];
+        assertTrue(CompiledCondition.compile(link.condition(), Conditional.class, null)
+                .evaluate(new EntityContextImpl(null, null)));
+    }
+
+    @Test
+    public void testCurrentAndParent() throws Exception {
+        Siren4JEntity entity = Conditional.class.getAnnotation(Siren4JEntity.class);
+        Siren4JCondition current = entity.links()[1].condition();
+        Siren4JCondition parent = entity.links()[2].condition();
+
+        Conditional obj = new Conditional();
+        Course course = new Course();
+        EntityContext context = new EntityContextImpl(obj, null, null, course, null);
+
+        CompiledCondition compiled = CompiledCondition.compile(current, Conditional.class, null);
+        assertFalse(compiled.evaluate(context));
+        obj.flag = true;
+        assertTrue(compiled.evaluate(context));
+
+        // The parent class is only known when converting.
+        compiled = CompiledCondition.compile(parent, Conditional.class, null);
+        assertFalse(compiled.evaluate(context));
+        course.setDescription("desc");
+        assertTrue(compiled.evaluate(context));
+    }
+
+    @Test(expected = Siren4JRuntimeException.class)
+    public void testMissingParent() throws Exception {
+        Siren4JCondition parent = Conditional.class.getAnnotation(Siren4JEntity.class).links()[2].condition();
+        CompiledCondition.compile(parent, Conditional.class, null)
+                .evaluate(new EntityContextImpl(new Conditional(), null));
+    }
+
+    @Test
+    public void testInvalidNameFailsWhenBuildingPlan() throws Exception {
+        try {
+            ConversionPlan.forClass(InvalidConditional.class);
+            fail("Expected exception.");
+        } catch (Siren4JRuntimeException e) {
+            assertTrue(e.getMessage().contains("missing"));
+        }
+    }
+
+    @Siren4JEntity(links = {
+            @Siren4JLink(rel = "always", href = "/always"),
+            @Siren4JLink(rel = "flagged", href = "/flagged", condition = @Siren4JCondition(name = "flag")),
+            @Siren4JLink(rel = "parent", href = "/parent", condition = @Siren4JCondition(
+                    name = "parent.getDescription", logic = Is.NOTEMPTY, type = Type.METHOD))})
+    public static class Conditional {
+        private boolean flag;
+    }
+
+    @Siren4JEntity(links = {@Siren4JLink(rel = "bad", href = "/bad", condition = @Siren4JCondition(
+            name = "missing", type = Type.METHOD))})
+    public static class InvalidConditional {
+
+    }
+
+}
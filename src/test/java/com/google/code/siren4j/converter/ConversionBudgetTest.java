@@ -0,0 +1,225 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.code.siren4j.annotations.Siren4JEntity;
+import com.google.code.siren4j.annotations.Siren4JSubEntity;
+import com.google.code.siren4j.component.Entity;
+import com.google.code.siren4j.error.Siren4JConversionException;
+import com.google.code.siren4j.resource.BaseResource;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class ConversionBudgetTest {
+
+    @Test
+    public void testMaxDepth() throws Exception {
+        ReflectingConverter converter = newConverter(ConversionBudget.UNLIMITED.withMaxDepth(1));
+        Entity root = converter.toEntity(newTree("f", 3, 2));
+        Entity child = root.getEntities().get(0);
+        assertEquals("f.0", child.getProperties().get("id"));
+        Entity grandChild = child.getEntities().get(0);
+        assertEquals("/folders/f.0.0", grandChild.getHref());
+        assertFalse(grandChild.getProperties().containsKey("id"));
+        assertStreamingMatches(converter, newTree("f", 3, 2));
+    }
+
+    @Test
+    public void testMaxCollectionEntities() throws Exception {
+        ReflectingConverter converter = newConverter(ConversionBudget.UNLIMITED.withMaxCollectionEntities(2));
+        Entity root = converter.toEntity(newTree("f", 5, 1));
+        assertEquals(5, root.getEntities().size());
+        assertEquals("f.1", root.getEntities().get(1).getProperties().get("id"));
+        assertEquals("/folders/f.2", root.getEntities().get(2).getHref());
+        assertFalse(root.getEntities().get(4).getProperties().containsKey("id"));
+        assertStreamingMatches(converter, newTree("f", 5, 1));
+    }
+
+    @Test
+    public void testMaxEntities() throws Exception {
+        ReflectingConverter converter = newConverter(ConversionBudget.UNLIMITED.withMaxEntities(3));
+        Entity root = converter.toEntity(newTree("f", 4, 1));
+        assertEquals("f.1", root.getEntities().get(1).getProperties().get("id"));
+        assertEquals("/folders/f.2", root.getEntities().get(2).getHref());
+        assertEquals("/folders/f.3", root.getEntities().get(3).getHref());
+        assertStreamingMatches(converter, newTree("f", 4, 1));
+    }
+
+    @Test
+    public void testMaxEntitiesWithParallelExecutor() throws Exception {
+        ReflectingConverter converter = newConverter(ConversionBudget.UNLIMITED.withMaxEntities(50));
+        ObjectMapper mapper = new ObjectMapper();
+        String expected = mapper.writeValueAsString(converter.toEntity(newTree("f", 200, 1)));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            converter.setParallelExecutor(pool);
+            converter.setParallelThreshold(10);
+            for (int i = 0; i < 5; i++) {
+                Entity root = converter.toEntity(newTree("f", 200, 1));
+                assertEquals("f.48", root.getEntities().get(48).getProperties().get("id"));
+                assertEquals("/folders/f.49", root.getEntities().get(49).getHref());
+                assertEquals(expected, mapper.writeValueAsString(root));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testOverflowWithoutUri() throws Exception {
+        ReflectingConverter converter = newConverter(ConversionBudget.UNLIMITED.withMaxDepth(2));
+        Entity root = converter.toEntity(newChain(10));
+        Entity child = root.getEntities().get(0);
+        assertEquals(1, child.getProperties().get("level"));
+        Entity grandChild = child.getEntities().get(0);
+        assertEquals(2, grandChild.getProperties().get("level"));
+        assertNull(grandChild.getEntities());
+        assertStreamingMatches(converter, newChain(10));
+
+        converter = newConverter(ConversionBudget.UNLIMITED.withMaxEntities(4));
+        root = converter.toEntity(newChain(10));
+        assertNull(root.getEntities().get(0).getEntities().get(0).getEntities().get(0).getEntities());
+        assertStreamingMatches(converter, newChain(10));
+    }
+
+    @Test
+    public void testOverflowWithoutUriFails() throws Exception {
+        ReflectingConverter converter = newConverter(ConversionBudget.UNLIMITED.withMaxDepth(2)
+                .withOverflow(ConversionBudget.Overflow.FAIL));
+        assertNotNull(converter.toEntity(newChain(2)));
+        try {
+            converter.toEntity(newChain(10));
+            fail("Expected Siren4JConversionException");
+        } catch (Siren4JConversionException e) {
+            assertTrue(e.getMessage().contains("Node -> Node -> Node -> Node"));
+        }
+        try {
+            converter.writeEntity(newChain(10), new ObjectMapper(), new ByteArrayOutputStream());
+            fail("Expected Siren4JConversionException");
+        } catch (Siren4JConversionException e) {
+            assertTrue(e.getMessage().contains("without uri"));
+        }
+    }
+
+    @Test
+    public void testUnlimited() throws Exception {
+        ReflectingConverter converter = (ReflectingConverter) ReflectingConverter.newInstance();
+        assertSame(ConversionBudget.UNLIMITED, converter.getBudget());
+        Entity root = converter.toEntity(newTree("f", 2, 3));
+        assertEquals("f.1.1.1", root.getEntities().get(1).getEntities().get(1).getEntities().get(1).getProperties()
+                .get("id"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBudget() throws Exception {
+        ConversionBudget.UNLIMITED.withMaxEntities(0);
+    }
+
+    private static ReflectingConverter newConverter(ConversionBudget budget) throws Exception {
+        ReflectingConverter converter = (ReflectingConverter) ReflectingConverter.newInstance();
+        converter.setBudget(budget);
+        return converter;
+    }
+
+    private static void assertStreamingMatches(ReflectingConverter converter, Object resource) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        converter.writeEntity(resource, mapper, out);
+        assertEquals(mapper.writeValueAsString(converter.toEntity(resource)), out.toString("UTF-8"));
+    }
+
+    private static Folder newTree(String id, int children, int depth) {
+        Folder folder = new Folder();
+        folder.setId(id);
+        if (depth > 0) {
+            for (int i = 0; i < children; i++) {
+                folder.getChildren().add(newTree(id + "." + i, children, depth - 1));
+            }
+        }
+        return folder;
+    }
+
+    private static Node newChain(int length) {
+        Node root = new Node();
+        Node node = root;
+        for (int i = 1; i <= length; i++) {
+            node.setNext(new Node());
+            node = node.getNext();
+            node.setLevel(i);
+        }
+        return root;
+    }
+
+    @Siren4JEntity(name = "folder", uri = "/folders/{id}")
+    public static class Folder extends BaseResource {
+
+        private String id;
+
+        @Siren4JSubEntity(rel = "children")
+        private List<Folder> children = new ArrayList<Folder>();
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public List<Folder> getChildren() {
+            return children;
+        }
+
+        public void setChildren(List<Folder> children) {
+            this.children = children;
+        }
+    }
+
+    @Siren4JEntity(name = "node")
+    public static class Node {
+
+        private int level;
+
+        @Siren4JSubEntity(rel = "next")
+        private Node next;
+
+        public int getLevel() {
+            return level;
+        }
+
+        public void setLevel(int level) {
+            this.level = level;
+        }
+
+        public Node getNext() {
+            return next;
+        }
+
+        public void setNext(Node next) {
+            this.next = next;
+        }
+    }
+}
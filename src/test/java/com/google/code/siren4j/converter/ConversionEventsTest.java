@@ -0,0 +1,174 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.code.siren4j.component.Entity;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+public class ConversionEventsTest {
+
+    private Recording recording;
+    private File dump;
+
+    @Before
+    public void setUp() throws Exception {
+        assumeTrue(ConversionEvents.INSTANCE instanceof JfrConversionEvents);
+        recording = new Recording();
+        recording.enable("siren4j.Conversion");
+        recording.enable("siren4j.SubEntity").withoutThreshold();
+        recording.enable("siren4j.RegistryScan");
+        recording.enable("siren4j.PlanBuild");
+        dump = File.createTempFile("siren4j", ".jfr");
+    }
+
+    @After
+    public void tearDown() {
+        if (recording != null) {
+            recording.close();
+        }
+        if (dump != null) {
+            dump.delete();
+        }
+    }
+
+    @Test
+    public void testEvents() throws Exception {
+        recording.start();
+        ReflectingConverter converter = (ReflectingConverter) ReflectingConverter.newInstance(
+                ResourceRegistryImpl.newScanningInstance("com.google.code.siren4j.resource"));
+        ReflectingConverterListenerTest.Library library = newLibrary();
+        Entity entity = converter.toEntity(library);
+        converter.writeEntity(library, new ObjectMapper(), new ByteArrayOutputStream());
+        recording.stop();
+        recording.dump(dump.toPath());
+
+        List<RecordedEvent> conversions = read("siren4j.Conversion");
+        assertEquals(2, conversions.size());
+        for (RecordedEvent event : conversions) {
+            assertEquals(ReflectingConverterListenerTest.Library.class.getName(),
+                    event.getClass("resourceClass").getName());
+            assertEquals(3, event.getInt("entityCount"));
+        }
+        List<String> operations = new ArrayList<String>();
+        for (RecordedEvent event : conversions) {
+            operations.add(event.getString("operation"));
+        }
+        assertTrue(operations.containsAll(Arrays.asList(ConversionEvents.TO_ENTITY, ConversionEvents.WRITE_ENTITY)));
+
+        List<RecordedEvent> subEntities = read("siren4j.SubEntity");
+        assertEquals(4, subEntities.size());
+        for (RecordedEvent event : subEntities) {
+            assertEquals(1, event.getInt("depth"));
+            assertEquals(1, event.getInt("entityCount"));
+            assertEquals("books", event.getString("fieldName"));
+        }
+        assertEquals(1, read("siren4j.RegistryScan").size());
+        assertNotNull(entity);
+    }
+
+    @Test
+    public void testEmbeddedLinkEvents() throws Exception {
+        ReflectingConverter converter = (ReflectingConverter) ReflectingConverter.newInstance();
+        converter.setBudget(ConversionBudget.UNLIMITED.withMaxDepth(0));
+        ConversionBudgetTest.Folder folder = new ConversionBudgetTest.Folder();
+        folder.setId("f");
+        for (String id : new String[]{"f.0", "f.1"}) {
+            ConversionBudgetTest.Folder child = new ConversionBudgetTest.Folder();
+            child.setId(id);
+            folder.getChildren().add(child);
+        }
+        recording.start();
+        converter.toEntity(folder);
+        converter.writeEntity(folder, new ObjectMapper(), new ByteArrayOutputStream());
+        recording.stop();
+        recording.dump(dump.toPath());
+
+        List<RecordedEvent> subEntities = read("siren4j.SubEntity");
+        assertEquals(4, subEntities.size());
+        for (RecordedEvent event : subEntities) {
+            assertEquals(0, event.getInt("entityCount"));
+            assertEquals("children", event.getString("fieldName"));
+        }
+    }
+
+    @Test
+    public void testPlanBuild() throws Exception {
+        recording.start();
+        ConversionPlan.forClass(PlanBuildResource.class);
+        ConversionPlan.forClass(PlanBuildResource.class);
+        recording.stop();
+        recording.dump(dump.toPath());
+
+        List<RecordedEvent> builds = read("siren4j.PlanBuild");
+        assertEquals(1, builds.size());
+        assertEquals(PlanBuildResource.class.getName(), builds.get(0).getClass("resourceClass").getName());
+        assertEquals(1, builds.get(0).getInt("fieldCount"));
+    }
+
+    private List<RecordedEvent> read(String name) throws Exception {
+        List<RecordedEvent> result = new ArrayList<RecordedEvent>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(dump.toPath())) {
+            if (event.getEventType().getName().equals(name)) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+
+    private static ReflectingConverterListenerTest.Library newLibrary() {
+        ReflectingConverterListenerTest.Library library = new ReflectingConverterListenerTest.Library();
+        library.setId("l1");
+        List<ReflectingConverterListenerTest.Book> books = new ArrayList<ReflectingConverterListenerTest.Book>();
+        for (String id : new String[]{"b1", "b2"}) {
+            ReflectingConverterListenerTest.Book book = new ReflectingConverterListenerTest.Book();
+            book.setId(id);
+            books.add(book);
+        }
+        library.setBooks(books);
+        return library;
+    }
+
+    public static class PlanBuildResource {
+
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.code.siren4j.annotations.Siren4JInclude.Include;
+import com.google.code.siren4j.component.testpojos.Course;
+import com.google.code.siren4j.component.testpojos.EntityClassAndNamePojo;
+import com.google.code.siren4j.error.Siren4JRuntimeException;
+import com.google.code.siren4j.util.ReflectionUtils;
+
+import static org.junit.Assert.*;
+
+public class ConversionPlanTest {
+
+    @Test
+    public void testPlanIsCached() {
+        assertSame(ConversionPlan.forClass(Course.class), ConversionPlan.forClass(Course.class));
+    }
+
+    @Test
+    public void testFieldsSortedByEffectiveName() {
+        List<FieldPlan> fields = ConversionPlan.forClass(Course.class).getFields();
+        assertFalse(fields.isEmpty());
+        for (int i = 1; i < fields.size(); i++) {
+            String prev = fields.get(i - 1).getInfo().getEffectiveName();
+            String cur = fields.get(i).getInfo().getEffectiveName();
+            assertTrue(prev.compareTo(cur) <= 0);
+        }
+    }
+
+    @Test
+    public void testFieldClassification() throws Exception {
+        ConversionPlan plan = ConversionPlan.forClass(Course.class);
+        FieldPlan title = plan.getFieldPlan(Course.class.getDeclaredField("title"));
+        assertEquals(FieldPlan.Kind.PROPERTY, title.getKind());
+        assertEquals(Include.NON_NULL, title.getInclude());
+
+        FieldPlan comment = plan.getFieldPlan(Course.class.getDeclaredField("lastComment"));
+        assertEquals(FieldPlan.Kind.SUB_ENTITY, comment.getKind());
+        assertNotNull(comment.getSubEntityAnnotation());
+
+        FieldPlan authors = plan.getFieldPlan(Course.class.getDeclaredField("authors"));
+        assertEquals(FieldPlan.Kind.SUB_ENTITY, authors.getKind());
+        assertTrue(authors.isCollection());
+
+        FieldPlan boolMap = plan.getFieldPlan(Course.class.getDeclaredField("boolMap"));
+        assertEquals(FieldPlan.Kind.PROPERTY, boolMap.getKind());
+    }
+
+    @Test
+    public void testSetterIndexesMatchFieldInfoLookup() {
+        ConversionPlan plan = ConversionPlan.forClass(Course.class);
+        List<ReflectedInfo> fieldInfo = ReflectionUtils.getExposedFieldInfo(Course.class);
+        for (ReflectedInfo info : fieldInfo) {
+            String name = info.getEffectiveName();
+            assertEquals(ReflectionUtils.getFieldInfoByEffectiveName(fieldInfo, name),
+                    plan.getSubEntitySetter(name).getInfo());
+            assertEquals(ReflectionUtils.getFieldInfoByEffectiveName(fieldInfo, name),
+                    plan.getPropertySetter(name).getInfo());
+            if (info.getField() != null && ReflectionUtils.getFieldInfoByEffectiveName(fieldInfo,
+                    info.getField().getName()) == null) {
+                assertEquals(info, plan.getPropertySetter(info.getField().getName()).getInfo());
+            }
+        }
+        assertNull(plan.getPropertySetter("noSuchProperty"));
+        assertNull(plan.getSubEntitySetter("noSuchRel"));
+    }
+
+    @Test
+    public void testCachedFieldInfoNotReordered() throws Exception {
+        List<ReflectedInfo> before = ReflectionUtils.getExposedFieldInfo(Course.class);
+        List<ReflectedInfo> copy = new ArrayList<ReflectedInfo>(before);
+        ConversionPlan.forClass(Course.class);
+        assertEquals(copy, ReflectionUtils.getExposedFieldInfo(Course.class));
+    }
+
+    @Test(expected = Siren4JRuntimeException.class)
+    public void testNameAndEntityClassRejected() {
+        ConversionPlan.forClass(EntityClassAndNamePojo.class);
+    }
+
+}
@@ -0,0 +1,181 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.code.siren4j.annotations.Siren4JEntity;
+import com.google.code.siren4j.annotations.Siren4JLink;
+import com.google.code.siren4j.component.Entity;
+import com.google.code.siren4j.component.Link;
+import com.google.code.siren4j.component.builder.LinkBuilder;
+import com.google.code.siren4j.resource.BaseResource;
+import com.google.code.siren4j.resource.CacheableResource;
+import com.google.code.siren4j.util.ComponentUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+
+import static org.junit.Assert.*;
+
+public class EntityCacheTest {
+
+    @Test
+    public void testCachedEntityShared() throws Exception {
+        ReflectingConverter converter = (ReflectingConverter) ReflectingConverter.newInstance();
+        EntityCache cache = EntityCache.newInstance();
+        converter.setEntityCache(cache);
+
+        Entity first = converter.toEntity(new Country("nl", 1));
+        Entity second = converter.toEntity(new Country("nl", 1));
+        assertSame(first, second);
+        assertEquals("/countries/nl", first.getLinks().get(0).getHref());
+        assertEquals(1, cache.getStats().hitCount());
+        assertEquals(1, cache.getStats().missCount());
+
+        assertNotSame(first, converter.toEntity(new Country("nl", 2)));
+        assertNotSame(first, converter.toEntity(new Country("de", 1)));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void testCachedEntityFrozen() throws Exception {
+        ReflectingConverter converter = (ReflectingConverter) ReflectingConverter.newInstance();
+        converter.setEntityCache(EntityCache.newInstance());
+        Entity entity = converter.toEntity(new Country("nl", 1));
+        try {
+            entity.getProperties().put("foo", "bar");
+            fail("Expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        try {
+            entity.getLinks().get(0).setHref("/foo");
+            fail("Expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testDynamicLinkNotFrozen() throws Exception {
+        ReflectingConverter converter = (ReflectingConverter) ReflectingConverter.newInstance();
+        converter.setEntityCache(EntityCache.newInstance());
+        Country country = new Country("nl", 1);
+        Link link = LinkBuilder.newInstance().setRelationship("capital").setHref("/capitals/{code}").build();
+        country.setEntityLinks(Collections.singletonList(link));
+
+        Entity entity = converter.toEntity(country);
+        assertEquals("/capitals/nl", ComponentUtils.getLinkByRel(entity, "capital").getHref());
+        assertNotSame(link, ComponentUtils.getLinkByRel(entity, "capital"));
+        assertEquals("/capitals/{code}", link.getHref());
+        link.setHref("/capitals");
+    }
+
+    @Test
+    public void testNotCached() throws Exception {
+        ReflectingConverter converter = (ReflectingConverter) ReflectingConverter.newInstance();
+        EntityCache cache = EntityCache.newInstance();
+        converter.setEntityCache(cache);
+
+        assertNotSame(converter.toEntity(new Country("nl", null)), converter.toEntity(new Country("nl", null)));
+        Country withBase = new Country("nl", 1);
+        withBase.setBaseUri("http://example.com");
+        withBase.setFullyQualifiedLinks(true);
+        assertNotSame(converter.toEntity(new Country("nl", 1)), converter.toEntity(withBase));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testWriteEntityMatchesUncached() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        ReflectingConverter plain = (ReflectingConverter) ReflectingConverter.newInstance();
+        String expected = mapper.writeValueAsString(plain.toEntity(new Country("nl", 1)));
+
+        ReflectingConverter converter = (ReflectingConverter) ReflectingConverter.newInstance();
+        EntityCache cache = EntityCache.newInstance();
+        converter.setEntityCache(cache);
+        for (int i = 0; i < 2; i++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            converter.writeEntity(new Country("nl", 1), mapper, out);
+            assertEquals(expected, out.toString("UTF-8"));
+        }
+        assertEquals(1, cache.getStats().hitCount());
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        ReflectingConverter converter = (ReflectingConverter) ReflectingConverter.newInstance();
+        EntityCache cache = EntityCache.newInstance(2);
+        converter.setEntityCache(cache);
+        for (int i = 0; i < 10; i++) {
+            converter.toEntity(new Country("c" + i, 1));
+        }
+        assertTrue(cache.size() <= 2);
+        assertTrue(cache.getStats().evictionCount() >= 8);
+    }
+
+    @Siren4JEntity(name = "country", uri = "/countries/{code}",
+        links = @Siren4JLink(rel = "region", href = "/regions/{code}"))
+    public static class Country extends BaseResource implements CacheableResource {
+
+        private String code;
+        private Integer version;
+        private HashMap<String, String> names = new HashMap<String, String>();
+
+        public Country() {
+
+        }
+
+        public Country(String code, Integer version) {
+            this.code = code;
+            this.version = version;
+            names.put("en", code.toUpperCase());
+        }
+
+        public Object getCacheKey() {
+            return version == null ? null : code + ":" + version;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public void setCode(String code) {
+            this.code = code;
+        }
+
+        public Integer getVersion() {
+            return version;
+        }
+
+        public void setVersion(Integer version) {
+            this.version = version;
+        }
+
+        public HashMap<String, String> getNames() {
+            return names;
+        }
+
+        public void setNames(HashMap<String, String> names) {
+            this.names = names;
+        }
+    }
+}
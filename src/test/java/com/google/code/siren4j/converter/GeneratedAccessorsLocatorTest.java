@@ -0,0 +1,129 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import org.junit.Test;
+
+import com.google.code.siren4j.annotations.Siren4JEntity;
+import com.google.code.siren4j.annotations.Siren4JProperty;
+import com.google.code.siren4j.component.Entity;
+import com.google.code.siren4j.component.testpojos.Course;
+import com.google.code.siren4j.util.ReflectionUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class GeneratedAccessorsLocatorTest {
+
+    @Test
+    public void testAccessorsName() throws Exception {
+        assertEquals("com.google.code.siren4j.converter.GeneratedAccessorsLocatorTest_Sample_Siren4JAccessors",
+                GeneratedAccessorsLocator.getAccessorsName(Sample.class));
+        assertEquals("com.google.code.siren4j.component.testpojos.Course_Siren4JAccessors",
+                GeneratedAccessorsLocator.getAccessorsName(Course.class));
+    }
+
+    @Test
+    public void testMissingAccessors() throws Exception {
+        assertNull(GeneratedAccessorsLocator.forClass(Course.class));
+        assertFalse(ReflectionUtils.getFieldInfoByName(ReflectionUtils.getExposedFieldInfo(Course.class), "courseid")
+                .getAccessor().isGenerated());
+    }
+
+    @Test
+    public void testGeneratedAccessorsPreferred() throws Exception {
+        assertNotNull(GeneratedAccessorsLocator.forClass(Sample.class));
+        ReflectedInfo info = ReflectionUtils.getFieldInfoByName(ReflectionUtils.getExposedFieldInfo(Sample.class),
+                "name");
+        assertTrue(info.getAccessor().isGenerated());
+        assertTrue(info.getAccessor().isOptimized());
+
+        Sample sample = new Sample();
+        int calls = GeneratedAccessorsLocatorTest_Sample_Siren4JAccessors.calls;
+        info.getAccessor().setValue(sample, "foo");
+        assertEquals("foo", info.getAccessor().getGetterValue(sample));
+        assertEquals(calls + 2, GeneratedAccessorsLocatorTest_Sample_Siren4JAccessors.calls);
+
+        Entity entity = ReflectingConverter.newInstance().toEntity(sample);
+        assertEquals("foo", entity.getProperties().get("name"));
+        assertEquals("FOO", entity.getProperties().get("upper"));
+        assertEquals(calls + 3, GeneratedAccessorsLocatorTest_Sample_Siren4JAccessors.calls);
+    }
+
+    @Siren4JEntity
+    public static class Sample {
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        @Siren4JProperty
+        public String getUpper() {
+            return name.toUpperCase();
+        }
+    }
+
+}
+
+/**
+ * Hand written equivalent of what the annotation processor generates for {@link GeneratedAccessorsLocatorTest.Sample}.
+ */
+class GeneratedAccessorsLocatorTest_Sample_Siren4JAccessors implements GeneratedAccessors {
+
+    static int calls;
+
+    private final Map<String, PropertyAccessor> accessors = new HashMap<String, PropertyAccessor>();
+
+    public GeneratedAccessorsLocatorTest_Sample_Siren4JAccessors() {
+        accessors.put("getName", new WritablePropertyAccessor() {
+
+            public Object getValue(Object obj) {
+                calls++;
+                return ((GeneratedAccessorsLocatorTest.Sample) obj).getName();
+            }
+
+            public void setValue(Object obj, Object value) {
+                calls++;
+                ((GeneratedAccessorsLocatorTest.Sample) obj).setName((String) value);
+            }
+        });
+        accessors.put("getUpper", new PropertyAccessor() {
+
+            public Object getValue(Object obj) {
+                calls++;
+                return ((GeneratedAccessorsLocatorTest.Sample) obj).getUpper();
+            }
+        });
+    }
+
+    public Class<?> getResourceClass() {
+        return GeneratedAccessorsLocatorTest.Sample.class;
+    }
+
+    public Map<String, PropertyAccessor> getAccessors() {
+        return accessors;
+    }
+}
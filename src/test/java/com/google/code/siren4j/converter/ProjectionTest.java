@@ -0,0 +1,205 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.code.siren4j.annotations.Siren4JEntity;
+import com.google.code.siren4j.annotations.Siren4JProperty;
+import com.google.code.siren4j.annotations.Siren4JSubEntity;
+import com.google.code.siren4j.component.Entity;
+import com.google.code.siren4j.resource.BaseResource;
+import com.google.code.siren4j.util.ComponentUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ProjectionTest {
+
+    @Test
+    public void testParse() throws Exception {
+        Projection projection = Projection.of("name", "author.name", "author", "comments.text");
+        assertFalse(projection.isAll());
+        assertSame(Projection.ALL, projection.get("name"));
+        assertSame(Projection.ALL, projection.get("author"));
+        assertSame(Projection.ALL, projection.get("comments").get("text"));
+        assertNull(projection.get("comments").get("author"));
+        assertNull(projection.get("id"));
+        assertSame(Projection.ALL, Projection.ALL.get("anything"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyPath() throws Exception {
+        Projection.of("name", " ");
+    }
+
+    @Test
+    public void testExcludedMembersNotRead() throws Exception {
+        ReflectingConverter converter = (ReflectingConverter) ReflectingConverter.newInstance();
+        Article article = newArticle();
+        Entity entity = converter.toEntity(article, Projection.of("title", "comments.text"));
+
+        assertEquals("Hello", entity.getProperties().get("title"));
+        assertFalse(entity.getProperties().containsKey("summary"));
+        assertTrue(entity.getProperties().containsKey("$siren4j.class"));
+        assertEquals(0, article.summaryCalls);
+        assertEquals(2, entity.getEntities().size());
+        Entity comment = entity.getEntities().get(0);
+        assertEquals("first", comment.getProperties().get("text"));
+        assertFalse(comment.getProperties().containsKey("id"));
+        assertEquals("/comments/c0", comment.getLinks().get(0).getHref());
+        assertEquals(0, article.getAuthor().nameCalls);
+
+        Entity full = converter.toEntity(article);
+        assertEquals(1, article.summaryCalls);
+        assertEquals("Jane", ComponentUtils.getSubEntityByRel(full, "writer").getProperties().get("name"));
+    }
+
+    @Test
+    public void testSubEntityByRel() throws Exception {
+        ReflectingConverter converter = (ReflectingConverter) ReflectingConverter.newInstance();
+        Entity entity = converter.toEntity(newArticle(), Projection.of("writer"));
+        assertEquals(1, entity.getEntities().size());
+        assertEquals("Jane", entity.getEntities().get(0).getProperties().get("name"));
+        assertFalse(entity.getProperties().containsKey("title"));
+    }
+
+    @Test
+    public void testStreamingMatches() throws Exception {
+        ReflectingConverter converter = (ReflectingConverter) ReflectingConverter.newInstance();
+        Projection projection = Projection.of("title", "writer.name", "comments");
+        ObjectMapper mapper = new ObjectMapper();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        converter.writeEntity(newArticle(), projection, mapper, out);
+        assertEquals(mapper.writeValueAsString(converter.toEntity(newArticle(), projection)), out.toString("UTF-8"));
+    }
+
+    private static Article newArticle() {
+        Article article = new Article();
+        article.setId("a1");
+        article.setTitle("Hello");
+        Person author = new Person();
+        author.setName("Jane");
+        article.setAuthor(author);
+        String[] texts = {"first", "second"};
+        for (int i = 0; i < texts.length; i++) {
+            Remark remark = new Remark();
+            remark.setId("c" + i);
+            remark.setText(texts[i]);
+            article.getComments().add(remark);
+        }
+        return article;
+    }
+
+    @Siren4JEntity(name = "article", uri = "/articles/{id}")
+    public static class Article extends BaseResource {
+
+        private transient int summaryCalls;
+
+        private String id;
+        private String title;
+
+        @Siren4JSubEntity(rel = "writer")
+        private Person author;
+
+        @Siren4JSubEntity
+        private List<Remark> comments = new ArrayList<Remark>();
+
+        @Siren4JProperty
+        public String getSummary() {
+            summaryCalls++;
+            return title + "...";
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public Person getAuthor() {
+            return author;
+        }
+
+        public void setAuthor(Person author) {
+            this.author = author;
+        }
+
+        public List<Remark> getComments() {
+            return comments;
+        }
+
+        public void setComments(List<Remark> comments) {
+            this.comments = comments;
+        }
+    }
+
+    @Siren4JEntity(name = "person")
+    public static class Person extends BaseResource {
+
+        private transient int nameCalls;
+
+        private String name;
+
+        public String getName() {
+            nameCalls++;
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    @Siren4JEntity(name = "remark", uri = "/comments/{id}")
+    public static class Remark extends BaseResource {
+
+        private String id;
+        private String text;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public void setText(String text) {
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import org.junit.Test;
+
+import com.google.code.siren4j.component.testpojos.Course;
+import com.google.code.siren4j.component.testpojos.MethodNotBackedByProperty;
+import com.google.code.siren4j.error.Siren4JException;
+import com.google.code.siren4j.util.ReflectionUtils;
+
+import static org.junit.Assert.*;
+
+public class ReflectedAccessorTest {
+
+    @Test
+    public void testFieldAccess() throws Exception {
+        ReflectedInfo info = ReflectionUtils.getFieldInfoByName(ReflectionUtils.getExposedFieldInfo(Course.class),
+                "courseid");
+        ReflectedAccessor accessor = info.getAccessor();
+        assertTrue(accessor.isOptimized());
+
+        Course course = new Course();
+        accessor.setValue(course, "c1");
+        assertEquals("c1", course.getCourseid());
+        assertEquals("c1", accessor.getFieldValue(course));
+        assertEquals("c1", accessor.getGetterValue(course));
+    }
+
+    @Test
+    public void testMethodOnlyAccess() throws Exception {
+        for (ReflectedInfo info : ReflectionUtils.getExposedFieldInfo(MethodNotBackedByProperty.class)) {
+            if (info.getField() == null) {
+                assertTrue(info.getAccessor().isOptimized());
+                assertEquals(info.getGetter().invoke(new MethodNotBackedByProperty()),
+                        info.getAccessor().getValue(new MethodNotBackedByProperty()));
+            }
+        }
+    }
+
+    @Test
+    public void testPrimitiveWidening() throws Exception {
+        ReflectedInfo info = new ReflectedInfo(null, null, Primitive.class.getMethod("setCount", long.class), "count");
+        Primitive p = new Primitive();
+        info.getAccessor().setValue(p, Integer.valueOf(5));
+        assertEquals(5L, p.count);
+    }
+
+    @Test(expected = Siren4JException.class)
+    public void testTypeMismatch() throws Exception {
+        ReflectedInfo info = new ReflectedInfo(null, null, Primitive.class.getMethod("setCount", long.class), "count");
+        info.getAccessor().setValue(new Primitive(), "foo");
+    }
+
+    public static class Primitive {
+        private long count;
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+    }
+
+}
@@ -0,0 +1,154 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import java.util.ArrayList;
+import java.lang.reflect.Method;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+
+import com.google.code.siren4j.component.Entity;
+import com.google.code.siren4j.component.testpojos.Author;
+import com.google.code.siren4j.component.testpojos.Comment;
+import com.google.code.siren4j.component.testpojos.Comment.Status;
+import com.google.code.siren4j.component.testpojos.Course;
+import com.google.code.siren4j.resource.CollectionResource;
+import com.google.code.siren4j.util.ReflectionUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * Stress test sharing a single converter between many threads, every conversion must produce exactly what a single
+ * threaded conversion does.
+ */
+public class ReflectingConverterConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final int ITERATIONS = 20;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void testSharedConverter() throws Exception {
+        final ResourceConverter converter = ReflectingConverter.newInstance(
+                ResourceRegistryImpl.newInstance("com.google.code.siren4j"));
+        final Date date = new Date();
+        final String expected = toJson(converter.toEntity(getTestCourse(0, date)));
+        final String expectedOther = toJson(converter.toEntity(getTestCourse(1, date)));
+        final String expectedBack = toJson(converter.toEntity(converter.toObject(
+                converter.toEntity(getTestCourse(0, date)))));
+
+        // Start cold so the threads also race on building the cached metadata and plans, the caches are shared with
+        // the other tests so they are restored afterwards.
+        Map<Class<?>, List<ReflectedInfo>> fieldInfos = clear(ReflectionUtils.fieldInfoCache);
+        Map<Object, Method> methods = clear(ReflectionUtils.findMethodCache);
+        Map<Class<?>, ConversionPlan> plans = clear(ConversionPlan.getCache());
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<Future<Void>>();
+            for (int t = 0; t < THREADS; t++) {
+                final int variant = t % 2;
+                futures.add(executor.submit(new Callable<Void>() {
+
+                    public Void call() throws Exception {
+                        start.await();
+                        for (int i = 0; i < ITERATIONS; i++) {
+                            Entity entity = converter.toEntity(getTestCourse(variant, date));
+                            assertEquals(variant == 0 ? expected : expectedOther, toJson(entity));
+                            if (variant == 0 && i % 10 == 0) {
+                                assertEquals(expectedBack, toJson(converter.toEntity(converter.toObject(entity))));
+                            }
+                        }
+                        return null;
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+            restore(ReflectionUtils.fieldInfoCache, fieldInfos);
+            restore(ReflectionUtils.findMethodCache, methods);
+            restore(ConversionPlan.getCache(), plans);
+        }
+    }
+
+    /**
+     * @return the entries the cache had before.
+     */
+    private static <K, V> Map<K, V> clear(Cache<K, V> cache) {
+        Map<K, V> entries = new HashMap<K, V>(cache.asMap());
+        cache.invalidateAll();
+        return entries;
+    }
+
+    private static <K, V> void restore(Cache<K, V> cache, Map<K, V> entries) {
+        cache.invalidateAll();
+        cache.putAll(entries);
+    }
+
+    private String toJson(Entity entity) throws Exception {
+        return mapper.writeValueAsString(entity);
+    }
+
+    private static Course getTestCourse(int variant, Date date) {
+        Course course = new Course();
+        course.setCourseid("course" + variant);
+        course.setCreatedate(date);
+        course.setTitle("Course " + variant);
+        course.setDescription(variant == 0 ? "Description" : null);
+        course.setType("Online");
+        CollectionResource<Author> authors = new CollectionResource<Author>();
+        for (int i = 0; i < 5; i++) {
+            Author author = new Author();
+            author.setFirstname("First" + i);
+            author.setLastname("Last" + i);
+            author.setId("A" + variant + i);
+            authors.add(author);
+        }
+        course.setAuthors(authors);
+        Comment comment = new Comment();
+        comment.setId("C" + variant);
+        comment.setCourseid(course.getCourseid());
+        comment.setUserid("U1");
+        comment.setCommentText("Comment");
+        comment.setCreatedate(date);
+        comment.setStatus(Status.PENDING);
+        course.setLastComment(comment);
+        return course;
+    }
+
+}
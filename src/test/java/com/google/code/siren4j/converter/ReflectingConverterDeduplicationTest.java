@@ -0,0 +1,208 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.code.siren4j.annotations.Siren4JEntity;
+import com.google.code.siren4j.annotations.Siren4JSubEntity;
+import com.google.code.siren4j.component.Entity;
+import com.google.code.siren4j.error.Siren4JConversionException;
+import com.google.code.siren4j.resource.BaseResource;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ReflectingConverterDeduplicationTest {
+
+    @Test
+    public void testNoneConvertsRepeatsInFull() throws Exception {
+        ReflectingConverter converter = (ReflectingConverter) ReflectingConverter.newInstance();
+        Entity entity = converter.toEntity(newThread(3));
+        Entity first = entity.getEntities().get(0).getEntities().get(0);
+        Entity second = entity.getEntities().get(1).getEntities().get(0);
+        assertNotSame(first, second);
+        assertEquals("Jane", second.getProperties().get("name"));
+    }
+
+    @Test
+    public void testReuseEntity() throws Exception {
+        ReflectingConverter converter = (ReflectingConverter) ReflectingConverter.newInstance();
+        converter.setDeduplication(ReflectingConverter.Deduplication.REUSE_ENTITY);
+        Entity entity = converter.toEntity(newThread(3));
+        Entity first = entity.getEntities().get(0).getEntities().get(0);
+        for (Entity post : entity.getEntities()) {
+            assertSame(first, post.getEntities().get(0));
+        }
+        assertEquals(toJson((ReflectingConverter) ReflectingConverter.newInstance(), newThread(3)),
+                toJson(converter, newThread(3)));
+    }
+
+    @Test
+    public void testEmbeddedLink() throws Exception {
+        ReflectingConverter converter = (ReflectingConverter) ReflectingConverter.newInstance();
+        converter.setDeduplication(ReflectingConverter.Deduplication.EMBEDDED_LINK);
+        Entity entity = converter.toEntity(newThread(3));
+        Entity first = entity.getEntities().get(0).getEntities().get(0);
+        Entity second = entity.getEntities().get(1).getEntities().get(0);
+        assertEquals("Jane", first.getProperties().get("name"));
+        assertFalse(second.getProperties().containsKey("name"));
+        assertEquals("/users/jane", second.getHref());
+        assertArrayEquals(new String[] {"author"}, second.getRel());
+    }
+
+    @Test
+    public void testCycleDetected() throws Exception {
+        Post post = newPost("p1", new User("jane", "Jane"));
+        post.getAuthor().setFavorite(post);
+        ReflectingConverter converter = (ReflectingConverter) ReflectingConverter.newInstance();
+        try {
+            converter.toEntity(post);
+            fail("Expected Siren4JConversionException");
+        } catch (Siren4JConversionException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("Post -> User -> Post"));
+        }
+        try {
+            converter.writeEntity(post, new ObjectMapper(), new ByteArrayOutputStream());
+            fail("Expected Siren4JConversionException");
+        } catch (Siren4JConversionException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testCycleAsEmbeddedLink() throws Exception {
+        Post post = newPost("p1", new User("jane", "Jane"));
+        post.getAuthor().setFavorite(post);
+        ReflectingConverter converter = (ReflectingConverter) ReflectingConverter.newInstance();
+        converter.setDeduplication(ReflectingConverter.Deduplication.EMBEDDED_LINK);
+        Entity favorite = converter.toEntity(post).getEntities().get(0).getEntities().get(0);
+        assertEquals("/posts/p1", favorite.getHref());
+
+        assertEquals(new ObjectMapper().writeValueAsString(converter.toEntity(post)), toJson(converter, post));
+    }
+
+    private static String toJson(ReflectingConverter converter, Object obj) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        converter.writeEntity(obj, new ObjectMapper(), out);
+        return out.toString("UTF-8");
+    }
+
+    private static PostThread newThread(int posts) {
+        User jane = new User("jane", "Jane");
+        PostThread thread = new PostThread();
+        for (int i = 0; i < posts; i++) {
+            thread.getPosts().add(newPost("p" + i, jane));
+        }
+        return thread;
+    }
+
+    private static Post newPost(String id, User author) {
+        Post post = new Post();
+        post.setId(id);
+        post.setAuthor(author);
+        return post;
+    }
+
+    @Siren4JEntity(name = "thread", uri = "/threads/1")
+    public static class PostThread extends BaseResource {
+
+        @Siren4JSubEntity(rel = "posts")
+        private List<Post> posts = new ArrayList<Post>();
+
+        public List<Post> getPosts() {
+            return posts;
+        }
+
+        public void setPosts(List<Post> posts) {
+            this.posts = posts;
+        }
+    }
+
+    @Siren4JEntity(name = "post", uri = "/posts/{id}")
+    public static class Post extends BaseResource {
+
+        private String id;
+
+        @Siren4JSubEntity(rel = "author")
+        private User author;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public User getAuthor() {
+            return author;
+        }
+
+        public void setAuthor(User author) {
+            this.author = author;
+        }
+    }
+
+    @Siren4JEntity(name = "user", uri = "/users/{id}")
+    public static class User extends BaseResource {
+
+        private String id;
+        private String name;
+
+        @Siren4JSubEntity(rel = "favorite")
+        private Post favorite;
+
+        public User() {
+
+        }
+
+        public User(String id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Post getFavorite() {
+            return favorite;
+        }
+
+        public void setFavorite(Post favorite) {
+            this.favorite = favorite;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.code.siren4j.annotations.Siren4JEntity;
+import com.google.code.siren4j.annotations.Siren4JSubEntity;
+import com.google.code.siren4j.component.Entity;
+import com.google.code.siren4j.resource.BaseResource;
+import com.google.common.cache.CacheStats;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ReflectingConverterListenerTest {
+
+    private ReflectingConverter converter;
+    private ConversionStatistics stats;
+
+    @Before
+    public void setUp() throws Exception {
+        converter = (ReflectingConverter) ReflectingConverter.newInstance(
+                ResourceRegistryImpl.newInstance("com.google.code.siren4j.converter"));
+        stats = new ConversionStatistics();
+        converter.setListener(stats);
+    }
+
+    @Test
+    public void testToEntityReportsLatencyCountsAndFanOut() throws Exception {
+        converter.toEntity(newLibrary());
+
+        ConversionStatistics.Summary conversion = stats.getEntityConversions().get(Library.class);
+        assertEquals(1, conversion.getCount());
+        assertTrue(conversion.getMax() > 0);
+        assertFalse(stats.getEntityConversions().containsKey(Book.class));
+        assertEquals(4, stats.getEntityCounts().get(Library.class).getMax());
+
+        Map<String, ConversionStatistics.Summary> fanOut = stats.getFanOut();
+        assertEquals(2, fanOut.get(Library.class.getName() + ".books").getTotal());
+        assertEquals(1, fanOut.get(Library.class.getName() + ".featured").getTotal());
+        assertEquals(1, stats.getTemplateResolutions().get(Library.class).getCount());
+        assertEquals(3, stats.getTemplateResolutions().get(Book.class).getCount());
+    }
+
+    @Test
+    public void testWriteEntityReportsSameCountsAsToEntity() throws Exception {
+        converter.writeEntity(newLibrary(), new ObjectMapper(), new ByteArrayOutputStream());
+        converter.toEntity(newLibrary());
+
+        ConversionStatistics.Summary counts = stats.getEntityCounts().get(Library.class);
+        assertEquals(2, counts.getCount());
+        assertEquals(8, counts.getTotal());
+        assertEquals(2, stats.getFanOut().get(Library.class.getName() + ".books").getCount());
+    }
+
+    @Test
+    public void testToObjectReportsTopLevelOnly() throws Exception {
+        Library library = newLibrary();
+        library.setBooks(null);
+        Entity entity = converter.toEntity(library);
+        stats.reset();
+        assertTrue(stats.getEntityConversions().isEmpty());
+
+        converter.toObject(entity);
+        assertEquals(1, stats.getObjectConversions().get(Library.class).getCount());
+        assertFalse(stats.getObjectConversions().containsKey(Book.class));
+    }
+
+    @Test
+    public void testNoListener() throws Exception {
+        converter.setListener(null);
+        converter.toEntity(newLibrary());
+        assertTrue(stats.getEntityConversions().isEmpty());
+        assertTrue(stats.getTemplateResolutions().isEmpty());
+    }
+
+    @Test
+    public void testCacheStats() throws Exception {
+        converter.toEntity(newLibrary());
+        Map<String, CacheStats> cacheStats = ConversionStatistics.getCacheStats();
+        assertEquals(Arrays.asList(ConversionStatistics.FIELD_INFO_CACHE, ConversionStatistics.FIND_METHOD_CACHE,
+                ConversionStatistics.CONVERSION_PLAN_CACHE), new ArrayList<String>(cacheStats.keySet()));
+        assertTrue(cacheStats.get(ConversionStatistics.CONVERSION_PLAN_CACHE).requestCount() > 0);
+        assertTrue(cacheStats.get(ConversionStatistics.FIELD_INFO_CACHE).missCount() > 0);
+    }
+
+    private static Library newLibrary() {
+        Library library = new Library();
+        library.setId("l1");
+        library.setBooks(Arrays.asList(newBook("b1"), newBook("b2")));
+        library.setFeatured(newBook("b3"));
+        return library;
+    }
+
+    private static Book newBook(String id) {
+        Book book = new Book();
+        book.setId(id);
+        return book;
+    }
+
+    @Siren4JEntity(name = "listenerLibrary", uri = "/libraries/{id}")
+    public static class Library extends BaseResource {
+
+        private String id;
+        @Siren4JSubEntity
+        private List<Book> books;
+        @Siren4JSubEntity
+        private Book featured;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public List<Book> getBooks() {
+            return books;
+        }
+
+        public void setBooks(List<Book> books) {
+            this.books = books;
+        }
+
+        public Book getFeatured() {
+            return featured;
+        }
+
+        public void setFeatured(Book featured) {
+            this.featured = featured;
+        }
+    }
+
+    @Siren4JEntity(name = "listenerBook", uri = "/books/{id}")
+    public static class Book extends BaseResource {
+
+        private String id;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,271 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.code.siren4j.Siren4J;
+import com.google.code.siren4j.component.Entity;
+import com.google.code.siren4j.component.Link;
+import com.google.code.siren4j.component.builder.EntityBuilder;
+import com.google.code.siren4j.component.builder.LinkBuilder;
+import com.google.code.siren4j.component.testpojos.Author;
+import com.google.code.siren4j.component.testpojos.Comment;
+import com.google.code.siren4j.component.testpojos.Comment.Status;
+import com.google.code.siren4j.component.testpojos.Course;
+import com.google.code.siren4j.component.testpojos.ExtendedNormalPojo;
+import com.google.code.siren4j.component.testpojos.MethodNotBackedByProperty;
+import com.google.code.siren4j.component.testpojos.OverriddenCollection;
+import com.google.code.siren4j.component.testpojos.Video;
+import com.google.code.siren4j.resource.CollectionResource;
+
+import static org.junit.Assert.*;
+
+public class ReflectingConverterStreamingTest {
+
+    private ReflectingConverter converter;
+
+    @Before
+    public void setUp() throws Exception {
+        converter = (ReflectingConverter) ReflectingConverter.newInstance();
+    }
+
+    @Test
+    public void testCourseMatchesEntityTree() throws Exception {
+        assertSameOutput(new Fixture() {
+            public Object create() {
+                return getTestCourse();
+            }
+        });
+    }
+
+    @Test
+    public void testFullyQualifiedWithDynamicLinks() throws Exception {
+        assertSameOutput(new Fixture() {
+            public Object create() {
+                Course course = getTestCourse();
+                course.setBaseUri("http://api.example.com/");
+                course.setFullyQualifiedLinks(true);
+                course.setEntityLinks(new ArrayList<Link>(Arrays.asList(LinkBuilder.newInstance()
+                        .setRelationship("reviews").setHref("/dyn/{courseid}").build())));
+                course.getFirstComment().setOverrideEmbeddedLink(true);
+                return course;
+            }
+        });
+    }
+
+    @Test
+    public void testOtherResources() throws Exception {
+        assertSameOutput(new Fixture() {
+            public Object create() {
+                Video video = new Video();
+                video.setId("v1");
+                video.setName("name");
+                video.setRating(Video.Rating.PG);
+                return video;
+            }
+        });
+        assertSameOutput(new Fixture() {
+            public Object create() {
+                ExtendedNormalPojo pojo = new ExtendedNormalPojo();
+                pojo.setId(12);
+                pojo.setName("name");
+                pojo.setLastmodify(new Date(1000L));
+                return pojo;
+            }
+        });
+        assertSameOutput(new Fixture() {
+            public Object create() {
+                return new MethodNotBackedByProperty();
+            }
+        });
+        assertSameOutput(new Fixture() {
+            public Object create() {
+                return new OverriddenCollection();
+            }
+        });
+        assertSameOutput(new Fixture() {
+            public Object create() {
+                return new CollectionResource<String>();
+            }
+        });
+    }
+
+    @Test
+    public void testOverriddenHandleAddProperty() throws Exception {
+        converter = new ReflectingConverter() {
+
+            @Override
+            protected void handleAddProperty(EntityBuilder builder, String propName, Object propValue) {
+                super.handleAddProperty(builder, propName,
+                        propValue instanceof String ? ((String) propValue).toUpperCase() : propValue);
+            }
+        };
+        assertSameOutput(new Fixture() {
+            public Object create() {
+                return getTestCourse();
+            }
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        converter.writeEntity(getTestCourse(), new ObjectMapper(), out);
+        assertTrue(out.toString("UTF-8").contains("\"TEST COURSE 1 TITLE\""));
+    }
+
+    @Test
+    public void testNull() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        converter.writeEntity(null, mapper, out);
+        assertEquals("null", out.toString("UTF-8"));
+    }
+
+    @Test
+    public void testGenerator() throws Exception {
+        ObjectMapper mapper = isoMapper();
+        StringWriter writer = new StringWriter();
+        JsonGenerator gen = mapper.getFactory().createGenerator(writer);
+        converter.writeEntity(getTestCourse(), gen);
+        gen.close();
+        assertEquals(mapper.writeValueAsString(converter.toEntity(getTestCourse())), writer.toString());
+    }
+
+    @Test
+    public void testReadObjectMatchesToObject() throws Exception {
+        ReflectingConverter reader = (ReflectingConverter) ReflectingConverter.newInstance(
+                ResourceRegistryImpl.newInstance("com.google.code.siren4j"));
+        ObjectMapper mapper = isoMapper();
+        Video video = new Video();
+        video.setId("v1");
+        video.setName("name");
+        video.setRating(Video.Rating.PG);
+        for (Object resource : Arrays.asList(getTestCourse(), video)) {
+            String json = mapper.writeValueAsString(converter.toEntity(resource));
+            Object expected = reader.toObject(mapper.readValue(json, Entity.class));
+            Object actual = reader.readObject(mapper.getFactory().createParser(json));
+            assertEquals(expected.getClass(), actual.getClass());
+            assertEquals(mapper.writeValueAsString(converter.toEntity(expected)),
+                    mapper.writeValueAsString(converter.toEntity(actual)));
+        }
+    }
+
+    @Test
+    public void testReadObjectOutOfOrder() throws Exception {
+        ReflectingConverter reader = (ReflectingConverter) ReflectingConverter.newInstance(
+                ResourceRegistryImpl.newInstance("com.google.code.siren4j"));
+        String json = "{\"entities\":[{\"rel\":[\"reviews\"],\"href\":\"/videos/v1/reviews\"}],"
+                + "\"properties\":{\"name\":\"name\",\"rating\":\"PG\",\"id\":\"v1\"},"
+                + "\"links\":[{\"rel\":[\"self\"],\"href\":\"/videos/v1\"}],\"class\":[\"video\"]}";
+        Video video = (Video) reader.readObject(new ByteArrayInputStream(json.getBytes("UTF-8")), new ObjectMapper());
+        assertEquals("v1", video.getId());
+        assertEquals("name", video.getName());
+        assertEquals(Video.Rating.PG, video.getRating());
+        assertNull(reader.readObject(new ByteArrayInputStream("null".getBytes("UTF-8")), new ObjectMapper()));
+    }
+
+    private void assertSameOutput(Fixture fixture) throws Exception {
+        ObjectMapper sorted = isoMapper();
+        sorted.configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+        ObjectMapper indented = isoMapper();
+        indented.configure(SerializationFeature.INDENT_OUTPUT, true);
+        for (ObjectMapper mapper : Arrays.asList(new ObjectMapper(), isoMapper(), sorted, indented)) {
+            String expected = mapper.writeValueAsString(converter.toEntity(fixture.create()));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            converter.writeEntity(fixture.create(), mapper, out);
+            assertEquals(expected, out.toString("UTF-8"));
+        }
+    }
+
+    private ObjectMapper isoMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        mapper.setDateFormat(new SimpleDateFormat(Siren4J.ISO8601_DATE_FORMAT));
+        return mapper;
+    }
+
+    private interface Fixture {
+        Object create();
+    }
+
+    private Course getTestCourse() {
+        Course course = new Course();
+        course.setCourseid("testCourseID1");
+        course.setCreatedate(new Date(100000L));
+        course.setTitle("Test Course 1 Title");
+        course.setDescription("Test Course 1 Description");
+        course.setType("Online");
+        CollectionResource<Author> authors = new CollectionResource<Author>();
+        authors.setOffset(10);
+
+        Author author1 = new Author();
+        author1.setFirstname("Jim");
+        author1.setLastname("Smith");
+        author1.setId("X111");
+        authors.add(author1);
+
+        course.setAuthors(authors);
+        course.setAuthors2(authors);
+
+        course.setLastComment(getTestComment("12", "testCourseID1", "X113", "This course is great."));
+        course.setFirstComment(getTestComment("14", "testCourseID1", "X115", "This course is too easy."));
+
+        Collection<Integer> basicColl = new ArrayList<Integer>();
+        basicColl.add(56);
+        basicColl.add(10);
+        course.setBasicCollection(basicColl);
+
+        Map<String, Boolean> boolMap = new HashMap<String, Boolean>();
+        boolMap.put("firstEntry", true);
+        course.setBoolMap(boolMap);
+
+        course.setEmbedComment(getTestComment("16", "testCourseID1", "X116", "This comment is embedded."));
+        return course;
+    }
+
+    private Comment getTestComment(String id, String courseid, String userid, String commentText) {
+        Comment comment = new Comment();
+        comment.setId(id);
+        comment.setCourseid(courseid);
+        comment.setUserid(userid);
+        comment.setCommentText(commentText);
+        comment.setCreatedate(new Date(200000L));
+        comment.setStatus(Status.PENDING);
+        return comment;
+    }
+
+}
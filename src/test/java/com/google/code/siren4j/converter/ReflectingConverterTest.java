@@ -23,12 +23,15 @@
  *********************************************************************************************/
 package com.google.code.siren4j.converter;
 
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import com.google.common.collect.ImmutableList;
 import org.hamcrest.Matchers;
@@ -36,12 +39,18 @@ import org.junit.Ignore;
 import org.junit.Test;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.code.siren4j.annotations.Siren4JAction;
+import com.google.code.siren4j.annotations.Siren4JActionField;
+import com.google.code.siren4j.annotations.Siren4JEntity;
+import com.google.code.siren4j.annotations.Siren4JLink;
+import com.google.code.siren4j.annotations.Siren4JSubEntity;
 import com.google.code.siren4j.component.Action;
 import com.google.code.siren4j.component.Entity;
 import com.google.code.siren4j.component.Link;
 import com.google.code.siren4j.component.builder.ActionBuilder;
 import com.google.code.siren4j.component.builder.LinkBuilder;
 import com.google.code.siren4j.component.impl.ActionImpl.Method;
+import com.google.code.siren4j.component.impl.FieldImpl;
 import com.google.code.siren4j.component.testpojos.Author;
 import com.google.code.siren4j.component.testpojos.Comment;
 import com.google.code.siren4j.component.testpojos.Comment.Status;
@@ -55,7 +64,9 @@ import com.google.code.siren4j.component.testpojos.ResourceB;
 import com.google.code.siren4j.component.testpojos.Video;
 import com.google.code.siren4j.component.testpojos.Video.Rating;
 import com.google.code.siren4j.error.Siren4JConversionException;
+import com.google.code.siren4j.error.Siren4JException;
 import com.google.code.siren4j.error.Siren4JRuntimeException;
+import com.google.code.siren4j.resource.BaseResource;
 import com.google.code.siren4j.resource.CollectionResource;
 import com.google.code.siren4j.util.ComponentUtils;
 
@@ -296,6 +307,135 @@ public class ReflectingConverterTest {
         
     }
     
+    @Test
+    public void testParallelSubEntitiesKeepOrder() throws Exception {
+        CollectionResource<NoNamePojo> coll = new CollectionResource<NoNamePojo>();
+        for (int i = 0; i < 500; i++) {
+            coll.add(new NoNamePojo("id" + i, "name" + i, "desc" + i));
+        }
+        ReflectingConverter converter = (ReflectingConverter) ReflectingConverter.newInstance();
+        String expected = converter.toEntity(coll).toString();
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            converter.setParallelExecutor(pool);
+            converter.setParallelThreshold(100);
+            Entity ent = converter.toEntity(coll);
+            assertEquals(500, ent.getEntities().size());
+            assertEquals("id499", ent.getEntities().get(499).getProperties().get("id"));
+            assertEquals(expected, ent.toString());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testToEntities() throws Exception {
+        List<Object> resources = new ArrayList<Object>();
+        for (int i = 0; i < 300; i++) {
+            resources.add(i % 100 == 0 ? getTestCourse() : new NoNamePojo("id" + i, "name" + i, "desc" + i));
+        }
+        resources.add(null);
+        ReflectingConverter converter = (ReflectingConverter) ReflectingConverter.newInstance();
+        ObjectMapper mapper = new ObjectMapper();
+        List<String> expected = new ArrayList<String>();
+        for (Object resource : resources) {
+            expected.add(mapper.writeValueAsString(converter.toEntity(resource)));
+        }
+
+        List<Entity> batch = converter.toEntities(resources);
+        assertEquals(301, batch.size());
+        assertNull(batch.get(300));
+        for (int i = 0; i < batch.size(); i++) {
+            assertEquals(expected.get(i), mapper.writeValueAsString(batch.get(i)));
+        }
+        assertEquals(batch.size(), converter.toEntities(resources.stream()).size());
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            converter.setParallelExecutor(pool);
+            converter.setParallelThreshold(100);
+            List<Entity> parallel = converter.toEntities(resources);
+            for (int i = 0; i < parallel.size(); i++) {
+                assertEquals(expected.get(i), mapper.writeValueAsString(parallel.get(i)));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSharedAnnotationComponents() throws Exception {
+        ReflectingConverter converter = (ReflectingConverter) ReflectingConverter.newInstance();
+        Entity first = converter.toEntity(new StaticComponents());
+        Entity second = converter.toEntity(new StaticComponents());
+
+        Link help = ComponentUtils.getLinkByRel(first, "help");
+        Action search = ComponentUtils.getActionByName(first, "search");
+        assertNotSame(help, ComponentUtils.getLinkByRel(second, "help"));
+        assertNotSame(search, ComponentUtils.getActionByName(second, "search"));
+
+        // Returned components are the caller's to modify.
+        help.setHref("/changed");
+        ((FieldImpl) search.getFields().get(0)).setValue("changed");
+        Entity third = converter.toEntity(new StaticComponents());
+        assertEquals("/help", ComponentUtils.getLinkByRel(third, "help").getHref());
+        assertNull(ComponentUtils.getActionByName(third, "search").getFields().get(0).getValue());
+        help.setHref("/help");
+
+        StaticComponents qualified = new StaticComponents();
+        qualified.setBaseUri("http://myhost/");
+        qualified.setFullyQualifiedLinks(true);
+        Link qualifiedHelp = ComponentUtils.getLinkByRel(converter.toEntity(qualified), "help");
+        assertNotSame(help, qualifiedHelp);
+        assertEquals("http://myhost/help", qualifiedHelp.getHref());
+        assertEquals("/help", help.getHref());
+
+        Action review = ComponentUtils.getActionByName(converter.toEntity(getTestCourse()), "addReview");
+        Action review2 = ComponentUtils.getActionByName(converter.toEntity(getTestCourse()), "addReview");
+        assertNotSame(review.getUrlParams().get(0), review2.getUrlParams().get(0));
+    }
+
+    @Test
+    public void testOverriddenToEntityCalledForSubEntities() throws Exception {
+        final List<Object> converted = new ArrayList<Object>();
+        ReflectingConverter converter = new ReflectingConverter() {
+
+            @Override
+            protected Entity toEntity(Object obj, Field parentField, Object parentObj,
+                                      List<ReflectedInfo> parentFieldInfo) throws Siren4JException {
+                converted.add(obj);
+                return super.toEntity(obj, parentField, parentObj, parentFieldInfo);
+            }
+        };
+        Course course = getTestCourse();
+        Entity ent = converter.toEntity(course);
+        assertSame(course, converted.get(0));
+        assertTrue(converted.contains(course.getLastComment()));
+        assertTrue(converted.containsAll(course.getAuthors()));
+
+        ObjectMapper mapper = new ObjectMapper();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int calls = converted.size();
+        converter.writeEntity(course, mapper, out);
+        assertEquals(2 * calls, converted.size());
+        assertEquals(mapper.writeValueAsString(ent), out.toString("UTF-8"));
+    }
+
+    @Test
+    public void testToObjectSubEntityByRel() throws Exception {
+        CommentHolder holder = new CommentHolder();
+        holder.setPinnedComment(getTestComment("12", "testCourseID1", "X111", "Pinned"));
+        ResourceConverter converter = ReflectingConverter.newInstance(
+                ResourceRegistryImpl.newInstance("com.google.code.siren4j"));
+
+        Entity ent = converter.toEntity(holder);
+        assertArrayEquals(new String[] {"top-comment"}, ent.getEntities().get(0).getRel());
+        CommentHolder result = (CommentHolder) converter.toObject(ent);
+        assertEquals("12", result.getPinnedComment().getId());
+        assertEquals("Pinned", result.getPinnedComment().getCommentText());
+    }
+
     @Test
     public void testToResource() throws Exception {
         Entity ent = ReflectingConverter.newInstance().toEntity(getTestCourse());
@@ -416,4 +556,26 @@ public class ReflectingConverterTest {
         return comment;
     }
 
+    @Siren4JEntity(links = {@Siren4JLink(rel = "help", href = "/help")},
+            actions = {@Siren4JAction(name = "search", href = "/search",
+                    fields = {@Siren4JActionField(name = "q", type = "text")})})
+    public static class StaticComponents extends BaseResource {
+
+    }
+
+    @Siren4JEntity(name = "commentHolder")
+    public static class CommentHolder extends BaseResource {
+
+        @Siren4JSubEntity(rel = "top-comment")
+        private Comment pinnedComment;
+
+        public Comment getPinnedComment() {
+            return pinnedComment;
+        }
+
+        public void setPinnedComment(Comment pinnedComment) {
+            this.pinnedComment = pinnedComment;
+        }
+    }
+
 }
@@ -0,0 +1,94 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import com.google.code.siren4j.component.testpojos.Course;
+import com.google.code.siren4j.component.testpojos.EntityClassAndNamePojo;
+import com.google.code.siren4j.component.testpojos.Video;
+import com.google.code.siren4j.error.Siren4JRuntimeException;
+import com.google.code.siren4j.resource.CollectionResource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ReflectingConverterWarmUpTest {
+
+    private ResourceRegistry registry;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws Exception {
+        registry = ResourceRegistryImpl.newScanningInstance("com.google.code.siren4j.resource");
+        registry.putEntry("course", Course.class, false);
+        registry.putEntry("video", Video.class, false);
+        // A single thread shows the tasks never wait on each other.
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testWarmUp() throws Exception {
+        WarmUpReport report = ((ReflectingConverter) ReflectingConverter.newInstance(registry)).warmUp();
+        assertEquals(new HashSet<Class<?>>(registry.getAllEntries().values()), report.getTimings().keySet());
+        assertTrue(report.getTimings().containsKey(Course.class));
+        assertTrue(report.getTimings().containsKey(CollectionResource.class));
+        assertEquals(2, report.getSlowest(2).size());
+        assertTrue(report.getTimings().get(report.getSlowest(1).get(0)) >= report.getTimings().get(Video.class));
+        assertTrue(report.toString().contains("classes=" + report.size()));
+    }
+
+    @Test
+    public void testWarmUpInParallel() throws Exception {
+        WarmUpReport report = ((ReflectingConverter) ReflectingConverter.newInstance(registry)).warmUp(executor)
+                .get(30, TimeUnit.SECONDS);
+        assertEquals(new HashSet<Class<?>>(registry.getAllEntries().values()), report.getTimings().keySet());
+        assertTrue(report.getElapsedNanos() > 0);
+    }
+
+    @Test
+    public void testInvalidAnnotationsFailFast() throws Exception {
+        registry.putEntry("invalid", EntityClassAndNamePojo.class, false);
+        ReflectingConverter converter = (ReflectingConverter) ReflectingConverter.newInstance(registry);
+        try {
+            converter.warmUp();
+            fail("Expected Siren4JRuntimeException");
+        } catch (Siren4JRuntimeException e) {
+            assertTrue(e.getMessage().contains(EntityClassAndNamePojo.class.getName()));
+        }
+        try {
+            converter.warmUp(executor).get(30, TimeUnit.SECONDS);
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof Siren4JRuntimeException);
+            assertTrue(e.getCause().getMessage().contains(EntityClassAndNamePojo.class.getName()));
+        }
+    }
+}
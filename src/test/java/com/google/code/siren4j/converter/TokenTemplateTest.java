@@ -0,0 +1,88 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.google.code.siren4j.component.testpojos.Comment;
+import com.google.code.siren4j.component.testpojos.Course;
+
+import static org.junit.Assert.*;
+
+public class TokenTemplateTest {
+
+    private final Map<String, ReflectedInfo> courseTokens = ConversionPlan.forClass(Course.class).getTokenIndex();
+    private final Map<String, ReflectedInfo> commentTokens = ConversionPlan.forClass(Comment.class).getTokenIndex();
+
+    @Test
+    public void testConstant() {
+        TokenTemplate template = TokenTemplate.parse("/courses");
+        assertTrue(template.isConstant());
+        assertEquals("/courses", template.render(null, null, null, null));
+        assertSame(template, TokenTemplate.parse("/courses"));
+    }
+
+    @Test
+    public void testCreateIsNotCached() {
+        TokenTemplate template = TokenTemplate.create("/courses/{courseid}/override");
+        assertNotSame(template, TokenTemplate.create("/courses/{courseid}/override"));
+        assertNotSame(template, TokenTemplate.parse("/courses/{courseid}/override"));
+        Course course = new Course();
+        course.setCourseid("c1");
+        assertEquals("/courses/c1/override", template.render(course, courseTokens, null, null));
+    }
+
+    @Test
+    public void testCurrentAndParentTokens() {
+        Course course = new Course();
+        course.setCourseid("c1");
+        Comment comment = new Comment();
+        comment.setId("m1");
+        String result = TokenTemplate.parse("/courses/{parent.courseid}/comments/{id}/{myenum}")
+                .render(comment, commentTokens, course, courseTokens);
+        assertEquals("/courses/c1/comments/m1/{myenum}", result);
+        assertEquals("/ENUM_VALUE2", TokenTemplate.parse("/{myenum}").render(course, courseTokens, null, null));
+    }
+
+    @Test
+    public void testNullValueRendersEmpty() {
+        assertEquals("/courses/", TokenTemplate.parse("/courses/{courseid}")
+                .render(new Course(), courseTokens, null, null));
+    }
+
+    @Test
+    public void testUnresolvedAndReservedTokens() {
+        Course course = new Course();
+        course.setCourseid("c1");
+        assertEquals("/a/{parent.courseid}/{offset}/{limit}/c1/{unterminated",
+                TokenTemplate.parse("/a/{parent.courseid}/{[offset]}/{limit}/{courseid}/{unterminated")
+                        .render(course, courseTokens, null, null));
+    }
+
+    @Test
+    public void testValuesAreNotRescanned() {
+        Course course = new Course();
+        course.setCourseid("{[title]}");
+        course.setTitle("t");
+        assertEquals("/{[title]}", TokenTemplate.parse("/{courseid}").render(course, courseTokens, null, null));
+    }
+
+}
@@ -0,0 +1,147 @@
+/*******************************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Erik R Serating
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *********************************************************************************************/
+package com.google.code.siren4j.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.code.siren4j.annotations.Siren4JEntity;
+import com.google.code.siren4j.component.Entity;
+import com.google.code.siren4j.error.Siren4JConversionException;
+import com.google.code.siren4j.resource.BaseResource;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+public class ValueCoercerTest {
+
+    @Test
+    public void testNumbers() {
+        assertEquals(5L, ValueCoercer.forType(long.class).coerce(5));
+        assertEquals(7, ValueCoercer.forType(Integer.class).coerce(7L));
+        assertEquals((short) 3, ValueCoercer.forType(short.class).coerce(3.0));
+        assertEquals(2.0d, ValueCoercer.forType(double.class).coerce(2));
+        assertEquals(1.5f, ValueCoercer.forType(Float.class).coerce(1.5d));
+        assertEquals(new BigDecimal("0.1"), ValueCoercer.forType(BigDecimal.class).coerce(0.1d));
+        assertEquals(BigInteger.TEN, ValueCoercer.forType(BigInteger.class).coerce(10));
+        assertEquals(new BigInteger("123456789012345678901234567890"),
+                ValueCoercer.forType(BigInteger.class).coerce(new BigInteger("123456789012345678901234567890")));
+    }
+
+    @Test(expected = Siren4JConversionException.class)
+    public void testNarrowingOutOfRange() {
+        ValueCoercer.forType(int.class).coerce(Long.MAX_VALUE);
+    }
+
+    @Test(expected = Siren4JConversionException.class)
+    public void testFractionToIntegral() {
+        ValueCoercer.forType(long.class).coerce(1.5d);
+    }
+
+    @Test
+    public void testDatesEnumsAndArrays() {
+        assertEquals(new Date(0), ValueCoercer.forType(Date.class).coerce("1970-01-01T01:00:00+01:00"));
+        assertEquals(new Date(1000L), ValueCoercer.forType(Date.class).coerce(1000L));
+        assertEquals(Unit.KG, ValueCoercer.forType(Unit.class).coerce("KG"));
+        assertTrue(Arrays.equals(new long[]{1, 2},
+                (long[]) ValueCoercer.forType(long[].class).coerce(Arrays.asList(1, 2))));
+        assertTrue(Arrays.equals(new String[]{"a"},
+                (String[]) ValueCoercer.forType(String[].class).coerce(Arrays.asList("a"))));
+        assertSame(ValueCoercer.IDENTITY, ValueCoercer.forType(String.class));
+    }
+
+    @Test
+    public void testToObjectRoundTrip() throws Exception {
+        Measurement m = new Measurement();
+        m.setCount(42L);
+        m.setAmount(new BigDecimal("12.34"));
+        m.setTaken(new Date(1380000000000L));
+        m.setUnit(Unit.LB);
+        m.setSamples(new int[]{3, 1, 2});
+
+        ReflectingConverter converter = (ReflectingConverter) ReflectingConverter.newInstance(
+                ResourceRegistryImpl.newInstance("com.google.code.siren4j.converter"));
+        ObjectMapper mapper = new ObjectMapper();
+        Entity parsed = mapper.readValue(converter.toEntity(m).toString(), Entity.class);
+        Measurement back = (Measurement) converter.toObject(parsed);
+
+        assertEquals(42L, back.getCount());
+        assertEquals(new BigDecimal("12.34"), back.getAmount());
+        assertEquals(m.getTaken(), back.getTaken());
+        assertEquals(Unit.LB, back.getUnit());
+        assertTrue(Arrays.equals(new int[]{3, 1, 2}, back.getSamples()));
+    }
+
+    public enum Unit {
+        KG, LB
+    }
+
+    @Siren4JEntity(name = "measurement", uri = "/measurements")
+    public static class Measurement extends BaseResource {
+
+        private long count;
+        private BigDecimal amount;
+        private Date taken;
+        private Unit unit;
+        private int[] samples;
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public void setAmount(BigDecimal amount) {
+            this.amount = amount;
+        }
+
+        public Date getTaken() {
+            return taken;
+        }
+
+        public void setTaken(Date taken) {
+            this.taken = taken;
+        }
+
+        public Unit getUnit() {
+            return unit;
+        }
+
+        public void setUnit(Unit unit) {
+            this.unit = unit;
+        }
+
+        public int[] getSamples() {
+            return samples;
+        }
+
+        public void setSamples(int[] samples) {
+            this.samples = samples;
+        }
+    }
+}
@@ -20,11 +20,16 @@ package com.google.code.siren4j.util;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.Before;
@@ -98,6 +103,63 @@ public class ReflectionUtilsTest {
 	    
 	}
 	
+	@Test
+	public void testIsSirenPropertyByGenericType() throws Exception {
+	    assertEquals(Boolean.TRUE, isPropertyByType("strings"));
+	    assertEquals(Boolean.TRUE, isPropertyByType("stringMap"));
+	    assertEquals(Boolean.TRUE, isPropertyByType("dateList"));
+	    assertEquals(Boolean.FALSE, isPropertyByType("reviews"));
+	    assertEquals(Boolean.FALSE, isPropertyByType("reviewMap"));
+	    assertNull(isPropertyByType("raw"));
+	    assertNull(isPropertyByType("objects"));
+	    assertNull(isPropertyByType("numbers"));
+	    assertNull(isPropertyByType("wildcard"));
+	}
+	
+	@Test
+	public void testFindMethodForClassOfSameNameFromOtherLoader() throws Exception {
+	    URLClassLoader loader = new URLClassLoader(new URL[] {
+	        Course.class.getProtectionDomain().getCodeSource().getLocation(),
+	        ReflectionUtils.class.getProtectionDomain().getCodeSource().getLocation()}, null);
+	    try {
+	        Class<?> other = loader.loadClass(Course.class.getName());
+	        assertNotSame(Course.class, other);
+	        ReflectionUtils.findMethod(Course.class, "getCourseid", null);
+	        ReflectionUtils.findMethod(other, "getCourseid", null);
+	        long misses = ReflectionUtils.findMethodCache.stats().missCount();
+	        for (int i = 0; i < 3; i++) {
+	            assertEquals(Course.class, ReflectionUtils.findMethod(Course.class, "getCourseid", null)
+	                .getDeclaringClass());
+	            assertEquals(other, ReflectionUtils.findMethod(other, "getCourseid", null).getDeclaringClass());
+	        }
+	        // Both classes keep their own entry.
+	        assertEquals(misses, ReflectionUtils.findMethodCache.stats().missCount());
+	    } finally {
+	        loader.close();
+	    }
+	}
+	
+	private static Boolean isPropertyByType(String name) throws Exception {
+	    return ReflectionUtils.isSirenPropertyByGenericType(GenericFields.class.getDeclaredField(name));
+	}
+	
+	@SuppressWarnings({"rawtypes", "unused"})
+	private static class GenericFields {
+	    private List<String> strings;
+	    private Map<String, Long> stringMap;
+	    private DateList dateList;
+	    private List<Review> reviews;
+	    private Map<String, Review> reviewMap;
+	    private List raw;
+	    private List<Object> objects;
+	    private List<Number> numbers;
+	    private List<? extends Review> wildcard;
+	}
+	
+	@SuppressWarnings("serial")
+	private static class DateList extends ArrayList<java.util.Date> {
+	}
+	
 	
 
 }